@@ -10,6 +10,8 @@ package com.ogerardin.guarana.demo.javafx.hr;
  */
 
 import com.ogerardin.business.sample.hr.service.DomainManager;
+import com.ogerardin.guarana.core.Guarana;
+import com.ogerardin.guarana.core.config.Configuration;
 import com.ogerardin.guarana.demo.javafx.hr.adapters.DomainManagerMapDBImpl;
 import com.ogerardin.guarana.javafx.JfxUiManager;
 import com.ogerardin.guarana.javafx.ui.JfxInstanceUI;
@@ -19,12 +21,13 @@ import javafx.stage.Stage;
 public class DemoJfxHR extends Application {
 
     private static DomainManager domainManager;
+    private static Configuration configuration;
 
     @Override
     public void start(Stage primaryStage) {
 
         // instantiate UiManager for JavaFX
-        JfxUiManager uiManager = new JfxUiManager();
+        JfxUiManager uiManager = new JfxUiManager(configuration);
 
         // build UI for a DomainManager and bind it to actual instance
         JfxInstanceUI<DomainManager> ui = uiManager.buildInstanceUI(DomainManager.class);
@@ -39,6 +42,10 @@ public class DemoJfxHR extends Application {
         // instantiate our main business object
         domainManager = new DomainManagerMapDBImpl();
 
+        // build the metamodel of the domain in the background while JavaFX starts
+        configuration = new Configuration();
+        Guarana.prewarmAsync(configuration, DomainManager.class);
+
         // handoff to JavaFX; this will call the start() method
         launch(args);
     }
@@ -7,11 +7,11 @@ module com.ogerardin.guarana.demo.javafx {
     requires mapdb;
     requires static lombok;
     requires java.sql;
-    requires cglib;
     
     // Service loading declarations (REQUIRED for JPMS)
     uses com.ogerardin.guarana.core.config.AppConfigurationProvider;
     uses com.ogerardin.guarana.core.config.ToolkitConfigurationProvider;
+    uses com.ogerardin.guarana.core.config.ClassConfigurationProvider;
     
     exports com.ogerardin.guarana.demo.javafx.config;
     exports com.ogerardin.guarana.demo.javafx.hr;
@@ -4,6 +4,14 @@
 
 package com.ogerardin.guarana.core;
 
+import com.ogerardin.guarana.core.config.Configuration;
+import com.ogerardin.guarana.core.introspection.MetamodelPrewarmer;
+import com.ogerardin.guarana.core.introspection.PrewarmReport;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Main entry point for the Guarana framework. Provides access to framework
  * metadata and version information.
@@ -29,4 +37,42 @@ public class Guarana {
         return (version != null) ? version : "UNKNOWN";
     }
 
+    /**
+     * Builds, in parallel, the metamodel of the specified classes and of all the domain classes reachable from them
+     * (through properties, generic type arguments and method signatures), so that the first UI doesn't have to.
+     *
+     * @param configuration configuration used to pre-resolve class configurations and string converters;
+     *                      may be null
+     */
+    public static PrewarmReport prewarm(Configuration configuration, Class<?>... rootClasses) {
+        return new MetamodelPrewarmer(configuration, ForkJoinPool.commonPool(), MetamodelPrewarmer.nonPlatformClasses())
+                .prewarm(Arrays.asList(rootClasses));
+    }
+
+    /**
+     * Builds, in parallel, the metamodel of all the classes of the specified packages and their subpackages.
+     * Referenced classes outside these packages are not prewarmed.
+     *
+     * @param configuration configuration used to pre-resolve class configurations and string converters;
+     *                      may be null
+     */
+    public static PrewarmReport prewarm(Configuration configuration, String... packageNames) {
+        return new MetamodelPrewarmer(configuration, ForkJoinPool.commonPool(), MetamodelPrewarmer.packages(packageNames))
+                .prewarm(MetamodelPrewarmer.findClasses(packageNames));
+    }
+
+    /**
+     * Same as {@link #prewarm(Configuration, Class[])} but runs in the background, e.g. while the UI toolkit starts.
+     */
+    public static CompletableFuture<PrewarmReport> prewarmAsync(Configuration configuration, Class<?>... rootClasses) {
+        return CompletableFuture.supplyAsync(() -> prewarm(configuration, rootClasses));
+    }
+
+    /**
+     * Same as {@link #prewarm(Configuration, String[])} but runs in the background, e.g. while the UI toolkit starts.
+     */
+    public static CompletableFuture<PrewarmReport> prewarmAsync(Configuration configuration, String... packageNames) {
+        return CompletableFuture.supplyAsync(() -> prewarm(configuration, packageNames));
+    }
+
 }
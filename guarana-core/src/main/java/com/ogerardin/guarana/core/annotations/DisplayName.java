@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Name displayed for the annotated class. Same as {@code guarana.class.fqcn.displayName}; compiled by the
+ * guarana-processor annotation processor (see {@link Hidden}).
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface DisplayName {
+    String value();
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.annotations;
+
+import com.ogerardin.guarana.core.ui.InstanceUI;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * UI used to render properties of the annotated type inside a form. Same as
+ * {@code guarana.class.fqcn.embeddedUiClass}; compiled by the guarana-processor annotation processor (see
+ * {@link Hidden}).
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface EmbeddedUi {
+    @SuppressWarnings("rawtypes")
+    Class<? extends InstanceUI> value();
+}
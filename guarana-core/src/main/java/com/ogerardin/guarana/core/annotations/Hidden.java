@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Hides a property (when placed on its getter or on the field that backs it) or a method from the UI. Same as
+ * {@code guarana.class.fqcn.hideProperties} / {@code guarana.class.fqcn.hideMethods}, but checked at build time:
+ * it is compiled into a {@link com.ogerardin.guarana.core.config.ClassConfigurationProvider} by the
+ * guarana-processor annotation processor.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Target({ElementType.METHOD, ElementType.FIELD})
+@Retention(RetentionPolicy.CLASS)
+public @interface Hidden {
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Converter used to display and parse values of the annotated type. Same as
+ * {@code guarana.class.fqcn.stringConverterClass}; compiled by the guarana-processor annotation processor (see
+ * {@link Hidden}).
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface StringConverter {
+    @SuppressWarnings("rawtypes")
+    Class<? extends javafx.util.StringConverter> value();
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Whether properties of the annotated type can be opened in their own window. Same as
+ * {@code guarana.class.fqcn.zoomable}; compiled by the guarana-processor annotation processor (see {@link Hidden}).
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface Zoomable {
+    boolean value() default true;
+}
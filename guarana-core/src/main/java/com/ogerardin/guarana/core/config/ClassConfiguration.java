@@ -5,20 +5,28 @@
 package com.ogerardin.guarana.core.config;
 
 import com.ogerardin.guarana.core.ui.InstanceUI;
-import com.ogerardin.guarana.core.util.DefaultStringConverter;
+import com.ogerardin.guarana.core.util.StringConverterRegistry;
 import javafx.util.StringConverter;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.With;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.security.InvalidParameterException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * UI configuration for a specific class.
  *
+ * The settings are held in an immutable {@link Snapshot} that is replaced as a whole on each change (copy-on-write),
+ * so that readers on any thread get a consistent view without locking while writers are serialized.
+ *
  * @author olivier
  * @since 07/11/2015.
  */
@@ -27,19 +35,14 @@ public class ClassConfiguration<C> {
 
     private final Class<C> clazz;
 
-    private Class<? extends InstanceUI<?, C>> uiClass;
-    private Class<? extends InstanceUI<?, C>> embeddedUiClass;
-
-    private String displayName = null;
-    private Boolean humanizePropertyNames = null;
-    private final Set<String> hiddenProperties = new HashSet<>();
-    private final Set<String> shownProperties = new HashSet<>();
-    private final Set<Executable> hiddenMethods = new HashSet<>();
-    private Boolean zoomable = null;
+    private volatile Snapshot<C> snapshot = Snapshot.empty();
 
-    private Class<? extends StringConverter<C>> stringConverterClass;
-    private StringConverter<C> stringConverter;
+    private volatile StringConverter<C> stringConverter;
 
+    /**
+     * Called after each change that affects the {@link EffectiveClassConfiguration} of this class or its subclasses
+     */
+    private Runnable changeListener;
 
     public ClassConfiguration(Class<C> clazz) {
         this.clazz = clazz;
@@ -49,17 +52,62 @@ public class ClassConfiguration<C> {
         return clazz;
     }
 
+    /**
+     * Returns the current settings of this class. The returned object is immutable and is not affected by later
+     * changes.
+     */
+    public Snapshot<C> getSnapshot() {
+        return snapshot;
+    }
+
+    void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void update(UnaryOperator<Snapshot<C>> change) {
+        synchronized (this) {
+            snapshot = change.apply(snapshot);
+        }
+        if (changeListener != null) {
+            changeListener.run();
+        }
+    }
+
+    /**
+     * Discards all settings of this class, e.g. before applying them again from reloaded properties.
+     */
+    void reset() {
+        synchronized (this) {
+            stringConverter = null;
+        }
+        update(s -> Snapshot.empty());
+    }
+
+    private static <T> Set<T> union(Set<T> set, Collection<? extends T> elements) {
+        Set<T> result = new HashSet<>(set);
+        result.addAll(elements);
+        return Set.copyOf(result);
+    }
+
     public ClassConfiguration<C> hideProperties(String... propertyNames) {
-        hiddenProperties.addAll(Arrays.asList(propertyNames));
+        update(s -> s.withHiddenProperties(union(s.getHiddenProperties(), Arrays.asList(propertyNames))));
         return this;
     }
 
     public boolean isHiddenProperty(String propertyName) {
-        return hiddenProperties.contains(propertyName);
+        return snapshot.getHiddenProperties().contains(propertyName);
     }
 
     public Set<String> getHiddenProperties() {
-        return hiddenProperties;
+        return snapshot.getHiddenProperties();
+    }
+
+    public Set<String> getShownProperties() {
+        return snapshot.getShownProperties();
+    }
+
+    public Set<Executable> getHiddenMethods() {
+        return snapshot.getHiddenMethods();
     }
 
     public String toString(C value) {
@@ -71,40 +119,50 @@ public class ClassConfiguration<C> {
     }
 
     public Class<? extends InstanceUI<?, C>> getUiClass() {
-        return uiClass;
+        return snapshot.getUiClass();
     }
 
     public ClassConfiguration<C> setUiClass(Class<? extends InstanceUI<?, C>> uiClass) {
-        this.uiClass = uiClass;
+        update(s -> s.withUiClass(uiClass));
         return this;
     }
 
     public Class<? extends InstanceUI<?, C>> getEmbeddedUiClass() {
-        return embeddedUiClass;
+        return snapshot.getEmbeddedUiClass();
     }
 
     public ClassConfiguration<C> setEmbeddedUiClass(Class<? extends InstanceUI<?, C>> embeddedUiClass) {
-        this.embeddedUiClass = embeddedUiClass;
+        update(s -> s.withEmbeddedUiClass(embeddedUiClass));
         return this;
     }
 
-    public void hideMethod(String methodName) {
-        for (Method method : clazz.getDeclaredMethods()) {
-            if (method.getName().equals(methodName)) {
-                hideMethods(method);
-                return;
-            }
+    /**
+     * Hides the methods declared by this class that match the specified pattern: a method name (all its
+     * overloads), a signature such as {@code name(int,String)}, a glob pattern or {@code *} (see
+     * {@link MethodPattern}).
+     */
+    public void hideMethod(String methodPattern) {
+        MethodPattern pattern = MethodPattern.parse(methodPattern);
+        if (Arrays.stream(clazz.getDeclaredMethods()).noneMatch(pattern::matches)) {
+            log.warn("No method found matching " + methodPattern + " in " + clazz.getName());
         }
-        log.warn("No method found matching " + methodName);
+        update(s -> s.withHiddenMethodPatterns(union(s.getHiddenMethodPatterns(), Set.of(pattern))));
     }
 
-    public void hideMethods(String... methods) {
-        if (methods.length == 1 && methods[0].equals("*")) {
-            hideAllMethods();
-            return;
+    /**
+     * Hides the method of this class with the specified signature, without scanning the declared methods.
+     */
+    public void hideMethod(String methodName, Class<?>... parameterTypes) {
+        try {
+            hideMethods(clazz.getDeclaredMethod(methodName, parameterTypes));
+        } catch (NoSuchMethodException e) {
+            log.warn("No method found matching " + methodName + Arrays.toString(parameterTypes));
         }
-        for (String method : methods) {
-            hideMethod(method);
+    }
+
+    public void hideMethods(String... methodPatterns) {
+        for (String methodPattern : methodPatterns) {
+            hideMethod(methodPattern);
         }
     }
 
@@ -114,72 +172,124 @@ public class ClassConfiguration<C> {
                 throw new InvalidParameterException("Method " + method + " is not declared in class " + clazz);
             }
 //            log.debug("Hiding: "  + method.getDeclaringClass() + "." + method.getName());
-            hiddenMethods.add(method);
         }
+        update(s -> s.withHiddenMethods(union(s.getHiddenMethods(), Arrays.asList(methods))));
     }
 
     public void hideAllMethods() {
-        hideMethods(clazz.getDeclaredMethods());
+        hideMethod("*");
     }
 
+    /**
+     * Returns true if the specified method is declared by this class and hidden, either explicitly or by a pattern.
+     */
     public boolean isHidden(Executable method) {
-//        Validate.isTrue(method.getDeclaringClass() == this.clazz);
-        return hiddenMethods.contains(method);
+        Snapshot<C> current = snapshot;
+        return current.getHiddenMethods().contains(method)
+                || (method.getDeclaringClass() == clazz && current.isHiddenByPattern(method));
     }
 
     public void setHumanizePropertyNames(Boolean humanizePropertyNames) {
-        this.humanizePropertyNames = humanizePropertyNames;
+        update(s -> s.withHumanizePropertyNames(humanizePropertyNames));
     }
 
     public Boolean isHumanizePropertyNames() {
-        return humanizePropertyNames;
+        return snapshot.getHumanizePropertyNames();
     }
 
     public void setDisplayName(String displayName) {
-        this.displayName = displayName;
+        update(s -> s.withDisplayName(displayName));
     }
 
     public String getDisplayName() {
-        return displayName;
+        return snapshot.getDisplayName();
     }
 
     public boolean isShownProperty(String property) {
-        return shownProperties.contains(property);
+        return snapshot.getShownProperties().contains(property);
     }
 
     public ClassConfiguration<C> showProperties(String... propertyNames) {
-        shownProperties.addAll(Arrays.asList(propertyNames));
+        update(s -> s.withShownProperties(union(s.getShownProperties(), Arrays.asList(propertyNames))));
         return this;
     }
 
     public Boolean isZoomable() {
-        return zoomable;
+        return snapshot.getZoomable();
     }
 
     public void setZoomable(boolean zoomable) {
-        this.zoomable = zoomable;
+        update(s -> s.withZoomable(zoomable));
     }
 
     public StringConverter<C> getStringConverter() {
-        if (stringConverter == null) {
-            if (stringConverterClass != null) {
-                try {
-                    stringConverter = stringConverterClass.newInstance();
-                } catch (InstantiationException | IllegalAccessException e) {
-                    throw new RuntimeException(e);
+        StringConverter<C> result = stringConverter;
+        if (result == null) {
+            synchronized (this) {
+                result = stringConverter;
+                if (result == null) {
+                    Class<? extends StringConverter<C>> stringConverterClass = snapshot.getStringConverterClass();
+                    if (stringConverterClass != null) {
+                        try {
+                            result = stringConverterClass.newInstance();
+                        } catch (InstantiationException | IllegalAccessException e) {
+                            throw new RuntimeException(e);
+                        }
+                    } else {
+                        result = StringConverterRegistry.INSTANCE.getConverter(clazz);
+                    }
+                    stringConverter = result;
                 }
-            } else {
-                stringConverter = new DefaultStringConverter<>(clazz);
             }
         }
-        return stringConverter;
+        return result;
     }
 
-    public void setStringConverter(StringConverter<C> stringConverter) {
+    public synchronized void setStringConverter(StringConverter<C> stringConverter) {
         this.stringConverter = stringConverter;
     }
 
     public void setStringConverterClass(Class<? extends StringConverter<C>> stringConverterClass) {
-        this.stringConverterClass = stringConverterClass;
+        update(s -> {
+            // instantiated again from the new class when next needed
+            stringConverter = null;
+            return s.withStringConverterClass(stringConverterClass);
+        });
+    }
+
+    /**
+     * Immutable state of a {@link ClassConfiguration} at a given time. Null values mean "not configured for this
+     * class".
+     */
+    @Value
+    @With
+    @AllArgsConstructor
+    public static class Snapshot<C> {
+        Class<? extends InstanceUI<?, C>> uiClass;
+        Class<? extends InstanceUI<?, C>> embeddedUiClass;
+        String displayName;
+        Boolean humanizePropertyNames;
+        Set<String> hiddenProperties;
+        Set<String> shownProperties;
+        Set<Executable> hiddenMethods;
+        /**
+         * Patterns of the methods hidden among those declared by the class
+         */
+        Set<MethodPattern> hiddenMethodPatterns;
+        Boolean zoomable;
+        Class<? extends StringConverter<C>> stringConverterClass;
+
+        static <C> Snapshot<C> empty() {
+            return new Snapshot<>(null, null, null, null, Set.of(), Set.of(), Set.of(), Set.of(), null, null);
+        }
+
+        boolean isHiddenByPattern(Executable method) {
+            for (MethodPattern pattern : hiddenMethodPatterns) {
+                if (pattern.matches(method)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.config;
+
+import java.util.function.Consumer;
+
+/**
+ * Service provider interface for class configurations defined in code. Implementations are normally generated by
+ * the guarana-processor annotation processor from the annotations of a module's classes
+ * ({@link com.ogerardin.guarana.core.annotations.Hidden} etc.) and registered via META-INF/services (or a
+ * {@code provides} clause in module-info).
+ *
+ * Configurations are registered by class name and only run when the class is first needed, before the class
+ * properties of the configuration files, which take precedence.
+ *
+ * @author oge
+ * @since 1.0
+ */
+public interface ClassConfigurationProvider {
+
+    void registerClassConfigurations(Registry registry);
+
+    interface Registry {
+        /**
+         * @param className  binary name of the configured class
+         * @param configurer applies the configuration to the {@link ClassConfiguration} of the class
+         */
+        void register(String className, Consumer<ClassConfiguration<?>> configurer);
+    }
+}
@@ -5,27 +5,50 @@
 package com.ogerardin.guarana.core.config;
 
 import com.ogerardin.guarana.core.introspection.JavaIntrospector;
-import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.introspection.ReferenceIndex;
+import com.ogerardin.guarana.core.observability.AsyncPropertyChangeDispatcher;
+import com.ogerardin.guarana.core.observability.ObservableFactory;
+import com.ogerardin.guarana.core.observability.PropertyChangeDispatcher;
 import com.ogerardin.guarana.core.persistence.PersistenceServiceBuilder;
 import com.ogerardin.guarana.core.persistence.basic.DefaultPersistenceServiceBuilder;
 import com.ogerardin.guarana.core.ui.InstanceUI;
 import javafx.util.StringConverter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.CompositeConfiguration;
+import org.apache.commons.configuration2.ImmutableConfiguration;
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.commons.configuration2.SystemConfiguration;
+import org.apache.commons.configuration2.sync.LockMode;
+import org.apache.commons.configuration2.sync.ReadWriteSynchronizer;
 import org.apache.commons.configuration2.builder.FileBasedConfigurationBuilder;
 import org.apache.commons.configuration2.builder.fluent.Parameters;
 import org.apache.commons.configuration2.convert.DefaultListDelimiterHandler;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 
+import java.io.IOException;
 import java.lang.reflect.Executable;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -39,6 +62,48 @@ import java.util.function.Function;
  * Each file contains a list of properties. Guarana properties are in one of the following forms:
  * {@code guarana.key=value} to set a global property
  * {@code guarana.class.fqcn.key=value} to set a property for a specific class (where fqcn is the fully qualified class name)
+ * {@code guarana.package.pkg.key=value} to set a property for all the classes of a package, or
+ * {@code guarana.package.pkg.*.key=value} for all the classes of a package and its subpackages
+ *
+ * Class properties of an interface or superclass apply to all the classes that implement or extend it, unless
+ * overridden by a more specific type. Package rules support {@code hideProperties}, {@code showProperties},
+ * {@code humanizePropertyNames} and {@code zoomable}; they are less specific than any class property except those of
+ * {@code java.lang.Object}, and the rule of the innermost package wins. They are held in a {@link PackageTrie} so that
+ * matching them costs the same however many rules exist.
+ *
+ * Global properties include {@code guarana.scanPackages} (comma-separated package roots scanned for contributed
+ * methods), {@code guarana.referenceIndexCache} (file where the scan result is cached across runs) and
+ * {@code guarana.backgroundReferenceScan} (start the scan in the background as soon as the configuration is loaded).
+ * {@code guarana.introspector} selects how classes that are not in the build-time metamodel index are introspected:
+ * {@code javabeans} (default) or {@code reflection}. {@code guarana.labelBundle} and {@code guarana.namingStrategy}
+ * customize the labels displayed in the UI (see {@link LabelService}). {@code guarana.eventDispatch} selects how
+ * observable wrappers notify their listeners: {@code sync} (default) or {@code async} (see
+ * {@link AsyncPropertyChangeDispatcher}).
+ *
+ * {@code guarana.scanPackages}, {@code guarana.referenceIndexCache}, {@code guarana.introspector} and
+ * {@code guarana.eventDispatch} set process-wide state ({@link ReferenceIndex}, {@link JavaIntrospector},
+ * {@link ObservableFactory}) and therefore affect every configuration: the last configuration that reads them wins.
+ * Values that don't change anything are ignored, so that constructing or reloading a configuration doesn't discard
+ * the current reference index or event dispatcher; when the dispatch mode changes, the previous dispatcher is closed.
+ *
+ * Classes can also be configured with annotations ({@link com.ogerardin.guarana.core.annotations.Hidden} etc.) that
+ * the guarana-processor annotation processor compiles into a {@link ClassConfigurationProvider}; providers are
+ * loaded with {@link ServiceLoader} and their settings are overridden by class properties.
+ *
+ * Class properties are not applied when the configuration is read: they are recorded by class name and applied to a
+ * {@link ClassConfiguration} when the class is first configured or queried, so that configured classes are not loaded
+ * before they are actually used. Class names that can't be resolved are listed by
+ * {@link #getUnknownClassNames()}; {@link #reportUnknownClassNames()} logs them in a single warning and is called
+ * by the UI manager once the application's classes are available.
+ *
+ * Class configurations can be queried from any thread: each change publishes a new immutable
+ * {@link ConfigurationSnapshot} (copy-on-write), and queries read the current snapshot without locking. Code that
+ * performs several queries (e.g. to build a form or a table) should use a single {@link #snapshot()} to get a
+ * consistent view.
+ *
+ * When {@code guarana.hotReload} is true (or {@link #startHotReload()} is called), the properties files that were
+ * read from the filesystem are watched; when one changes, only the keys that were added, removed or modified are
+ * applied again, and {@link ConfigurationListener}s are told which classes changed.
  *
  * @author oge
  * @since 24/09/2015
@@ -47,12 +112,56 @@ import java.util.function.Function;
 public class Configuration extends CompositeConfiguration {
 
     private static final String PROPERTY_PREFIX = "guarana.";
+    private static final String CLASS_PROPERTY_PREFIX = PROPERTY_PREFIX + "class.";
+    private static final String PACKAGE_PROPERTY_PREFIX = PROPERTY_PREFIX + "package.";
 
     private static final String CORE_PROPERTIES = "/.guarana-core.properties";
     private static final String USER_PROPERTIES = "/guarana.properties";
 
-    private final Map<Class<?>, ClassConfiguration<?>> classConfigurationByClass = new HashMap<>();
-    private boolean humanizeClassNames = false;
+    private final Map<Class<?>, ClassConfiguration<?>> classConfigurationByClass = new ConcurrentHashMap<>();
+
+    /**
+     * Class properties of the classes that have no {@link ClassConfiguration} yet, by class name; each holds a copy
+     * of the keys of its class. Modified under {@link #writeLock}.
+     */
+    private final Map<String, ImmutableConfiguration> pendingClassKeys = new ConcurrentHashMap<>();
+    /**
+     * Configurations registered by {@link ClassConfigurationProvider}s, by class name
+     */
+    private final Map<String, List<Consumer<ClassConfiguration<?>>>> classConfigurers = new ConcurrentHashMap<>();
+    /**
+     * Current state of the class configurations; replaced (never modified) under {@link #writeLock}
+     */
+    private volatile ConfigurationSnapshot snapshot = ConfigurationSnapshot.empty(new DefaultSnapshots());
+    private final Object writeLock = new Object();
+    /**
+     * Classes whose changes are not published yet while the properties are being applied, or null when changes are
+     * published immediately
+     */
+    private Set<Class<?>> pendingChanges = null;
+    /**
+     * Names of the classes whose pending keys or providers changed while the properties are being applied; the
+     * snapshot published at the end resolves them with a new {@link DefaultSnapshots}
+     */
+    private final Set<String> pendingDefaultChanges = new HashSet<>();
+
+    private final List<ConfigurationListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final LabelService labels = new LabelService(this);
+
+    /**
+     * Properties files read from the filesystem, which can be reloaded
+     */
+    private final Map<Path, PropertiesConfiguration> fileSources = new LinkedHashMap<>();
+    private ConfigurationWatcher watcher;
+    private boolean hotReload = false;
+
+    private boolean backgroundReferenceScan = false;
+
+    {
+        // properties files can be reloaded while the configuration is read
+        setSynchronizer(new ReadWriteSynchronizer());
+    }
 
     private Class<? extends PersistenceServiceBuilder> persistenceServiceBuilder = DefaultPersistenceServiceBuilder.class;
 
@@ -60,6 +169,8 @@ public class Configuration extends CompositeConfiguration {
      * Build configuration by using default sources
      */
     public Configuration() {
+        loadClassConfigurationProviders();
+
         // priority 1: system properties
         addConfiguration(new SystemConfiguration());
 
@@ -106,7 +217,49 @@ public class Configuration extends CompositeConfiguration {
             throw new RuntimeException("Failed to load " + CORE_PROPERTIES, e);
         }
 
+        init();
+    }
+
+    /**
+     * Build configuration from the specified properties files only, in decreasing order of priority. No toolkit or
+     * application properties are looked up.
+     */
+    public Configuration(Path... files) {
+        loadClassConfigurationProviders();
+        for (Path file : files) {
+            try {
+                addConfigurationUrl(file.toUri().toURL());
+            } catch (ConfigurationException | MalformedURLException e) {
+                throw new RuntimeException("Failed to load " + file, e);
+            }
+        }
+        init();
+    }
+
+    /**
+     * Build configuration from the specified sources only, in decreasing order of priority. No toolkit or application
+     * properties are looked up.
+     */
+    public Configuration(org.apache.commons.configuration2.Configuration... sources) {
+        loadClassConfigurationProviders();
+        for (org.apache.commons.configuration2.Configuration source : sources) {
+            addConfiguration(source);
+        }
+        init();
+    }
+
+    /**
+     * Applies the properties of the sources added by the constructor and starts the background tasks they enable
+     */
+    private void init() {
         applyConfiguration();
+
+        if (backgroundReferenceScan) {
+            ReferenceIndex.INSTANCE.buildInBackground();
+        }
+        if (hotReload) {
+            startHotReload();
+        }
     }
 
     private void addConfigurationResource(String resource) throws ConfigurationException {
@@ -136,20 +289,65 @@ public class Configuration extends CompositeConfiguration {
             throw new ConfigurationException("Resource not found: " + resource);
         }
         log.debug("Reading configuration resource: " + resource);
+        addConfigurationUrl(url);
+    }
+
+    private void addConfigurationUrl(URL url) throws ConfigurationException {
+        PropertiesConfiguration config = loadProperties(url);
+        addConfiguration(config);
+        if ("file".equals(url.getProtocol())) {
+            try {
+                fileSources.put(Paths.get(url.toURI()).toAbsolutePath().normalize(), config);
+            } catch (URISyntaxException e) {
+                log.warn("Can't watch configuration file " + url + ": " + e);
+            }
+        }
+    }
+
+    private static PropertiesConfiguration loadProperties(URL url) throws ConfigurationException {
         FileBasedConfigurationBuilder<PropertiesConfiguration> builder =
                 new FileBasedConfigurationBuilder<>(PropertiesConfiguration.class)
                         .configure(new Parameters().properties()
                                 .setURL(url)
                                 .setListDelimiterHandler(new DefaultListDelimiterHandler(','))
                         );
-        PropertiesConfiguration config = builder.getConfiguration();
-        addConfiguration(config);
+        return builder.getConfiguration();
     }
 
     /**
      * Parse the relevant properties and set up the configuration
      */
     private void applyConfiguration() {
+        applyBatch(this::applyProperties);
+    }
+
+    /**
+     * Runs the specified action, publishing the class configuration changes it makes as a single snapshot at the end
+     */
+    private void applyBatch(Runnable action) {
+        synchronized (writeLock) {
+            pendingChanges = new LinkedHashSet<>();
+        }
+        Set<Class<?>> changed;
+        try {
+            action.run();
+        } finally {
+            synchronized (writeLock) {
+                changed = pendingChanges;
+                pendingChanges = null;
+                publish(changed);
+                if (!pendingDefaultChanges.isEmpty()) {
+                    changed.addAll(snapshot.findDependencies(pendingDefaultChanges));
+                    snapshot = snapshot.withDefaultSnapshots(new DefaultSnapshots(), pendingDefaultChanges);
+                    pendingDefaultChanges.clear();
+                }
+            }
+        }
+        fireChanged(changed);
+    }
+
+    private void applyProperties() {
+        Map<String, Map<String, String>> classKeys = new LinkedHashMap<>();
         for (String configurationKey : (Iterable<String>) this::getKeys) {
             if (!configurationKey.startsWith(PROPERTY_PREFIX)) {
                 //ignore other keys, since we also have system properties that we don't care about
@@ -165,19 +363,352 @@ public class Configuration extends CompositeConfiguration {
                     String propertyName = keyParts[length - 1];
                     String className = String.join(".", Arrays.copyOfRange(keyParts, 1, length - 1));
                     //String className = guaranaSubkey.substring("class.".length(), guaranaSubkey.length() -  propertyName.length() - 1);
-                    applyClassProperty(className, propertyName, configurationKey);
+                    // applied when the class is first needed, see forClass
+                    classKeys.computeIfAbsent(className, k -> new LinkedHashMap<>())
+                            .put(propertyName, configurationKey);
+                    break;
+                case "package":
+                    // all package rules are applied at once below
                     break;
                 default:
                     applyGlobalProperty(configurationKey);
             }
         }
+        synchronized (writeLock) {
+            classKeys.forEach((className, keys) -> {
+                pendingClassKeys.put(className, copyClassKeys(keys));
+                pendingDefaultChanges.add(className);
+            });
+        }
+        applyPackageProperties();
+    }
+
+    /**
+     * Returns a copy of the values of the specified class keys (by property name), so that the settings they define
+     * don't depend on later changes of the properties
+     */
+    private ImmutableConfiguration copyClassKeys(Map<String, String> keys) {
+        BaseConfiguration copy = new BaseConfiguration();
+        keys.values().forEach(key -> copy.addProperty(key, getList(key)));
+        return copy;
+    }
+
+    /**
+     * Builds the package rules from the current {@code guarana.package.*} keys and publishes them. The classes whose
+     * matching rules changed are reported as changed.
+     */
+    private void applyPackageProperties() {
+        Map<String, ClassConfiguration.Snapshot<?>> rules = new HashMap<>();
+        for (String key : (Iterable<String>) () -> getKeys(PROPERTY_PREFIX + "package")) {
+            int lastDot = key.lastIndexOf('.');
+            if (lastDot < PACKAGE_PROPERTY_PREFIX.length()) {
+                log.error("Invalid property key: " + key);
+                continue;
+            }
+            String pattern = key.substring(PACKAGE_PROPERTY_PREFIX.length(), lastDot);
+            String property = key.substring(lastDot + 1);
+            rules.put(pattern, applyPackageProperty(rules.getOrDefault(pattern, ClassConfiguration.Snapshot.empty()),
+                    property, key));
+        }
+        PackageTrie<ClassConfiguration.Snapshot<?>> packageRules = PackageTrie.of(rules);
+
+        synchronized (writeLock) {
+            ConfigurationSnapshot current = snapshot;
+            Set<Class<?>> affected = new LinkedHashSet<>(current.getEffectiveClasses());
+            affected.addAll(classConfigurationByClass.keySet());
+            affected.removeIf(clazz -> !current.isPackageRulesChanged(clazz, packageRules));
+            if (packageRules.isEmpty() && current.getPackageRules().isEmpty()) {
+                return;
+            }
+            snapshot = current.withPackageRules(packageRules);
+            if (pendingChanges != null) {
+                pendingChanges.addAll(affected);
+            }
+        }
+    }
+
+    private ClassConfiguration.Snapshot<?> applyPackageProperty(ClassConfiguration.Snapshot<?> rule,
+                                                                String property, String key) {
+        switch (property) {
+            case "hideProperties":
+                return rule.withHiddenProperties(Set.copyOf(Arrays.asList(getStringArray(key))));
+            case "showProperties":
+                return rule.withShownProperties(Set.copyOf(Arrays.asList(getStringArray(key))));
+            case "humanizePropertyNames":
+                return rule.withHumanizePropertyNames(getBoolean(key));
+            case "zoomable":
+                return rule.withZoomable(getBoolean(key));
+            default:
+                log.error("Invalid package property: " + property + " in " + key);
+                return rule;
+        }
+    }
+
+    /**
+     * Returns the class name part of a {@code guarana.class.fqcn.key} property key, or null if the key is not a
+     * class property.
+     */
+    private static String getClassName(String key) {
+        if (!key.startsWith(CLASS_PROPERTY_PREFIX)) {
+            return null;
+        }
+        int lastDot = key.lastIndexOf('.');
+        return lastDot < CLASS_PROPERTY_PREFIX.length() ? null : key.substring(CLASS_PROPERTY_PREFIX.length(), lastDot);
+    }
+
+    /**
+     * Starts watching the properties files that were read from the filesystem, and applies their changes as they
+     * occur. Does nothing if hot reload is already active or if no file can be watched.
+     */
+    public synchronized void startHotReload() {
+        if (watcher != null) {
+            return;
+        }
+        if (fileSources.isEmpty()) {
+            log.warn("Hot reload requested but no configuration was read from a file");
+            return;
+        }
+        try {
+            watcher = new ConfigurationWatcher(fileSources.keySet(), this::reload);
+        } catch (IOException e) {
+            log.error("Failed to watch configuration files " + fileSources.keySet(), e);
+        }
+    }
+
+    public synchronized void stopHotReload() {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            log.warn("Failed to stop watching configuration files: " + e);
+        }
+        watcher = null;
+    }
+
+    /**
+     * Reads the specified properties file again and applies the keys that changed. The settings of a class are
+     * rebuilt from all its current keys (not only the changed ones), so that removed keys are taken into account;
+     * global keys that are removed keep their previous effect until restart.
+     */
+    private synchronized void reload(Path file) {
+        PropertiesConfiguration source = fileSources.get(file);
+        PropertiesConfiguration reloaded;
+        try {
+            reloaded = loadProperties(file.toUri().toURL());
+        } catch (ConfigurationException | MalformedURLException e) {
+            log.warn("Failed to reload " + file + ": " + e);
+            return;
+        }
+
+        Map<String, Object> before = getGuaranaProperties(source);
+        Map<String, Object> after = getGuaranaProperties(reloaded);
+        Set<String> changedKeys = new HashSet<>(before.keySet());
+        changedKeys.addAll(after.keySet());
+        changedKeys.removeIf(key -> Objects.equals(before.get(key), after.get(key)));
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        log.info("Reloading {}: changed keys {}", file, changedKeys);
+
+        // swap the content atomically: readers of this composite configuration take its read lock
+        synchronized (writeLock) {
+            lock(LockMode.WRITE);
+            try {
+                source.clear();
+                source.copy(reloaded);
+            } finally {
+                unlock(LockMode.WRITE);
+            }
+        }
+
+        applyBatch(() -> {
+            Set<String> classNames = new LinkedHashSet<>();
+            boolean packageRulesChanged = false;
+            for (String key : changedKeys) {
+                String className = getClassName(key);
+                if (className != null) {
+                    classNames.add(className);
+                } else if (key.startsWith(PACKAGE_PROPERTY_PREFIX)) {
+                    packageRulesChanged = true;
+                } else if (after.containsKey(key)) {
+                    applyGlobalProperty(key);
+                } else {
+                    log.warn("Global property removed: {} - restart to take it into account", key);
+                }
+            }
+            for (String className : classNames) {
+                reapplyClassProperties(className);
+            }
+            if (packageRulesChanged) {
+                applyPackageProperties();
+            }
+        });
+    }
+
+    private static Map<String, Object> getGuaranaProperties(PropertiesConfiguration properties) {
+        Map<String, Object> result = new HashMap<>();
+        properties.getKeys().forEachRemaining(key -> {
+            if (key.startsWith(PROPERTY_PREFIX)) {
+                result.put(key, properties.getProperty(key));
+            }
+        });
+        return result;
+    }
+
+    private void loadClassConfigurationProviders() {
+        // Use module-layer-aware ServiceLoader (works with JPMS provides/uses)
+        for (ClassConfigurationProvider provider : ServiceLoader.load(ClassConfigurationProvider.class)) {
+            log.debug("Found ClassConfigurationProvider: {}", provider.getClass().getName());
+            addClassConfigurationProvider(provider);
+        }
+    }
+
+    /**
+     * Registers the class configurations of the specified provider. Classes that were already configured are
+     * configured again.
+     */
+    public void addClassConfigurationProvider(ClassConfigurationProvider provider) {
+        Set<String> classNames = new LinkedHashSet<>();
+        provider.registerClassConfigurations((className, configurer) -> {
+            classConfigurers.computeIfAbsent(className, k -> new CopyOnWriteArrayList<>()).add(configurer);
+            classNames.add(className);
+        });
+        applyBatch(() -> classNames.forEach(className -> {
+            if (findConfiguredClass(className) != null) {
+                reapplyClassProperties(className);
+            } else {
+                synchronized (writeLock) {
+                    pendingDefaultChanges.add(className);
+                }
+            }
+        }));
+    }
+
+    private Class<?> findConfiguredClass(String className) {
+        return classConfigurationByClass.keySet().stream()
+                .filter(c -> c.getName().equals(className))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Applies the registered configurations then the class properties to the specified configuration
+     */
+    private void applyClassSettings(ClassConfiguration<?> classConfiguration,
+                                    List<Consumer<ClassConfiguration<?>>> configurers, ImmutableConfiguration keys) {
+        if (configurers != null) {
+            configurers.forEach(configurer -> configurer.accept(classConfiguration));
+        }
+        if (keys != null) {
+            for (String key : (Iterable<String>) keys::getKeys) {
+                applyClassProperty(classConfiguration, keys, key.substring(key.lastIndexOf('.') + 1), key);
+            }
+        }
+    }
+
+    private void reapplyClassProperties(String className) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (String key : (Iterable<String>) () -> getKeys(CLASS_PROPERTY_PREFIX + className)) {
+            // getKeys(prefix) also returns the keys of nested classes
+            if (className.equals(getClassName(key))) {
+                keys.put(key.substring(key.lastIndexOf('.') + 1), key);
+            }
+        }
+        synchronized (writeLock) {
+            Class<?> clazz = findConfiguredClass(className);
+            if (clazz == null) {
+                // not needed yet: just replace the pending keys
+                if (keys.isEmpty()) {
+                    pendingClassKeys.remove(className);
+                } else {
+                    pendingClassKeys.put(className, copyClassKeys(keys));
+                }
+                pendingDefaultChanges.add(className);
+                return;
+            }
+            ClassConfiguration<?> classConfiguration = classConfigurationByClass.get(clazz);
+            classConfiguration.reset();
+            applyClassSettings(classConfiguration, classConfigurers.get(className), copyClassKeys(keys));
+        }
+    }
+
+    public void addListener(ConfigurationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ConfigurationListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireChanged(Set<Class<?>> classes) {
+        if (classes.isEmpty()) {
+            return;
+        }
+        Set<Class<?>> changed = Collections.unmodifiableSet(classes);
+        for (ConfigurationListener listener : listeners) {
+            try {
+                listener.classConfigurationsChanged(changed);
+            } catch (RuntimeException e) {
+                log.error("Configuration listener failed", e);
+            }
+        }
     }
 
     private void applyGlobalProperty(String key) {
         String[] keyParts = key.split("\\.");
         switch (keyParts[1]) {
             case "humanizeClassNames":
-                this.humanizeClassNames = getBoolean(key);
+                synchronized (writeLock) {
+                    snapshot = snapshot.withHumanizeClassNames(getBoolean(key));
+                }
+                break;
+            case "scanPackages":
+                ReferenceIndex.INSTANCE.setPackageRoots(getStringArray(key));
+                break;
+            case "referenceIndexCache":
+                ReferenceIndex.INSTANCE.setCacheFile(Paths.get(getString(key)));
+                break;
+            case "backgroundReferenceScan":
+                this.backgroundReferenceScan = getBoolean(key);
+                break;
+            case "hotReload":
+                this.hotReload = getBoolean(key);
+                break;
+            case "labelBundle":
+                labels.setResourceBundle(getString(key));
+                break;
+            case "namingStrategy":
+                try {
+                    labels.setNamingStrategy((NamingStrategy) getClass(key, NamingStrategy.class)
+                            .getConstructor().newInstance());
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    log.error("Invalid naming strategy for " + key + ": " + e);
+                }
+                break;
+            case "introspector":
+                try {
+                    JavaIntrospector.setIntrospectorType(
+                            JavaIntrospector.IntrospectorType.valueOf(getString(key).trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    log.error("Invalid introspector type for " + key + ": " + getString(key));
+                }
+                break;
+            case "eventDispatch":
+                PropertyChangeDispatcher current = ObservableFactory.getDispatcher();
+                switch (getString(key).trim()) {
+                    case "sync":
+                        replaceDispatcher(current, PropertyChangeDispatcher.SYNCHRONOUS);
+                        break;
+                    case "async":
+                        // keep the current dispatcher (and the order of its events) if it is already asynchronous
+                        if (!(current instanceof AsyncPropertyChangeDispatcher)) {
+                            replaceDispatcher(current, new AsyncPropertyChangeDispatcher());
+                        }
+                        break;
+                    default:
+                        log.error("Invalid event dispatch mode for " + key + ": " + getString(key));
+                }
                 break;
             case "defaultPersistenceServiceProvider":
                 try {
@@ -191,58 +722,79 @@ public class Configuration extends CompositeConfiguration {
         }
     }
 
+    /**
+     * Sets the dispatcher of the wrappers created from now on, and closes the previous one so that the wrappers that
+     * still use it deliver their events in order.
+     */
+    private static void replaceDispatcher(PropertyChangeDispatcher current, PropertyChangeDispatcher dispatcher) {
+        if (current == dispatcher) {
+            return;
+        }
+        ObservableFactory.setDispatcher(dispatcher);
+        if (current instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) current).close();
+            } catch (Exception e) {
+                log.warn("Failed to close property change dispatcher " + current + ": " + e);
+            }
+        }
+    }
+
     /**
      * Update the class configuration with the specified property
      *
-     * @param className fully-qualified class name
+     * @param keys the keys of the class
      * @param property simple property name
      * @param key full property name
      */
-    private void applyClassProperty(String className, String property, String key) {
-        final ClassConfiguration<?> classConfiguration;
-        try {
-            Class<?> clazz = Class.forName(className);
-            classConfiguration = this.forClass(clazz);
-        } catch (ClassNotFoundException e) {
-            log.warn("Property [" + key + "]: class not found: " + className + " - ignoring");
-            return;
-        }
+    private void applyClassProperty(ClassConfiguration<?> classConfiguration, ImmutableConfiguration keys,
+                                    String property, String key) {
+        final String className = classConfiguration.getClazz().getName();
         switch (property) {
             case "hideMethods":
-                classConfiguration.hideMethods(getStringArray(key));
+                try {
+                    classConfiguration.hideMethods(keys.getStringArray(key));
+                } catch (IllegalArgumentException e) {
+                    log.error(e.getMessage() + " in " + key);
+                }
                 break;
             case "hideProperties":
-                String[] hiddenProps = getStringArray(key);
+                String[] hiddenProps = keys.getStringArray(key);
                 classConfiguration.hideProperties(hiddenProps);
                 log.debug("Class [{}]: hiding properties: {}", className, Arrays.toString(hiddenProps));
                 break;
             case "showProperties":
-                classConfiguration.showProperties(getStringArray(key));
+                classConfiguration.showProperties(keys.getStringArray(key));
                 break;
             case "humanizePropertyNames":
-                classConfiguration.setHumanizePropertyNames(getBoolean(key));
+                classConfiguration.setHumanizePropertyNames(keys.getBoolean(key));
                 break;
             case "displayName":
-                classConfiguration.setDisplayName(getString(key));
+                classConfiguration.setDisplayName(keys.getString(key));
                 break;
             case "zoomable":
-                classConfiguration.setZoomable(getBoolean(key));
+                classConfiguration.setZoomable(keys.getBoolean(key));
                 break;
             case "embeddedUiClass":
-                classConfiguration.setEmbeddedUiClass(getClass(key, InstanceUI.class));
+                classConfiguration.setEmbeddedUiClass(getClass(keys, key, InstanceUI.class));
                 break;
             case "uiClass":
-                classConfiguration.setUiClass(getClass(key, InstanceUI.class));
+                classConfiguration.setUiClass(getClass(keys, key, InstanceUI.class));
                 break;
             case "stringConverterClass":
-                classConfiguration.setStringConverterClass(getClass(key, StringConverter.class));
+                classConfiguration.setStringConverterClass(getClass(keys, key, StringConverter.class));
+                break;
             default:
                 log.error("Invalid class property: " + property + " in " + key);
         }
     }
 
     private <C extends S, S> Class<C> getClass(String key, Class<S> superType) {
-        String className = getString(key);
+        return getClass(this, key, superType);
+    }
+
+    private static <C extends S, S> Class<C> getClass(ImmutableConfiguration keys, String key, Class<S> superType) {
+        String className = keys.getString(key);
         Class<?> clazz;
         try {
             clazz = Class.forName(className);
@@ -257,105 +809,204 @@ public class Configuration extends CompositeConfiguration {
     }
 
     public boolean isHumanizeClassNames() {
-        return humanizeClassNames;
+        return snapshot.isHumanizeClassNames();
     }
 
-    public <C> String getClassDisplayName(Class<C> clazz) {
-        // if class display name configured, use it
-        final ClassConfiguration<C> classConfiguration = forClass(clazz);
-        String displayName = classConfiguration.getDisplayName();
-        if (displayName != null) {
-            return displayName;
-        }
-
-        // otherwise if bean display name is different from class name, use it
-        final ClassInformation<C> classInformation = JavaIntrospector.getClassInformation(clazz);
-        final String className = classInformation.getSimpleClassName();
-//        String beanDisplayName = classInformation.getBeanDisplayName();
-//        if (!beanDisplayName.equals(className)) {
-//            return beanDisplayName;
-//        }
-
-        // otherwise use class name (humanized if required)
-        return isHumanizeClassNames() ? Util.humanize(className) : className;
+    /**
+     * Returns the service that resolves the labels of classes, properties, methods and parameters
+     */
+    public LabelService getLabels() {
+        return labels;
     }
 
+    public <C> String getClassDisplayName(Class<C> clazz) {
+        return labels.getClassLabel(clazz);
+    }
 
     /**
      * Retrieves the ClassConfiguration for the specified class. If it does not exist yet, creates
-     * and return a default ClassConfiguration
+     * and return a default ClassConfiguration. Use this method to change the configuration of a class; to query
+     * the configuration, use {@link #getEffectiveConfiguration(Class)} or {@link #snapshot()}, which don't create
+     * anything.
      */
+    @SuppressWarnings("unchecked")
     public <C> ClassConfiguration<C> forClass(Class<C> clazz) {
         ClassConfiguration<C> classConfig = (ClassConfiguration<C>) classConfigurationByClass.get(clazz);
-        if (classConfig == null) {
-            classConfig = new ClassConfiguration<>(clazz);
-            classConfigurationByClass.put(clazz, classConfig);
+        if (classConfig != null) {
+            return classConfig;
+        }
+        synchronized (writeLock) {
+            classConfig = (ClassConfiguration<C>) classConfigurationByClass.get(clazz);
+            if (classConfig == null) {
+                classConfig = new ClassConfiguration<>(clazz);
+                ImmutableConfiguration keys = pendingClassKeys.remove(clazz.getName());
+                List<Consumer<ClassConfiguration<?>>> configurers = classConfigurers.get(clazz.getName());
+                if (keys != null || configurers != null) {
+                    // not a change: the current snapshot already reports these settings (see DefaultSnapshots)
+                    applyClassSettings(classConfig, configurers, keys);
+                    snapshot = snapshot.withMaterializedClass(clazz, classConfig.getSnapshot());
+                }
+                classConfig.setChangeListener(() -> classConfigurationChanged(clazz));
+                classConfigurationByClass.put(clazz, classConfig);
+            }
+            return classConfig;
         }
-        return classConfig;
     }
 
     /**
-     * Returns true if and only if the specified method is configured as hidden for the specified class or any of
-     * its superclasses.
+     * Settings of the classes that have no {@link ClassConfiguration} yet, as obtained from their providers and class
+     * properties when it is created. A snapshot keeps the instance that was current when it was published, and its
+     * results are kept, so that the snapshot gives the same settings for a class however the properties change
+     * afterwards; a new instance is published when the keys or providers of such a class change.
      */
-    public <C> boolean isHidden(Class<C> clazz, Executable executable) {
-        final Optional<Boolean> isHidden = findClassConfigurationRecursively(clazz, cc -> cc.isHidden(executable) ? true : null);
-        return isHidden.orElse(false);
+    private final class DefaultSnapshots implements Function<Class<?>, ClassConfiguration.Snapshot<?>> {
+        private final Map<String, ImmutableConfiguration> keysByClassName = Map.copyOf(pendingClassKeys);
+        private final Map<String, List<Consumer<ClassConfiguration<?>>>> configurersByClassName = new HashMap<>();
+        private final Map<Class<?>, Optional<ClassConfiguration.Snapshot<?>>> resolved = new ConcurrentHashMap<>();
+
+        DefaultSnapshots() {
+            classConfigurers.forEach((className, configurers) ->
+                    configurersByClassName.put(className, List.copyOf(configurers)));
+        }
+
+        @Override
+        public ClassConfiguration.Snapshot<?> apply(Class<?> clazz) {
+            return resolved.computeIfAbsent(clazz, this::resolve).orElse(null);
+        }
+
+        private Optional<ClassConfiguration.Snapshot<?>> resolve(Class<?> clazz) {
+            ImmutableConfiguration keys = keysByClassName.get(clazz.getName());
+            List<Consumer<ClassConfiguration<?>>> configurers = configurersByClassName.get(clazz.getName());
+            if (keys == null && configurers == null) {
+                return Optional.empty();
+            }
+            ClassConfiguration<?> classConfiguration = new ClassConfiguration<>(clazz);
+            applyClassSettings(classConfiguration, configurers, keys);
+            return Optional.of(classConfiguration.getSnapshot());
+        }
     }
 
-    public <C> boolean isZoomable(Class<C> clazz) {
-        if (clazz.isPrimitive()) {
-            return false;
+    /**
+     * Returns the names of the classes that have class properties, haven't been needed yet and can't be loaded by the
+     * context class loader of the current thread. Nothing is checked until this is called, so that configured classes
+     * are not loaded at startup; call it once the application's classes are available, e.g. to report unknown
+     * classes in a single warning.
+     */
+    public Set<String> getUnknownClassNames() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return getUnknownClassNames(classLoader != null ? classLoader : getClass().getClassLoader());
+    }
+
+    /**
+     * Returns the names of the classes that have class properties, haven't been needed yet and can't be loaded by the
+     * specified class loader. Classes are loaded but not initialized.
+     */
+    public Set<String> getUnknownClassNames(ClassLoader classLoader) {
+        Set<String> unknown = new TreeSet<>();
+        for (String className : pendingClassKeys.keySet()) {
+            try {
+                Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                unknown.add(className);
+            }
         }
-        final Optional<Boolean> isZoomable = findClassConfigurationRecursively(clazz, ClassConfiguration::isZoomable);
-        return isZoomable.orElse(true);
+        return unknown;
     }
 
     /**
-     * Returns true if and only if the specified property is configured as shown for the specified class or any of
-     * its superclasses.
+     * Logs a single warning that lists the classes returned by {@link #getUnknownClassNames()}, if any.
+     *
+     * @return the names of the unknown classes
      */
-    public <C> boolean isShownProperty(Class<C> clazz, String property) {
-        final Optional<Boolean> isShown = findClassConfigurationRecursively(clazz, cc -> isShownProperty(cc, property));
-        return isShown.orElse(true);
+    public Set<String> reportUnknownClassNames() {
+        Set<String> unknown = getUnknownClassNames();
+        if (!unknown.isEmpty()) {
+            log.warn("Class properties refer to unknown classes: " + String.join(", ", unknown));
+        }
+        return unknown;
+    }
+
+    /**
+     * Returns the current snapshot of the class configurations. The snapshot is immutable: it is not affected by
+     * later changes, which publish a new snapshot.
+     */
+    public ConfigurationSnapshot snapshot() {
+        return snapshot;
     }
 
-    private Boolean isShownProperty(ClassConfiguration<?> configuration, String property) {
-        if (configuration.isShownProperty(property)) {
-            return true;
+    /**
+     * Returns the version of the current snapshot; it increases with each change of a class configuration.
+     */
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    private void classConfigurationChanged(Class<?> clazz) {
+        synchronized (writeLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(clazz);
+                return;
+            }
+            publish(Set.of(clazz));
         }
-        if (configuration.isHiddenProperty(property)) {
-            return false;
+        fireChanged(Set.of(clazz));
+    }
+
+    /**
+     * Publishes a new snapshot with the current settings of the specified classes. Must hold {@link #writeLock}.
+     */
+    private void publish(Set<Class<?>> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<Class<?>, ClassConfiguration.Snapshot<?>> changes = new HashMap<>();
+        for (Class<?> clazz : changed) {
+            ClassConfiguration<?> classConfiguration = classConfigurationByClass.get(clazz);
+            // classes affected by a package rule may have no configuration of their own
+            if (classConfiguration != null) {
+                changes.put(clazz, classConfiguration.getSnapshot());
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
         }
-        return null;
+        snapshot = snapshot.withClassSnapshots(changes);
     }
 
     /**
-     * Returns the value of property "humanizePropertyNames" as configured for the lowest-level class
-     * in the hierarchy of the specified class, or false by default.
+     * Returns the configuration of the specified class merged with that of its superclasses and interfaces, as of
+     * the current snapshot. Computed once and reused until the configuration of one of these types changes.
      */
-    public <C> boolean isHumanizePropertyNames(Class<C> clazz) {
-        final Optional<Boolean> isHumanize = findClassConfigurationRecursively(clazz, ClassConfiguration::isHumanizePropertyNames);
-        return isHumanize.orElse(false);
+    public <C> EffectiveClassConfiguration<C> getEffectiveConfiguration(Class<C> clazz) {
+        return snapshot.getEffectiveConfiguration(clazz);
     }
 
     /**
-     * Find the first non-null result of applying the specified getter on the class configuration matching the specified class
-     * or its superclasses in ascending order.
-     *
-     * @param clazz  The start class
-     * @param getter The function to apply to the {@link ClassConfiguration}
-     * @return A non-empty {@link Optional} containing the function's result, or {@link Optional#empty()} if the function
-     * never returned a non-null result.
-     */
-    private <C, R> Optional<R> findClassConfigurationRecursively(Class<C> clazz, Function<ClassConfiguration<?>, R> getter) {
-        ClassConfiguration<C> classConfig = this.forClass(clazz);
-        final R result = getter.apply(classConfig);
-        if (result != null) {
-            return Optional.of(result);
-        }
-        Class<?> parent = clazz.getSuperclass();
-        return (parent == null) ? Optional.empty() : findClassConfigurationRecursively(parent, getter);
+     * Returns true if and only if the specified method is configured as hidden for the specified class or any of
+     * its supertypes.
+     */
+    public <C> boolean isHidden(Class<C> clazz, Executable executable) {
+        return snapshot.isHidden(clazz, executable);
+    }
+
+    public <C> boolean isZoomable(Class<C> clazz) {
+        return snapshot.isZoomable(clazz);
+    }
+
+    /**
+     * Returns true unless the specified property is configured as hidden for the specified class or one of its
+     * supertypes, and not shown again by a more specific type.
+     */
+    public <C> boolean isShownProperty(Class<C> clazz, String property) {
+        return snapshot.isShownProperty(clazz, property);
+    }
+
+    /**
+     * Returns the value of property "humanizePropertyNames" as configured for the most specific type
+     * in the hierarchy of the specified class, or true by default.
+     */
+    public <C> boolean isHumanizePropertyNames(Class<C> clazz) {
+        return snapshot.isHumanizePropertyNames(clazz);
     }
 
     public void setPersistenceServiceBuilderClass(String persistenceServiceBuilderClass) throws ClassNotFoundException {
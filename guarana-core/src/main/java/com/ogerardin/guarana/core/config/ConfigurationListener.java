@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.config;
+
+import java.util.Set;
+
+/**
+ * Listener notified when the configuration of some classes has changed, either programmatically or because a
+ * properties file was reloaded (see {@link Configuration#startHotReload()}). Called on the thread that made the
+ * change, after the new {@link ConfigurationSnapshot} has been published.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ConfigurationListener {
+
+    /**
+     * @param classes the classes whose own {@link ClassConfiguration} changed; subclasses and implementations of
+     *                these classes are affected too (see {@link EffectiveClassConfiguration#dependsOn(Class)})
+     */
+    void classConfigurationsChanged(Set<Class<?>> classes);
+}
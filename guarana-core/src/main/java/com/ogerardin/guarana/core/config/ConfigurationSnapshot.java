@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.config;
+
+import java.lang.reflect.Executable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Immutable view of the class configurations of a {@link Configuration} at a given version. A new snapshot is
+ * published by the configuration after each change; readers obtain the current one with
+ * {@link Configuration#snapshot()} without locking, and all queries on the same snapshot see the same settings
+ * even if the configuration is changed concurrently. Useful to build a complete UI on a worker thread.
+ *
+ * @author oge
+ * @since 1.0
+ */
+public final class ConfigurationSnapshot {
+
+    private final long version;
+    private final boolean humanizeClassNames;
+    private final Map<Class<?>, ClassConfiguration.Snapshot<?>> classSnapshots;
+    /**
+     * Returns the settings of classes that were not configured yet when this snapshot was published (derived from the
+     * properties and providers as they were then), or null. Results are kept, so that they don't depend on when the
+     * class is first queried.
+     */
+    private final Function<Class<?>, ClassConfiguration.Snapshot<?>> defaultSnapshots;
+    /**
+     * Settings of the package rules, by package pattern
+     */
+    private final PackageTrie<ClassConfiguration.Snapshot<?>> packageRules;
+    /**
+     * Effective configurations computed from this snapshot. Since the snapshot never changes they stay valid for its
+     * whole lifetime, and those that are not affected by a change are carried over to the next snapshot.
+     */
+    private final ConcurrentMap<Class<?>, EffectiveClassConfiguration<?>> effectiveConfigurationByClass;
+
+    private ConfigurationSnapshot(long version, boolean humanizeClassNames,
+                                  Map<Class<?>, ClassConfiguration.Snapshot<?>> classSnapshots,
+                                  Function<Class<?>, ClassConfiguration.Snapshot<?>> defaultSnapshots,
+                                  PackageTrie<ClassConfiguration.Snapshot<?>> packageRules,
+                                  ConcurrentMap<Class<?>, EffectiveClassConfiguration<?>> effectiveConfigurationByClass) {
+        this.version = version;
+        this.humanizeClassNames = humanizeClassNames;
+        this.classSnapshots = classSnapshots;
+        this.defaultSnapshots = defaultSnapshots;
+        this.packageRules = packageRules;
+        this.effectiveConfigurationByClass = effectiveConfigurationByClass;
+    }
+
+    static ConfigurationSnapshot empty(Function<Class<?>, ClassConfiguration.Snapshot<?>> defaultSnapshots) {
+        return new ConfigurationSnapshot(0, false, Map.of(), defaultSnapshots, PackageTrie.empty(),
+                new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Returns a new snapshot where the settings of the specified classes are replaced with the specified values.
+     */
+    ConfigurationSnapshot withClassSnapshots(Map<Class<?>, ClassConfiguration.Snapshot<?>> changes) {
+        Map<Class<?>, ClassConfiguration.Snapshot<?>> snapshots = new HashMap<>(classSnapshots);
+        snapshots.putAll(changes);
+        ConcurrentMap<Class<?>, EffectiveClassConfiguration<?>> effective = new ConcurrentHashMap<>();
+        effectiveConfigurationByClass.forEach((clazz, effectiveConfiguration) -> {
+            if (changes.keySet().stream().noneMatch(effectiveConfiguration::dependsOn)) {
+                effective.put(clazz, effectiveConfiguration);
+            }
+        });
+        return new ConfigurationSnapshot(version + 1, humanizeClassNames, Map.copyOf(snapshots), defaultSnapshots,
+                packageRules, effective);
+    }
+
+    /**
+     * Returns a snapshot of the same version that includes the specified settings, which were previously obtained
+     * through the default snapshots.
+     */
+    ConfigurationSnapshot withMaterializedClass(Class<?> clazz, ClassConfiguration.Snapshot<?> classSnapshot) {
+        Map<Class<?>, ClassConfiguration.Snapshot<?>> snapshots = new HashMap<>(classSnapshots);
+        snapshots.put(clazz, classSnapshot);
+        return new ConfigurationSnapshot(version, humanizeClassNames, Map.copyOf(snapshots), defaultSnapshots,
+                packageRules, effectiveConfigurationByClass);
+    }
+
+    /**
+     * Returns a new snapshot that resolves the settings of classes that are not configured yet with the specified
+     * function. Effective configurations are carried over for the classes that don't depend on one of the specified
+     * class names, whose settings may have changed.
+     */
+    ConfigurationSnapshot withDefaultSnapshots(Function<Class<?>, ClassConfiguration.Snapshot<?>> defaultSnapshots,
+                                               Set<String> changedClassNames) {
+        ConcurrentMap<Class<?>, EffectiveClassConfiguration<?>> effective = new ConcurrentHashMap<>();
+        effectiveConfigurationByClass.forEach((clazz, effectiveConfiguration) -> {
+            if (changedClassNames.stream().noneMatch(effectiveConfiguration::dependsOn)) {
+                effective.put(clazz, effectiveConfiguration);
+            }
+        });
+        return new ConfigurationSnapshot(version + 1, humanizeClassNames, classSnapshots, defaultSnapshots,
+                packageRules, effective);
+    }
+
+    ConfigurationSnapshot withHumanizeClassNames(boolean humanizeClassNames) {
+        return new ConfigurationSnapshot(version + 1, humanizeClassNames, classSnapshots, defaultSnapshots,
+                packageRules, new ConcurrentHashMap<>(effectiveConfigurationByClass));
+    }
+
+    /**
+     * Returns a new snapshot with the specified package rules. Effective configurations are carried over for the
+     * classes whose matching rules are unchanged.
+     */
+    ConfigurationSnapshot withPackageRules(PackageTrie<ClassConfiguration.Snapshot<?>> packageRules) {
+        ConcurrentMap<Class<?>, EffectiveClassConfiguration<?>> effective = new ConcurrentHashMap<>();
+        effectiveConfigurationByClass.forEach((clazz, effectiveConfiguration) -> {
+            if (!isPackageRulesChanged(clazz, packageRules)) {
+                effective.put(clazz, effectiveConfiguration);
+            }
+        });
+        return new ConfigurationSnapshot(version + 1, humanizeClassNames, classSnapshots, defaultSnapshots,
+                packageRules, effective);
+    }
+
+    /**
+     * Returns true if the package rules that match the specified class are not the same in this snapshot and in the
+     * specified rules.
+     */
+    boolean isPackageRulesChanged(Class<?> clazz, PackageTrie<ClassConfiguration.Snapshot<?>> packageRules) {
+        String packageName = clazz.getPackageName();
+        return !this.packageRules.lookup(packageName).equals(packageRules.lookup(packageName));
+    }
+
+    PackageTrie<ClassConfiguration.Snapshot<?>> getPackageRules() {
+        return packageRules;
+    }
+
+    /**
+     * Returns the classes whose effective configuration has been computed from this snapshot (or carried over).
+     */
+    Set<Class<?>> getEffectiveClasses() {
+        return Set.copyOf(effectiveConfigurationByClass.keySet());
+    }
+
+    /**
+     * Returns the classes with the specified names that the effective configurations computed from this snapshot
+     * depend on, i.e. the classes known by name only whose change affects this snapshot.
+     */
+    Set<Class<?>> findDependencies(Set<String> classNames) {
+        Set<Class<?>> classes = new HashSet<>();
+        effectiveConfigurationByClass.values().forEach(effectiveConfiguration ->
+                effectiveConfiguration.getHierarchy().stream()
+                        .filter(type -> classNames.contains(type.getName()))
+                        .forEach(classes::add));
+        return classes;
+    }
+
+    /**
+     * Returns the version of this snapshot. Versions increase with each change of the configuration.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isHumanizeClassNames() {
+        return humanizeClassNames;
+    }
+
+    /**
+     * Returns the settings configured for the specified class itself, or null if there are none.
+     */
+    @SuppressWarnings("unchecked")
+    public <C> ClassConfiguration.Snapshot<C> getClassSnapshot(Class<C> clazz) {
+        ClassConfiguration.Snapshot<?> classSnapshot = classSnapshots.get(clazz);
+        if (classSnapshot == null) {
+            classSnapshot = defaultSnapshots.apply(clazz);
+        }
+        return (ClassConfiguration.Snapshot<C>) classSnapshot;
+    }
+
+    /**
+     * Returns the configuration of the specified class merged with that of its superclasses and interfaces and with
+     * the package rules that match it, as of this snapshot. Computed once per snapshot (or carried over from a previous one).
+     */
+    @SuppressWarnings("unchecked")
+    public <C> EffectiveClassConfiguration<C> getEffectiveConfiguration(Class<C> clazz) {
+        EffectiveClassConfiguration<C> effective =
+                (EffectiveClassConfiguration<C>) effectiveConfigurationByClass.get(clazz);
+        if (effective == null) {
+            effective = (EffectiveClassConfiguration<C>) effectiveConfigurationByClass.computeIfAbsent(clazz,
+                    c -> new EffectiveClassConfiguration<>(c, this::getClassSnapshot,
+                            packageRules.lookup(c.getPackageName())));
+        }
+        return effective;
+    }
+
+    public boolean isHidden(Class<?> clazz, Executable executable) {
+        return getEffectiveConfiguration(clazz).isHidden(executable);
+    }
+
+    public boolean isZoomable(Class<?> clazz) {
+        return getEffectiveConfiguration(clazz).isZoomable();
+    }
+
+    public boolean isShownProperty(Class<?> clazz, String property) {
+        return getEffectiveConfiguration(clazz).isShownProperty(property);
+    }
+
+    public boolean isHumanizePropertyNames(Class<?> clazz) {
+        return getEffectiveConfiguration(clazz).isHumanizePropertyNames();
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationSnapshot{version=" + version + ", classes=" + classSnapshots.keySet() + "}";
+    }
+}
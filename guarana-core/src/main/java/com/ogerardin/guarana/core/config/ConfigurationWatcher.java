@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Watches a set of files with a {@link WatchService} and calls back on a daemon thread when one of them is modified.
+ * The parent directory of each file is watched, since a {@link WatchService} can't watch single files.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Slf4j
+class ConfigurationWatcher implements Closeable {
+
+    /**
+     * Delay to let a file being written settle before reloading it, since writing a file generally produces several
+     * events (truncate, write...)
+     */
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Set<Path> files = new HashSet<>();
+    private final WatchService watchService;
+    private final Consumer<Path> onChange;
+    private final Thread thread;
+
+    ConfigurationWatcher(Collection<Path> files, Consumer<Path> onChange) throws IOException {
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> directories = new HashSet<>();
+        for (Path file : files) {
+            Path absolute = file.toAbsolutePath().normalize();
+            this.files.add(absolute);
+            Path directory = absolute.getParent();
+            if (directories.add(directory)) {
+                // editors often replace the file instead of modifying it
+                directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            }
+        }
+        thread = new Thread(this::watch, "guarana-configuration-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.debug("Watching configuration files: {}", this.files);
+    }
+
+    private void watch() {
+        while (true) {
+            Set<Path> changed = new LinkedHashSet<>();
+            try {
+                WatchKey key = watchService.take();
+                Thread.sleep(SETTLE_MILLIS);
+                // collect the events that occurred in the meantime
+                for (; key != null; key = watchService.poll()) {
+                    collectChanges(key, changed);
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (Path file : changed) {
+                try {
+                    onChange.accept(file);
+                } catch (RuntimeException e) {
+                    log.error("Failed to reload " + file, e);
+                }
+            }
+        }
+    }
+
+    private void collectChanges(WatchKey key, Set<Path> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                files.stream().filter(f -> f.getParent().equals(directory)).forEach(changed::add);
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            if (files.contains(file)) {
+                changed.add(file);
+            }
+        }
+        key.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.config;
+
+import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.metamodel.ExecutableInformation;
+import com.ogerardin.guarana.core.ui.InstanceUI;
+
+import java.lang.reflect.Executable;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Immutable configuration of a class obtained by merging the {@link ClassConfiguration}s of the class, its
+ * superclasses and its interfaces, from the most specific to the most general (see {@link #linearize(Class)}).
+ * Package rules ({@code guarana.package.*} properties) that match the package of the class come after all the types
+ * of the hierarchy except {@link Object}, so that they override the catch-all settings of {@code java.lang.Object}
+ * but not the settings of a specific class or interface.
+ * Built once per class from a {@link ConfigurationSnapshot} by {@link Configuration#getEffectiveConfiguration(Class)}
+ * and discarded when one of the merged {@link ClassConfiguration}s changes, so that queries don't need to walk the
+ * hierarchy.
+ *
+ * @param <C> the configured class
+ * @author oge
+ * @since 1.0
+ */
+public final class EffectiveClassConfiguration<C> {
+
+    private final Class<C> clazz;
+    private final List<Class<?>> hierarchy;
+
+    private final String displayName;
+    private final Class<? extends InstanceUI<?, C>> uiClass;
+    private final Class<? extends InstanceUI<?, C>> embeddedUiClass;
+    private final boolean humanizePropertyNames;
+    private final boolean zoomable;
+    /**
+     * Visibility of the properties that are explicitly shown or hidden somewhere in the hierarchy
+     */
+    private final Map<String, Boolean> propertyVisibility;
+    private final Set<Executable> hiddenMethods;
+    /**
+     * Patterns of the hidden methods, by declaring type
+     */
+    private final Map<Class<?>, Set<MethodPattern>> hiddenMethodPatterns;
+
+    /**
+     * Visible methods among those of the last {@link ClassInformation} passed to
+     * {@link #getVisibleMethods(ClassInformation)}
+     */
+    private volatile VisibleMethods visibleMethods;
+
+    EffectiveClassConfiguration(Class<C> clazz, Function<Class<?>, ClassConfiguration.Snapshot<?>> lookup) {
+        this(clazz, lookup, List.of());
+    }
+
+    /**
+     * @param lookup returns the settings of a class, or null if there are none
+     * @param packageRules settings of the package rules that match the package of the class, most specific first
+     */
+    @SuppressWarnings("unchecked")
+    EffectiveClassConfiguration(Class<C> clazz, Function<Class<?>, ClassConfiguration.Snapshot<?>> lookup,
+                                List<ClassConfiguration.Snapshot<?>> packageRules) {
+        this.clazz = clazz;
+        this.hierarchy = linearize(clazz);
+
+        List<ClassConfiguration.Snapshot<?>> configurations = new ArrayList<>();
+        Map<Class<?>, Set<MethodPattern>> methodPatterns = new HashMap<>();
+        boolean packageRulesAdded = false;
+        for (Class<?> c : hierarchy) {
+            if (c == Object.class) {
+                configurations.addAll(packageRules);
+                packageRulesAdded = true;
+            }
+            ClassConfiguration.Snapshot<?> classConfiguration = lookup.apply(c);
+            if (classConfiguration != null) {
+                configurations.add(classConfiguration);
+                if (!classConfiguration.getHiddenMethodPatterns().isEmpty()) {
+                    methodPatterns.put(c, classConfiguration.getHiddenMethodPatterns());
+                }
+            }
+        }
+        if (!packageRulesAdded) {
+            // interfaces and primitive types have no Object in their hierarchy
+            configurations.addAll(packageRules);
+        }
+
+        // own settings, not inherited
+        ClassConfiguration.Snapshot<C> own = (ClassConfiguration.Snapshot<C>) lookup.apply(clazz);
+        this.displayName = own != null ? own.getDisplayName() : null;
+        this.uiClass = own != null ? own.getUiClass() : null;
+        this.embeddedUiClass = own != null ? own.getEmbeddedUiClass() : null;
+
+        // inherited settings: the most specific non-null value wins
+        // property names are humanized unless a type of the hierarchy (or a package rule) says otherwise
+        this.humanizePropertyNames = first(configurations, ClassConfiguration.Snapshot::getHumanizePropertyNames, true);
+        this.zoomable = !clazz.isPrimitive() && first(configurations, ClassConfiguration.Snapshot::getZoomable, true);
+
+        // apply from the most general to the most specific so that specific settings override general ones;
+        // within one class, "shown" overrides "hidden"
+        Map<String, Boolean> visibility = new HashMap<>();
+        Set<Executable> methods = new HashSet<>();
+        for (int i = configurations.size() - 1; i >= 0; i--) {
+            ClassConfiguration.Snapshot<?> classConfiguration = configurations.get(i);
+            classConfiguration.getHiddenProperties().forEach(p -> visibility.put(p, false));
+            classConfiguration.getShownProperties().forEach(p -> visibility.put(p, true));
+            methods.addAll(classConfiguration.getHiddenMethods());
+        }
+        this.propertyVisibility = Map.copyOf(visibility);
+        this.hiddenMethods = Set.copyOf(methods);
+        this.hiddenMethodPatterns = Map.copyOf(methodPatterns);
+    }
+
+    private static <R> R first(List<ClassConfiguration.Snapshot<?>> configurations,
+                               Function<ClassConfiguration.Snapshot<?>, R> getter, R defaultValue) {
+        for (ClassConfiguration.Snapshot<?> classConfiguration : configurations) {
+            R result = getter.apply(classConfiguration);
+            if (result != null) {
+                return result;
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Returns the specified class followed by its supertypes, most specific first: the class, the interfaces it
+     * implements (and their superinterfaces), then its superclass, the interfaces the superclass implements, and so
+     * on up to {@link Object}. Each type appears once, at its most specific position.
+     */
+    public static List<Class<?>> linearize(Class<?> clazz) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            result.add(c);
+            addInterfaces(c, result);
+        }
+        return List.copyOf(result);
+    }
+
+    private static void addInterfaces(Class<?> clazz, Set<Class<?>> result) {
+        for (Class<?> i : clazz.getInterfaces()) {
+            if (result.add(i)) {
+                addInterfaces(i, result);
+            }
+        }
+    }
+
+    public Class<C> getClazz() {
+        return clazz;
+    }
+
+    /**
+     * Returns the types whose {@link ClassConfiguration} contribute to this configuration, most specific first.
+     */
+    public List<Class<?>> getHierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * Returns true if a change to the configuration of the specified class affects this configuration.
+     */
+    public boolean dependsOn(Class<?> type) {
+        return hierarchy.contains(type);
+    }
+
+    /**
+     * Same as {@link #dependsOn(Class)}, for a type that is known by name only.
+     */
+    public boolean dependsOn(String typeName) {
+        return hierarchy.stream().anyMatch(type -> type.getName().equals(typeName));
+    }
+
+    /**
+     * Returns the display name configured for this class (not inherited), or null.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the UI class configured for this class (not inherited), or null.
+     */
+    public Class<? extends InstanceUI<?, C>> getUiClass() {
+        return uiClass;
+    }
+
+    /**
+     * Returns the embedded UI class configured for this class (not inherited), or null.
+     */
+    public Class<? extends InstanceUI<?, C>> getEmbeddedUiClass() {
+        return embeddedUiClass;
+    }
+
+    public boolean isHumanizePropertyNames() {
+        return humanizePropertyNames;
+    }
+
+    public boolean isZoomable() {
+        return zoomable;
+    }
+
+    /**
+     * Returns true unless the specified property is hidden for this class or a supertype, and not shown again by a
+     * more specific type.
+     */
+    public boolean isShownProperty(String property) {
+        return propertyVisibility.getOrDefault(property, true);
+    }
+
+    /**
+     * Returns true if the specified method or constructor is hidden for this class or a supertype. Patterns of a type
+     * only apply to the methods it declares.
+     */
+    public boolean isHidden(Executable executable) {
+        if (hiddenMethods.contains(executable)) {
+            return true;
+        }
+        Set<MethodPattern> patterns = hiddenMethodPatterns.get(executable.getDeclaringClass());
+        if (patterns != null) {
+            for (MethodPattern pattern : patterns) {
+                if (pattern.matches(executable)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the indices of the methods of the specified {@link ClassInformation} (as listed by
+     * {@link ClassInformation#getMethods()}) that are not hidden. Computed once and reused for the same class
+     * information, so that e.g. building a context menu for each row of a table doesn't evaluate the hiding rules
+     * again. The returned set is a copy that the caller may modify.
+     */
+    public BitSet getVisibleMethods(ClassInformation<C> classInformation) {
+        VisibleMethods result = visibleMethods;
+        if (result == null || result.classInformation != classInformation) {
+            List<ExecutableInformation> methods = classInformation.getMethods();
+            BitSet visible = new BitSet(methods.size());
+            for (int i = 0; i < methods.size(); i++) {
+                if (!isHidden(methods.get(i).getExecutable())) {
+                    visible.set(i);
+                }
+            }
+            result = new VisibleMethods(classInformation, visible);
+            visibleMethods = result;
+        }
+        return (BitSet) result.visible.clone();
+    }
+
+    private static final class VisibleMethods {
+        private final ClassInformation<?> classInformation;
+        private final BitSet visible;
+
+        private VisibleMethods(ClassInformation<?> classInformation, BitSet visible) {
+            this.classInformation = classInformation;
+            this.visible = visible;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EffectiveClassConfiguration{" + clazz.getName()
+                + ", hierarchy=" + hierarchy
+                + ", propertyVisibility=" + propertyVisibility
+                + ", zoomable=" + zoomable
+                + ", humanizePropertyNames=" + humanizePropertyNames + "}";
+    }
+}
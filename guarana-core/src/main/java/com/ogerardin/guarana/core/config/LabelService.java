@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.config;
+
+import com.ogerardin.guarana.core.introspection.JavaIntrospector;
+import com.ogerardin.guarana.core.metamodel.ParameterInformation;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the labels displayed for classes, properties, methods and parameters. Each label is computed once and
+ * cached until the configuration changes (i.e. until the version of its {@link ConfigurationSnapshot} changes), so
+ * that building a UI doesn't compute display names again.
+ *
+ * A label is resolved, in order of priority, from:
+ * <ul>
+ *     <li>the resource bundle, if one is set ({@code guarana.labelBundle} or {@link #setResourceBundle}); keys are
+ *     {@code fqcn} for a class, {@code fqcn.property} for a property, {@code fqcn.method} for a method
+ *     ({@code fqcn.new} for a constructor) and {@code fqcn.method.parameter} for a parameter</li>
+ *     <li>the configured display name of the class ({@code displayName}), or the bean display name of the property
+ *     if it differs from its name</li>
+ *     <li>the name, converted by the {@link NamingStrategy} when humanizing is enabled ({@code humanizeClassNames},
+ *     {@code humanizePropertyNames}; always for methods and parameters)</li>
+ * </ul>
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Slf4j
+public class LabelService {
+
+    private static final String CONSTRUCTOR_NAME = "new";
+
+    private final Configuration configuration;
+
+    private volatile NamingStrategy namingStrategy = NamingStrategy.HUMANIZE;
+    private volatile ResourceBundle resourceBundle = null;
+
+    private volatile Cache cache = new Cache(-1);
+
+    LabelService(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    public NamingStrategy getNamingStrategy() {
+        return namingStrategy;
+    }
+
+    public void setNamingStrategy(@NonNull NamingStrategy namingStrategy) {
+        this.namingStrategy = namingStrategy;
+        clearCache();
+    }
+
+    public ResourceBundle getResourceBundle() {
+        return resourceBundle;
+    }
+
+    /**
+     * Sets the resource bundle that overrides labels, or null for none.
+     */
+    public void setResourceBundle(ResourceBundle resourceBundle) {
+        this.resourceBundle = resourceBundle;
+        clearCache();
+    }
+
+    /**
+     * Loads the resource bundle with the specified base name for the default locale.
+     */
+    void setResourceBundle(String baseName) {
+        try {
+            setResourceBundle(ResourceBundle.getBundle(baseName, Locale.getDefault(),
+                    Thread.currentThread().getContextClassLoader()));
+        } catch (MissingResourceException e) {
+            log.warn("Label bundle not found: " + baseName);
+        }
+    }
+
+    private void clearCache() {
+        cache = new Cache(-1);
+    }
+
+    public String getClassLabel(@NonNull Class<?> clazz) {
+        return getClassLabel(clazz, configuration.snapshot());
+    }
+
+    /**
+     * Returns the label of the specified class as of the specified snapshot.
+     */
+    public String getClassLabel(@NonNull Class<?> clazz, @NonNull ConfigurationSnapshot snapshot) {
+        return getLabel(clazz, snapshot.getVersion(), () -> {
+            String label = fromBundle(clazz.getName());
+            if (label == null) {
+                label = snapshot.getEffectiveConfiguration(clazz).getDisplayName();
+            }
+            if (label == null) {
+                String className = JavaIntrospector.getClassInformation(clazz).getSimpleClassName();
+                label = snapshot.isHumanizeClassNames() ? namingStrategy.toDisplayName(className) : className;
+            }
+            return label;
+        });
+    }
+
+    /**
+     * Returns the label of the specified property of the specified class (which may be a subclass of the class that
+     * declares the property).
+     */
+    public String getPropertyLabel(@NonNull Class<?> clazz, @NonNull PropertyInformation property) {
+        return getPropertyLabel(clazz, property, configuration.snapshot());
+    }
+
+    /**
+     * Returns the label of the specified property of the specified class as of the specified snapshot.
+     */
+    public String getPropertyLabel(@NonNull Class<?> clazz, @NonNull PropertyInformation property,
+                                   @NonNull ConfigurationSnapshot snapshot) {
+        String propertyName = property.getName();
+        return getLabel(new PropertyKey(clazz, propertyName), snapshot.getVersion(), () -> {
+            String label = fromBundle(clazz.getName() + "." + propertyName);
+            if (label == null) {
+                label = property.getDisplayName();
+                if (propertyName.equals(label) && snapshot.isHumanizePropertyNames(clazz)) {
+                    label = namingStrategy.toDisplayName(propertyName);
+                }
+            }
+            return label;
+        });
+    }
+
+    public String getExecutableLabel(@NonNull Executable executable) {
+        return getLabel(executable, configuration.getVersion(), () -> {
+            String label = fromBundle(executable.getDeclaringClass().getName() + "." + getName(executable));
+            return label != null ? label : namingStrategy.toDisplayName(executable.getName());
+        });
+    }
+
+    public String getParameterLabel(@NonNull Executable executable, @NonNull ParameterInformation parameter) {
+        String parameterName = parameter.getName();
+        return getLabel(new ParameterKey(executable, parameterName), configuration.getVersion(), () -> {
+            String label = fromBundle(executable.getDeclaringClass().getName() + "." + getName(executable)
+                    + "." + parameterName);
+            return label != null ? label : namingStrategy.toDisplayName(parameterName);
+        });
+    }
+
+    private static String getName(Executable executable) {
+        return executable instanceof Constructor ? CONSTRUCTOR_NAME : executable.getName();
+    }
+
+    private String fromBundle(String key) {
+        ResourceBundle bundle = resourceBundle;
+        if (bundle == null || !bundle.containsKey(key)) {
+            return null;
+        }
+        return bundle.getString(key);
+    }
+
+    /**
+     * Returns the label for the specified key, cached for the specified configuration version
+     */
+    private String getLabel(Object key, long version, Supplier<String> resolver) {
+        Cache current = cache;
+        if (current.version != version) {
+            if (version < current.version) {
+                // label of an older snapshot: don't replace the labels of a more recent one
+                return resolver.get();
+            }
+            current = new Cache(version);
+            cache = current;
+        }
+        String label = current.labels.get(key);
+        if (label == null) {
+            label = resolver.get();
+            current.labels.putIfAbsent(key, label);
+        }
+        return label;
+    }
+
+    /**
+     * Labels computed for a given configuration version, by class, {@link Executable}, {@link PropertyKey} or
+     * {@link ParameterKey}
+     */
+    private static class Cache {
+        private final long version;
+        private final ConcurrentMap<Object, String> labels = new ConcurrentHashMap<>();
+
+        private Cache(long version) {
+            this.version = version;
+        }
+    }
+
+    private record PropertyKey(Class<?> clazz, String property) {
+    }
+
+    private record ParameterKey(Executable executable, String parameter) {
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.config;
+
+import lombok.EqualsAndHashCode;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A rule that selects methods by name and optionally by signature, as used by {@code hideMethods}. Forms:
+ * <ul>
+ *     <li>{@code name}: all overloads of the method</li>
+ *     <li>{@code name(int,java.lang.String)}: the overload with these parameter types (simple or qualified names,
+ *     {@code name()} for no parameters)</li>
+ *     <li>{@code get*}, {@code ?etName}: glob patterns on the name, possibly with a signature</li>
+ *     <li>{@code *}: all methods</li>
+ * </ul>
+ * Matching doesn't use regular expressions, since it's done for each method of each configured class.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@EqualsAndHashCode
+public final class MethodPattern {
+
+    private final String namePattern;
+    /**
+     * Parameter type names, or null to match any signature
+     */
+    private final List<String> parameterTypes;
+
+    private MethodPattern(String namePattern, List<String> parameterTypes) {
+        this.namePattern = namePattern;
+        this.parameterTypes = parameterTypes;
+    }
+
+    static MethodPattern parse(String spec) {
+        String trimmed = spec.trim();
+        int openParen = trimmed.indexOf('(');
+        if (openParen < 0) {
+            return new MethodPattern(trimmed, null);
+        }
+        if (!trimmed.endsWith(")")) {
+            throw new IllegalArgumentException("Invalid method pattern: " + spec);
+        }
+        String parameters = trimmed.substring(openParen + 1, trimmed.length() - 1).trim();
+        List<String> parameterTypes = parameters.isEmpty()
+                ? List.of()
+                : Arrays.stream(parameters.split(",")).map(String::trim).toList();
+        return new MethodPattern(trimmed.substring(0, openParen).trim(), parameterTypes);
+    }
+
+    boolean matches(Executable executable) {
+        if (!(executable instanceof Method) || !globMatches(namePattern, executable.getName())) {
+            return false;
+        }
+        if (parameterTypes == null) {
+            return true;
+        }
+        Class<?>[] types = executable.getParameterTypes();
+        if (types.length != parameterTypes.size()) {
+            return false;
+        }
+        for (int i = 0; i < types.length; i++) {
+            String typeName = parameterTypes.get(i);
+            if (!typeName.equals(types[i].getTypeName()) && !typeName.equals(types[i].getSimpleName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches a name against a pattern where {@code *} stands for any sequence of characters and {@code ?} for any
+     * single character
+     */
+    static boolean globMatches(String pattern, String name) {
+        int p = 0;
+        int n = 0;
+        int starPattern = -1;
+        int starName = 0;
+        while (n < name.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == name.charAt(n))) {
+                p++;
+                n++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                starPattern = p++;
+                starName = n;
+            } else if (starPattern >= 0) {
+                // let the last star absorb one more character
+                p = starPattern + 1;
+                n = ++starName;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    @Override
+    public String toString() {
+        return parameterTypes == null ? namePattern : namePattern + "(" + String.join(",", parameterTypes) + ")";
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.config;
+
+/**
+ * Turns the names of classes, properties, methods and parameters into display names, when no display name is
+ * configured or provided by a resource bundle. Results are cached by {@link LabelService}, so implementations don't
+ * need to be fast, but they must be deterministic.
+ *
+ * A custom strategy can be set with {@link LabelService#setNamingStrategy(NamingStrategy)} or with the property
+ * {@code guarana.namingStrategy} (fully qualified name of a class with a public no-arg constructor).
+ *
+ * @author oge
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface NamingStrategy {
+
+    /**
+     * Splits camel case names into capitalized words (see {@link Util#humanize(String)})
+     */
+    NamingStrategy HUMANIZE = Util::humanize;
+
+    /**
+     * Keeps names unchanged
+     */
+    NamingStrategy IDENTITY = name -> name;
+
+    String toDisplayName(String name);
+}
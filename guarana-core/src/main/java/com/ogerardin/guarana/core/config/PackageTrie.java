@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable trie of package rules, indexed by package name segments. A rule either targets a single package
+ * ({@code com.foo.dto}) or a package and all its subpackages ({@code com.foo.dto.*}; {@code *} alone targets all
+ * packages). Finding the rules that apply to a package only walks the segments of its name, so the cost doesn't depend
+ * on the number of rules.
+ *
+ * @param <T> type of the rules
+ * @author oge
+ * @since 1.0
+ */
+final class PackageTrie<T> {
+
+    static final String WILDCARD = "*";
+
+    private static final PackageTrie<?> EMPTY = new PackageTrie<>(new Node<>());
+
+    private final Node<T> root;
+
+    private PackageTrie(Node<T> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> PackageTrie<T> empty() {
+        return (PackageTrie<T>) EMPTY;
+    }
+
+    /**
+     * Builds a trie from rules indexed by package pattern ({@code pkg} or {@code pkg.*}).
+     */
+    static <T> PackageTrie<T> of(Map<String, T> rules) {
+        if (rules.isEmpty()) {
+            return empty();
+        }
+        Node<T> root = new Node<>();
+        rules.forEach((pattern, rule) -> {
+            boolean recursive = pattern.equals(WILDCARD) || pattern.endsWith("." + WILDCARD);
+            String packageName = recursive
+                    ? pattern.substring(0, Math.max(0, pattern.length() - WILDCARD.length() - 1))
+                    : pattern;
+            Node<T> node = root;
+            if (!packageName.isEmpty()) {
+                for (String segment : packageName.split("\\.")) {
+                    node = node.children.computeIfAbsent(segment, s -> new Node<>());
+                }
+            }
+            if (recursive) {
+                node.recursiveRule = rule;
+            } else {
+                node.rule = rule;
+            }
+        });
+        return new PackageTrie<>(root);
+    }
+
+    boolean isEmpty() {
+        return root.children.isEmpty() && root.recursiveRule == null && root.rule == null;
+    }
+
+    /**
+     * Returns the rules that apply to the specified package, most specific first: the rule of the package itself,
+     * then the recursive rules of the package and of its parents, from the innermost to the outermost.
+     */
+    List<T> lookup(String packageName) {
+        if (isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> result = new ArrayList<>();
+        Node<T> node = root;
+        if (!packageName.isEmpty()) {
+            int start = 0;
+            while (node != null && start <= packageName.length()) {
+                addIfNotNull(result, node.recursiveRule);
+                int end = packageName.indexOf('.', start);
+                if (end < 0) {
+                    end = packageName.length();
+                }
+                node = node.children.get(packageName.substring(start, end));
+                start = end + 1;
+            }
+        }
+        if (node != null) {
+            addIfNotNull(result, node.recursiveRule);
+            addIfNotNull(result, node.rule);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static <T> void addIfNotNull(List<T> list, T element) {
+        if (element != null) {
+            list.add(element);
+        }
+    }
+
+    private static class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private T rule;
+        private T recursiveRule;
+    }
+}
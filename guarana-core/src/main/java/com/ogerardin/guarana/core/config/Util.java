@@ -4,9 +4,6 @@
 
 package com.ogerardin.guarana.core.config;
 
-import java.util.Arrays;
-import java.util.stream.Collectors;
-
 /**
  * @author oge
  * @since 07/03/2017
@@ -14,12 +11,25 @@ import java.util.stream.Collectors;
 public enum Util {
     ;
 
+    /**
+     * Splits a "camelCase" name into capitalized words: "firstName" becomes "First Name", "URLValue" becomes
+     * "Url Value". A new word starts at an uppercase letter that follows a non-uppercase character, or that is
+     * followed by a lowercase letter. Done in a single pass without regular expressions.
+     */
     public static String humanize(String name) {
-        // split "camelCase" to "camel" "Case"
-        final String[] parts = name.split("(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])");
-        // fix case of each part and join into a space-separated string
-        return Arrays.stream(parts)
-                .map(part -> part.substring(0, 1).toUpperCase() + part.substring(1).toLowerCase())
-                .collect(Collectors.joining(" "));
+        StringBuilder sb = new StringBuilder(name.length() + 4);
+        boolean wordStart = true;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (i > 0 && Character.isUpperCase(c)
+                    && (!Character.isUpperCase(name.charAt(i - 1))
+                    || (i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1))))) {
+                sb.append(' ');
+                wordStart = true;
+            }
+            sb.append(wordStart ? Character.toUpperCase(c) : Character.toLowerCase(c));
+            wordStart = false;
+        }
+        return sb.toString();
     }
 }
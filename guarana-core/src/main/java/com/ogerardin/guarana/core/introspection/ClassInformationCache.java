@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.introspection;
+
+import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import lombok.Value;
+
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache of {@link ClassInformation}, based on {@link ClassValue} so that cached entries don't prevent
+ * classes (and their class loaders) from being unloaded. Each entry is computed at most once, even when requested
+ * concurrently from several threads.
+ *
+ * @author oge
+ * @since 1.0
+ */
+public final class ClassInformationCache {
+
+    private static final Cleaner cleaner = Cleaner.create();
+
+    private final Function<Class<?>, ClassInformation<?>> factory;
+
+    private final ClassValue<Entry> entries = new ClassValue<>() {
+        @Override
+        protected Entry computeValue(Class<?> type) {
+            return new Entry(type);
+        }
+    };
+
+    /**
+     * Classes currently cached, used for bulk invalidation. Weak keys so that classes can still be unloaded.
+     */
+    private final Map<Class<?>, Boolean> cachedClasses = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ClassInformationCache(Function<Class<?>, ClassInformation<?>> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the cached {@link ClassInformation} for the specified class, computing it if necessary.
+     */
+    @SuppressWarnings("unchecked")
+    <C> ClassInformation<C> get(Class<C> clazz) {
+        return (ClassInformation<C>) entries.get(clazz).get();
+    }
+
+    /**
+     * Removes the cached information for the specified class, if any.
+     */
+    void invalidate(Class<?> clazz) {
+        cachedClasses.remove(clazz);
+        Entry entry = entries.get(clazz);
+        entries.remove(clazz);
+        entry.evict();
+    }
+
+    /**
+     * Removes the cached information for all classes defined in modules of the specified layer.
+     */
+    void invalidateLayer(ModuleLayer layer) {
+        List<Class<?>> classes;
+        synchronized (cachedClasses) {
+            classes = new ArrayList<>(cachedClasses.keySet());
+        }
+        classes.stream()
+                .filter(c -> c.getModule().getLayer() == layer)
+                .forEach(this::invalidate);
+    }
+
+    Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), cachedClasses.size());
+    }
+
+    /**
+     * Holds the lazily computed information for one class.
+     */
+    private class Entry {
+        private final Class<?> type;
+        /**
+         * Shared with the {@link Cleaner} action, which must not reference this entry.
+         */
+        private final AtomicBoolean live = new AtomicBoolean(false);
+        private volatile ClassInformation<?> classInformation;
+
+        Entry(Class<?> type) {
+            this.type = type;
+        }
+
+        ClassInformation<?> get() {
+            ClassInformation<?> result = classInformation;
+            if (result != null) {
+                hits.increment();
+                return result;
+            }
+            synchronized (this) {
+                if (classInformation == null) {
+                    misses.increment();
+                    classInformation = factory.apply(type);
+                    live.set(true);
+                    cachedClasses.put(type, Boolean.TRUE);
+                    // count an eviction when the class is unloaded
+                    AtomicBoolean live = this.live;
+                    LongAdder evictions = ClassInformationCache.this.evictions;
+                    cleaner.register(type, () -> {
+                        if (live.getAndSet(false)) {
+                            evictions.increment();
+                        }
+                    });
+                } else {
+                    hits.increment();
+                }
+                return classInformation;
+            }
+        }
+
+        void evict() {
+            if (live.getAndSet(false)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    @Value
+    public static class Statistics {
+        /**
+         * Number of lookups that found an already computed entry
+         */
+        long hitCount;
+        /**
+         * Number of lookups that triggered an introspection
+         */
+        long missCount;
+        /**
+         * Number of entries removed, either explicitly or because their class was unloaded
+         */
+        long evictionCount;
+        /**
+         * Number of classes currently cached
+         */
+        int size;
+    }
+}
@@ -18,7 +18,10 @@ class ClassSet extends HashSet<Class<?>> {
      * Add the specified type's class and its parameters' classes recursively
      */
     void addParameterized(Type type) {
-        if (type instanceof ParameterizedType) {
+        if (type instanceof Class) {
+            add((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            addParameterized(((ParameterizedType) type).getRawType());
             for (Type t : ((ParameterizedType) type).getActualTypeArguments()) {
                 addParameterized(t);
             }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.introspection;
+
+import com.ogerardin.guarana.core.metamodel.Introspector;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link Introspector} that reads properties from the build-time {@link MetamodelIndex}
+ * instead of using JavaBeans introspection. Methods and constructors are obtained directly through reflection.
+ *
+ * If the index turns out to be out of sync with the actual class (e.g. an accessor listed in the index
+ * doesn't exist), properties are obtained from a {@link JavaClassIntrospector} instead.
+ *
+ * @param <C> the type of class being introspected
+ * @author oge
+ * @since 1.0
+ */
+@Slf4j
+public class IndexedClassIntrospector<C> implements Introspector<C> {
+
+    private final Class<C> clazz;
+    private final List<MetamodelIndex.PropertyEntry> entries;
+
+    private List<Executable> contributedExecutables = null;
+
+    /**
+     * Creates a new introspector for the specified class.
+     *
+     * @throws IllegalArgumentException if the class is not present in the metamodel index
+     */
+    public IndexedClassIntrospector(Class<C> clazz) {
+        this.clazz = clazz;
+        this.entries = MetamodelIndex.getEntries(clazz);
+        if (entries == null) {
+            throw new IllegalArgumentException("Class not indexed: " + clazz);
+        }
+    }
+
+    @Override
+    public List<Method> getMethods() {
+        // like java.beans, leave out bridge methods
+        return Arrays.stream(clazz.getMethods())
+                .filter(m -> !m.isBridge())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Constructor<C>> getConstructors() {
+        @SuppressWarnings("unchecked")
+        Constructor<C>[] constructors = (Constructor<C>[]) clazz.getConstructors();
+        return Arrays.asList(constructors);
+    }
+
+    @Override
+    public List<PropertyInformation> getProperties() {
+        try {
+            List<PropertyInformation> properties = new ArrayList<>(entries.size());
+            for (MetamodelIndex.PropertyEntry entry : entries) {
+                properties.add(toPropertyInformation(entry));
+            }
+            return properties;
+        } catch (NoSuchMethodException e) {
+            log.warn("Metamodel index out of date for " + clazz + ", falling back to JavaBeans introspection: " + e);
+            return new JavaClassIntrospector<>(clazz).getProperties();
+        }
+    }
+
+    private PropertyInformation toPropertyInformation(MetamodelIndex.PropertyEntry entry) throws NoSuchMethodException {
+        Method readMethod = entry.getReadMethod() == null ? null : clazz.getMethod(entry.getReadMethod());
+        Method writeMethod = entry.getWriteMethod() == null ? null : findWriteMethod(entry.getWriteMethod(), readMethod);
+        Method jfxPropertyMethod = entry.getJfxPropertyMethod() == null ? null : clazz.getMethod(entry.getJfxPropertyMethod());
+        Class<?> propertyType = readMethod != null ? readMethod.getReturnType() : writeMethod.getParameterTypes()[0];
+        return new PropertyInformation(clazz, entry.getName(), propertyType, readMethod, writeMethod, jfxPropertyMethod);
+    }
+
+    /**
+     * Finds the public single-arg method with the specified name that accepts the getter's type (preferably
+     * exactly), or any such method if there is no getter.
+     */
+    private Method findWriteMethod(String name, Method readMethod) throws NoSuchMethodException {
+        Method found = null;
+        for (Method method : clazz.getMethods()) {
+            if (!method.getName().equals(name) || method.getParameterCount() != 1) {
+                continue;
+            }
+            Class<?> parameterType = method.getParameterTypes()[0];
+            if (readMethod == null || parameterType == readMethod.getReturnType()) {
+                return method;
+            }
+            if (found == null && parameterType.isAssignableFrom(readMethod.getReturnType())) {
+                found = method;
+            }
+        }
+        if (found == null) {
+            throw new NoSuchMethodException(clazz.getName() + "." + name);
+        }
+        return found;
+    }
+
+    @Override
+    public Collection<Executable> getContributedExecutables() {
+        if (contributedExecutables == null) {
+            contributedExecutables = JavaIntrospector.getContributedExecutables(clazz);
+        }
+        return contributedExecutables;
+    }
+
+    @Override
+    public boolean isService() {
+        return JavaIntrospector.isService(clazz);
+    }
+
+    @Override
+    public String getSimpleName() {
+        return clazz.getSimpleName();
+    }
+
+    @Override
+    public String getDisplayName() {
+        // same as the default display name of a java.beans.BeanDescriptor
+        String name = clazz.getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
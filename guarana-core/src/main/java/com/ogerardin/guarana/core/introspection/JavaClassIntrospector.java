@@ -6,7 +6,6 @@ package com.ogerardin.guarana.core.introspection;
 
 import com.ogerardin.guarana.core.metamodel.Introspector;
 import com.ogerardin.guarana.core.metamodel.PropertyInformation;
-import io.github.lukehutch.fastclasspathscanner.FastClasspathScanner;
 import lombok.extern.slf4j.Slf4j;
 
 import java.beans.BeanInfo;
@@ -20,9 +19,6 @@ import java.lang.reflect.Method;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import static com.ogerardin.guarana.core.util.LambdaExceptionUtil.rethrowFunction;
 
 /**
  * Implementation of {@link Introspector} that uses Java reflection and
@@ -54,17 +50,6 @@ public class JavaClassIntrospector<C> implements Introspector<C> {
         }
     }
 
-    private static List<Executable> getMethodsAndConstructors(Class c) {
-        return Stream.concat(
-                Arrays.stream(c.getMethods()),
-                Arrays.stream(c.getConstructors()))
-                .collect(Collectors.toList());
-    }
-
-    private boolean isSystem() {
-        return JavaIntrospector.isSystem(clazz);
-    }
-
     /**
      * Returns true if the target class is a primitive type.
      */
@@ -72,81 +57,6 @@ public class JavaClassIntrospector<C> implements Introspector<C> {
         return JavaIntrospector.isPrimitive(clazz);
     }
 
-    private void scanReferencing() {
-        if (isPrimitive() || isSystem()) {
-            return;
-        }
-
-        // examine classes referenced by this class
-//        log.debug("Scanning methods/constructors of " + this.getJavaClass());
-//        for (ExecutableInformation ei : getMethodsAndConstructors()) {
-//            final Executable executable = ei.getExecutable();
-//            log.debug("scanning: " + executable);
-//
-//            // collect all types referenced in this method's declaration
-//            Set<Class<?>> classes = ei.getReferencedClasses();
-//
-//            classes.stream()
-//                    .filter(c -> ! isSystem(c))
-//                    .forEach(c -> addContributingExecutable(c, executable));
-//        }
-
-        // examine classes that reference this class
-        log.debug("Scanning referencing classes for " + clazz);
-        final Collection<Class> referencingClasses = getReferencingClasses();
-
-        for (Class c : referencingClasses) {
-            log.debug("" + c + " references " + clazz);
-            final List<Executable> methodsAndConstructors = getMethodsAndConstructors(c);
-            for (Executable executable : methodsAndConstructors) {
-                if (JavaIntrospector.executableReferences(executable, clazz)) {
-                    log.debug("" + executable + " references " + clazz);
-                    addContributingExecutable(clazz, executable);
-                }
-            }
-        }
-    }
-
-    private void addContributingExecutable(Class type, Executable executable) {
-        if (type.isPrimitive() || JavaIntrospector.isSystem(type)) {
-            return;
-        }
-        if (type.isArray()) {
-            addContributingExecutable(type.getComponentType(), executable);
-            return;
-        }
-        addContributingExecutable(executable);
-    }
-
-    private void addContributingExecutable(Executable executable) {
-        log.debug("Add contributing " + executable.getClass().getSimpleName()
-                + " for " + clazz.getSimpleName() + ": " + executable);
-//        log.debug("Add contributing executable for " + this.getJavaClass().getSimpleName() + " -> " +
-//                method.getReturnType().getSimpleName() + " " +
-//                method.getDeclaringClass().getSimpleName() + "." +
-//                method.getName());
-        getContributedExecutables().add(executable);
-    }
-
-    //    public static <C> ClassInformation<C> getClassInformation(Class<C> clazz) {
-//        ClassInformation<C> classInformation = ClassInformation.getClassInformation(clazz);
-//        return classInformation;
-//    }
-
-
-    private Collection<Class> getReferencingClasses() {
-        // getNamesOfClassesWithFieldOfType() also returns classes that have methods with paraneters of
-        // the specified type, which fits our needs
-        FastClasspathScanner fastClasspathScanner = new FastClasspathScanner();
-        fastClasspathScanner.enableFieldTypeIndexing();
-        final List<String> referencingClassNames = fastClasspathScanner.scan()
-                .getNamesOfClassesWithFieldOfType(clazz);
-
-        return referencingClassNames.stream()
-                .map(rethrowFunction(Class::forName))
-                .collect(Collectors.toSet());
-    }
-
     @Override
     /**
      * Returns all public methods declared by the target class.
@@ -189,7 +99,7 @@ public class JavaClassIntrospector<C> implements Introspector<C> {
                 .map(pd -> {
                     String name = pd.getName();
                     PropertyDescriptor jfxProperty = propertyDescriptorByName.get(name + JAVAFX_PROPERTY_SUFFIX);
-                    return new PropertyInformation(pd, jfxProperty);
+                    return new PropertyInformation(pd, jfxProperty, clazz);
                 })
                 .collect(Collectors.toList());
 
@@ -207,11 +117,9 @@ public class JavaClassIntrospector<C> implements Introspector<C> {
      * this class in their signatures.
      */
     public Collection<Executable> getContributedExecutables() {
-        if (contributedExecutables != null) {
-            return contributedExecutables;
+        if (contributedExecutables == null) {
+            contributedExecutables = JavaIntrospector.getContributedExecutables(clazz);
         }
-        contributedExecutables = new ArrayList<>();
-        scanReferencing();
         return contributedExecutables;
     }
 
@@ -6,6 +6,8 @@ package com.ogerardin.guarana.core.introspection;
 
 import com.ogerardin.guarana.core.annotations.Service;
 import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.metamodel.Introspector;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Executable;
@@ -25,7 +27,25 @@ import java.util.*;
 @Slf4j
 public class JavaIntrospector {
 
-    private static final Map<Class, ClassInformation> classInformationByClass = new HashMap<>();
+    private static final ClassInformationCache classInformationCache =
+            new ClassInformationCache(JavaIntrospector::createClassInformation);
+
+    /**
+     * Available implementations of {@link Introspector}, used for classes that are not in the build-time
+     * {@link MetamodelIndex}.
+     */
+    public enum IntrospectorType {
+        /**
+         * {@link JavaClassIntrospector}, based on {@link java.beans.Introspector}
+         */
+        JAVABEANS,
+        /**
+         * {@link ReflectionClassIntrospector}, based on direct reflection
+         */
+        REFLECTION
+    }
+
+    private static volatile IntrospectorType introspectorType = IntrospectorType.JAVABEANS;
 
     /**
      * Given a method assumed to return a parameterized type with a single parameter type, returns the single parameter
@@ -38,7 +58,10 @@ public class JavaIntrospector {
     }
 
     /**
-     * Extracts the single type parameter from a parameterized type.
+     * Extracts the single type parameter from a parameterized type. Wildcards and type variables are replaced by
+     * their bound. Prefer {@link PropertyInformation#getElementType()} and
+     * {@link com.ogerardin.guarana.core.metamodel.ParameterInformation#getElementType()}, which also resolve type
+     * variables bound by subclasses and are computed once.
      *
      * @throws RuntimeException if the type is not a parameterized type
      */
@@ -47,16 +70,15 @@ public class JavaIntrospector {
             throw new RuntimeException("Type is not a parameterized type: " + genericType);
         }
         final Type[] actualTypeArguments = ((ParameterizedType) genericType).getActualTypeArguments();
-        // We assume that the type has exactly one actual type parameter
-        return (Class<C>) actualTypeArguments[0];
+        // We assume that the type has exactly one actual type parameter, which may be a wildcard or type variable
+        return (Class<C>) TypeResolver.rawClass(actualTypeArguments[0]);
     }
 
     /**
      * Checks if the specified class is annotated with {@link Service}.
      */
-    static boolean isService(Class<?> targetClass) {
-        return Arrays.stream(targetClass.getAnnotations())
-                .anyMatch(a -> a.getClass() == Service.class);
+    public static boolean isService(Class<?> targetClass) {
+        return targetClass.isAnnotationPresent(Service.class);
     }
 
     /**
@@ -82,20 +104,75 @@ public class JavaIntrospector {
 
     /**
      * Returns the cached {@link ClassInformation} for the specified class,
-     * creating and caching it if necessary.
+     * creating and caching it if necessary. Safe to call from any thread.
      */
     public static <T> ClassInformation<T> getClassInformation(Class<T> clazz) {
-        //noinspection unchecked
-        ClassInformation<T> classInformation = classInformationByClass.get(clazz);
-        if (classInformation != null) {
-            return classInformation;
-        }
+        return classInformationCache.get(clazz);
+    }
 
+    private static <T> ClassInformation<T> createClassInformation(Class<T> clazz) {
         log.debug("Instantiating ClassInformation for: " + clazz);
-        JavaClassIntrospector<T> introspector = new JavaClassIntrospector<>(clazz);
-        classInformation = new ClassInformation<T>(clazz, introspector);
-        classInformationByClass.put(clazz, classInformation);
-        return classInformation;
+        // use the build-time metamodel index if available, otherwise fall back to the selected introspector
+        final Introspector<T> introspector;
+        if (MetamodelIndex.isIndexed(clazz)) {
+            introspector = new IndexedClassIntrospector<>(clazz);
+        } else if (introspectorType == IntrospectorType.REFLECTION) {
+            introspector = new ReflectionClassIntrospector<>(clazz);
+        } else {
+            introspector = new JavaClassIntrospector<>(clazz);
+        }
+        return new ClassInformation<>(clazz, introspector);
+    }
+
+    /**
+     * Selects the {@link Introspector} implementation used for classes that are not in the metamodel index.
+     * Only affects classes introspected afterwards; use {@link #invalidate(Class)} to discard information already
+     * cached.
+     */
+    public static void setIntrospectorType(IntrospectorType type) {
+        introspectorType = type;
+    }
+
+    public static IntrospectorType getIntrospectorType() {
+        return introspectorType;
+    }
+
+    /**
+     * Discards the cached {@link ClassInformation} and contributed executables for the specified class, if any.
+     */
+    public static void invalidate(Class<?> clazz) {
+        classInformationCache.invalidate(clazz);
+        ReferenceIndex.INSTANCE.invalidate(clazz);
+    }
+
+    /**
+     * Discards the cached {@link ClassInformation} of all classes in the specified module layer, and the cached
+     * contributed executables that involve them, e.g. before dropping a plugin layer.
+     */
+    public static void invalidateLayer(ModuleLayer layer) {
+        classInformationCache.invalidateLayer(layer);
+        ReferenceIndex.INSTANCE.invalidateLayer(layer);
+    }
+
+    /**
+     * Returns the current hit/miss/eviction counters of the {@link ClassInformation} cache.
+     */
+    public static ClassInformationCache.Statistics getCacheStatistics() {
+        return classInformationCache.getStatistics();
+    }
+
+    /**
+     * Returns the methods and constructors of other classes that reference the specified class in their
+     * parameters. These are contributed to the class's UI as actions.
+     */
+    static List<Executable> getContributedExecutables(Class<?> clazz) {
+        if (isPrimitive(clazz) || isSystem(clazz)) {
+            return new ArrayList<>();
+        }
+        List<Executable> contributedExecutables = new ArrayList<>(ReferenceIndex.INSTANCE.getReferencingExecutables(clazz));
+        contributedExecutables.forEach(executable -> log.debug("Add contributing " + executable.getClass().getSimpleName()
+                + " for " + clazz.getSimpleName() + ": " + executable));
+        return contributedExecutables;
     }
 
     /**
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.introspection;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Runtime access to the metamodel index generated at build time by {@code guarana-processor}
+ * (resource {@value #INDEX_RESOURCE}). The index lists, for each class compiled with the processor,
+ * its bean properties with the names of their accessors, which allows building {@link com.ogerardin.guarana.core.metamodel.ClassInformation}
+ * without going through {@code java.beans.Introspector}.
+ *
+ * Indexes are loaded lazily, once per class loader. Setting the system property {@value #ENABLED_PROPERTY}
+ * to {@code false} disables the index altogether.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Slf4j
+public final class MetamodelIndex {
+
+    public static final String INDEX_RESOURCE = "META-INF/guarana/metamodel.index";
+    public static final String ENABLED_PROPERTY = "guarana.metamodel.index";
+
+    private static final String NONE = "-";
+
+    private static final Map<ClassLoader, Map<String, List<PropertyEntry>>> indexByClassLoader =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private MetamodelIndex() {
+    }
+
+    /**
+     * Returns true if the specified class is listed in the metamodel index visible from its class loader.
+     */
+    public static boolean isIndexed(Class<?> clazz) {
+        return getEntries(clazz) != null;
+    }
+
+    /**
+     * Returns the indexed properties of the specified class, or null if the class is not indexed.
+     */
+    static List<PropertyEntry> getEntries(Class<?> clazz) {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null || clazz.isArray() || clazz.isPrimitive()) {
+            return null;
+        }
+        return indexByClassLoader.computeIfAbsent(classLoader, MetamodelIndex::load).get(clazz.getName());
+    }
+
+    private static Map<String, List<PropertyEntry>> load(ClassLoader classLoader) {
+        Map<String, List<PropertyEntry>> index = new HashMap<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                log.debug("Loading metamodel index: " + url);
+                load(url, index);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to load metamodel index, falling back to runtime introspection", e);
+            return Collections.emptyMap();
+        }
+        return index;
+    }
+
+    private static void load(URL url, Map<String, List<PropertyEntry>> index) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            List<PropertyEntry> current = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] tokens = line.split(" ");
+                if (tokens[0].equals("class") && tokens.length == 2) {
+                    current = new ArrayList<>();
+                    index.put(tokens[1], current);
+                } else if (tokens[0].equals("property") && tokens.length == 5 && current != null) {
+                    current.add(new PropertyEntry(tokens[1], orNull(tokens[2]), orNull(tokens[3]), orNull(tokens[4])));
+                } else {
+                    log.warn("Ignoring invalid line in " + url + ": " + line);
+                }
+            }
+        }
+    }
+
+    private static String orNull(String token) {
+        return token.equals(NONE) ? null : token;
+    }
+
+    /**
+     * An indexed bean property: property name and accessor names (null if absent).
+     */
+    @Value
+    static class PropertyEntry {
+        String name;
+        String readMethod;
+        String writeMethod;
+        String jfxPropertyMethod;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.introspection;
+
+import com.ogerardin.guarana.core.config.EffectiveClassConfiguration;
+import com.ogerardin.guarana.core.config.Configuration;
+import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.metamodel.ExecutableInformation;
+import com.ogerardin.guarana.core.metamodel.ParameterInformation;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+import io.github.lukehutch.fastclasspathscanner.FastClasspathScanner;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the metamodel of a whole domain graph ahead of time, in parallel. Starting from a set of root classes,
+ * walks the types reachable through properties, generic type arguments and method/constructor signatures, and
+ * for each class: builds its {@link ClassInformation} (properties, methods, constructors, resolved generic
+ * types), its {@link EffectiveClassConfiguration} and its string converter.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Slf4j
+public class MetamodelPrewarmer {
+
+    private static final String[] PLATFORM_PREFIXES = {"javafx.", "jdk.", "com.sun."};
+
+    private final Configuration configuration;
+    private final ForkJoinPool pool;
+    private final Predicate<Class<?>> scope;
+
+    private final Set<Class<?>> visited = ConcurrentHashMap.newKeySet();
+    private final Queue<PrewarmReport.Entry> entries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param configuration configuration to pre-resolve class configurations from, or null to only build the
+     *                      {@link ClassInformation}
+     * @param pool          pool to run the tasks on
+     * @param scope         only classes matching this predicate are walked
+     */
+    public MetamodelPrewarmer(Configuration configuration, ForkJoinPool pool, Predicate<Class<?>> scope) {
+        this.configuration = configuration;
+        this.pool = pool;
+        this.scope = scope;
+    }
+
+    /**
+     * Returns a scope that includes all classes except JDK and JavaFX classes.
+     */
+    public static Predicate<Class<?>> nonPlatformClasses() {
+        return clazz -> !JavaIntrospector.isSystem(clazz)
+                && Arrays.stream(PLATFORM_PREFIXES).noneMatch(prefix -> clazz.getName().startsWith(prefix));
+    }
+
+    /**
+     * Returns a scope that includes the classes of the specified packages and their subpackages.
+     */
+    public static Predicate<Class<?>> packages(String... packageNames) {
+        return clazz -> Arrays.stream(packageNames)
+                .anyMatch(p -> clazz.getPackageName().equals(p) || clazz.getPackageName().startsWith(p + "."));
+    }
+
+    /**
+     * Returns the classes of the specified packages (and their subpackages) found on the classpath. Classes are
+     * loaded without being initialized.
+     */
+    public static List<Class<?>> findClasses(String... packageNames) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : new FastClasspathScanner(packageNames).scan().getNamesOfAllClasses()) {
+            try {
+                classes.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.debug("Failed to load " + className + ": " + e);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Prewarms the specified classes and all classes reachable from them, and waits for completion.
+     */
+    public PrewarmReport prewarm(Collection<Class<?>> roots) {
+        long start = System.nanoTime();
+        List<PrewarmTask> tasks = roots.stream()
+                .map(MetamodelPrewarmer::normalize)
+                .filter(Objects::nonNull)
+                .filter(visited::add)
+                .map(PrewarmTask::new)
+                .collect(Collectors.toList());
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+
+        PrewarmReport report = new PrewarmReport(new ArrayList<>(entries), elapsed);
+        log.debug("Metamodel prewarm done: {}", report);
+        return report;
+    }
+
+    /**
+     * Prewarms one class and forks tasks for newly discovered classes.
+     */
+    private class PrewarmTask extends RecursiveAction {
+        private final Class<?> clazz;
+
+        PrewarmTask(Class<?> clazz) {
+            this.clazz = clazz;
+        }
+
+        @Override
+        protected void compute() {
+            Set<Class<?>> referenced;
+            long start = System.nanoTime();
+            try {
+                referenced = prewarm(clazz);
+            } catch (Exception | LinkageError e) {
+                log.warn("Failed to prewarm " + clazz + ": " + e);
+                return;
+            } finally {
+                entries.add(new PrewarmReport.Entry(clazz, System.nanoTime() - start));
+            }
+
+            List<PrewarmTask> subtasks = referenced.stream()
+                    .map(MetamodelPrewarmer::normalize)
+                    .filter(Objects::nonNull)
+                    .filter(scope)
+                    .filter(visited::add)
+                    .map(PrewarmTask::new)
+                    .collect(Collectors.toList());
+            invokeAll(subtasks);
+        }
+    }
+
+    /**
+     * Builds everything Guarana needs to display the specified class and returns the classes it references.
+     */
+    private <C> Set<Class<?>> prewarm(Class<C> clazz) {
+        ClassSet referenced = new ClassSet();
+
+        ClassInformation<C> classInformation = JavaIntrospector.getClassInformation(clazz);
+        for (PropertyInformation property : classInformation.getProperties()) {
+            referenced.add(property.getPropertyType());
+            referenced.addParameterized(property.getTypeInformation().getGenericType());
+        }
+        for (ExecutableInformation executable : classInformation.getMethods()) {
+            addSignature(referenced, executable);
+        }
+        for (ExecutableInformation executable : classInformation.getConstructors()) {
+            addSignature(referenced, executable);
+        }
+
+        if (configuration != null) {
+            configuration.getEffectiveConfiguration(clazz);
+            if (!clazz.isInterface()) {
+                configuration.forClass(clazz).getStringConverter();
+            }
+        }
+        return referenced;
+    }
+
+    private static void addSignature(ClassSet referenced, ExecutableInformation executableInformation) {
+        Executable executable = executableInformation.getExecutable();
+        if (executable instanceof Method) {
+            referenced.addParameterized(((Method) executable).getGenericReturnType());
+        }
+        for (ParameterInformation parameter : executableInformation.getParameters()) {
+            referenced.add(parameter.getType());
+            referenced.addParameterized(parameter.getTypeInformation().getGenericType());
+        }
+    }
+
+    /**
+     * Returns the class to prewarm for the specified referenced class: its component type for an array, nothing for
+     * a primitive type.
+     */
+    private static Class<?> normalize(Class<?> clazz) {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        return clazz.isPrimitive() ? null : clazz;
+    }
+}
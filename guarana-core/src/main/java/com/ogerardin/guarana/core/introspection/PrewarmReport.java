@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.introspection;
+
+import lombok.Value;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a metamodel prewarm: the time spent on each class, and the total elapsed time.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Value
+public class PrewarmReport {
+
+    /**
+     * One entry per prewarmed class, most expensive first
+     */
+    List<Entry> entries;
+    long elapsedNanos;
+
+    public PrewarmReport(List<Entry> entries, long elapsedNanos) {
+        this.entries = entries.stream()
+                .sorted(Comparator.comparingLong(Entry::getNanos).reversed())
+                .collect(Collectors.toUnmodifiableList());
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getClassCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the sum of the time spent on each class, which exceeds the elapsed time when classes were
+     * processed in parallel.
+     */
+    public long getTotalNanos() {
+        return entries.stream().mapToLong(Entry::getNanos).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getClassCount()).append(" classes in ")
+                .append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append("ms (cumulated ")
+                .append(TimeUnit.NANOSECONDS.toMillis(getTotalNanos())).append("ms)");
+        for (Entry entry : entries) {
+            sb.append(String.format("%n  %8.3fms %s", entry.getNanos() / 1e6, entry.getJavaClass().getName()));
+        }
+        return sb.toString();
+    }
+
+    @Value
+    public static class Entry {
+        Class<?> javaClass;
+        /**
+         * Time spent building the metamodel and configuration of this class
+         */
+        long nanos;
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.introspection;
+
+import io.github.lukehutch.fastclasspathscanner.FastClasspathScanner;
+import io.github.lukehutch.fastclasspathscanner.scanner.ClassInfo;
+import io.github.lukehutch.fastclasspathscanner.scanner.ScanResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Executable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reverse-reference index: for each type, the classes whose fields or method parameters use that type.
+ * Used to find the executables (methods and constructors) "contributed" to a class by other classes.
+ *
+ * The classpath is scanned only once per JVM, the first time the index is needed or in the background
+ * if {@link #buildInBackground()} is called at startup. The scan can be restricted to a set of package roots
+ * ({@code guarana.scanPackages}) and its result can be persisted to a cache file ({@code guarana.referenceIndexCache});
+ * the cache is keyed by a fingerprint of the classpath so that it is discarded as soon as the classpath changes.
+ *
+ * Referencing classes are only loaded when the executables contributed to a given type are requested, and they are
+ * loaded without being initialized. The executables found for a type are cached in a {@link ClassValue}, so that the
+ * cache doesn't prevent the type from being unloaded; {@link #invalidateLayer(ModuleLayer)} drops the entries that
+ * involve the classes of a layer.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Slf4j
+public enum ReferenceIndex {
+
+    INSTANCE;
+
+    private static final String FINGERPRINT_KEY = ".fingerprint";
+
+    private volatile List<String> packageRoots = Collections.emptyList();
+    private volatile Path cacheFile = null;
+
+    /**
+     * type name -> names of referencing classes
+     */
+    private CompletableFuture<Map<String, Set<String>>> index = null;
+
+    /**
+     * Executables that reference each type; replaced by {@link #reset()}
+     */
+    private volatile ClassValue<List<Executable>> executablesByType = newExecutablesByType();
+    /**
+     * Types currently cached, used for bulk invalidation. Weak keys so that classes can still be unloaded.
+     */
+    private final Map<Class<?>, Boolean> indexedTypes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Restricts the classpath scan to the specified packages (and their subpackages). Must be called before the index
+     * is built; setting the same packages again has no effect.
+     */
+    public synchronized void setPackageRoots(String... packageRoots) {
+        List<String> roots = Arrays.stream(packageRoots)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+        if (roots.equals(this.packageRoots)) {
+            return;
+        }
+        if (index != null) {
+            log.warn("Reference index already built; package roots will only apply after reset()");
+        }
+        this.packageRoots = roots;
+    }
+
+    /**
+     * Sets the file used to persist the index across runs, or null to disable persistence.
+     */
+    public void setCacheFile(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Starts building the index in a background thread, if not already built or being built.
+     */
+    public synchronized CompletableFuture<Void> buildInBackground() {
+        if (index == null) {
+            index = CompletableFuture.supplyAsync(this::loadOrScan, runnable -> {
+                Thread thread = new Thread(runnable, "guarana-reference-index");
+                thread.setDaemon(true);
+                thread.start();
+            });
+        }
+        return index.thenApply(i -> null);
+    }
+
+    /**
+     * Discards the index, so that it will be rebuilt on next access.
+     */
+    public synchronized void reset() {
+        index = null;
+        executablesByType = newExecutablesByType();
+        indexedTypes.clear();
+    }
+
+    /**
+     * Discards the executables cached for the specified type, if any.
+     */
+    public void invalidate(Class<?> type) {
+        indexedTypes.remove(type);
+        executablesByType.remove(type);
+    }
+
+    /**
+     * Discards the executables cached for the types defined in modules of the specified layer, and those cached for
+     * other types that include executables of classes of the layer.
+     */
+    public void invalidateLayer(ModuleLayer layer) {
+        List<Class<?>> types;
+        synchronized (indexedTypes) {
+            types = new ArrayList<>(indexedTypes.keySet());
+        }
+        ClassValue<List<Executable>> executablesByType = this.executablesByType;
+        types.stream()
+                .filter(type -> type.getModule().getLayer() == layer
+                        || executablesByType.get(type).stream()
+                        .anyMatch(executable -> executable.getDeclaringClass().getModule().getLayer() == layer))
+                .forEach(this::invalidate);
+    }
+
+    private ClassValue<List<Executable>> newExecutablesByType() {
+        return new ClassValue<>() {
+            @Override
+            protected List<Executable> computeValue(Class<?> type) {
+                List<Executable> executables = findReferencingExecutables(type);
+                indexedTypes.put(type, Boolean.TRUE);
+                return executables;
+            }
+        };
+    }
+
+    /**
+     * Returns the public methods and constructors of other classes that reference the specified type in their
+     * parameters.
+     */
+    public List<Executable> getReferencingExecutables(Class<?> type) {
+        return executablesByType.get(type);
+    }
+
+    private List<Executable> findReferencingExecutables(Class<?> type) {
+        Set<String> referencingClassNames = getIndex().getOrDefault(type.getName(), Collections.emptySet());
+        List<Executable> executables = new ArrayList<>();
+        for (String className : referencingClassNames) {
+            Class<?> referencingClass = loadClass(className, type);
+            if (referencingClass == null) {
+                continue;
+            }
+            log.debug("" + referencingClass + " references " + type);
+            Stream.concat(Arrays.stream(referencingClass.getMethods()), Arrays.stream(referencingClass.getConstructors()))
+                    .filter(executable -> JavaIntrospector.executableReferences(executable, type))
+                    .forEach(executables::add);
+        }
+        return Collections.unmodifiableList(executables);
+    }
+
+    private static Class<?> loadClass(String className, Class<?> referencedType) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = referencedType.getClassLoader();
+        }
+        try {
+            // don't run static initializers of classes we only want to reflect on
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.debug("Failed to load referencing class " + className + ": " + e);
+            return null;
+        }
+    }
+
+    private Map<String, Set<String>> getIndex() {
+        CompletableFuture<Map<String, Set<String>>> future;
+        synchronized (this) {
+            if (index == null) {
+                index = CompletableFuture.completedFuture(loadOrScan());
+            }
+            future = index;
+        }
+        return future.join();
+    }
+
+    private Map<String, Set<String>> loadOrScan() {
+        Path cacheFile = this.cacheFile;
+        if (cacheFile == null) {
+            return scan();
+        }
+
+        String fingerprint = getClasspathFingerprint();
+        Map<String, Set<String>> cached = readCache(cacheFile, fingerprint);
+        if (cached != null) {
+            log.debug("Reference index loaded from cache: " + cacheFile);
+            return cached;
+        }
+
+        Map<String, Set<String>> scanned = scan();
+        writeCache(cacheFile, fingerprint, scanned);
+        return scanned;
+    }
+
+    private Map<String, Set<String>> scan() {
+        long start = System.currentTimeMillis();
+        FastClasspathScanner scanner = new FastClasspathScanner(packageRoots.toArray(new String[0]));
+        scanner.enableFieldTypeIndexing();
+        ScanResult scanResult = scanner.scan();
+
+        Map<String, Set<String>> index = new HashMap<>();
+        for (ClassInfo classInfo : scanResult.getClassNameToClassInfo().values()) {
+            for (String fieldType : classInfo.getFieldTypes()) {
+                index.computeIfAbsent(fieldType, k -> new HashSet<>()).add(classInfo.getClassName());
+            }
+        }
+        log.debug("Reference index built in " + (System.currentTimeMillis() - start) + "ms ("
+                + index.size() + " referenced types)");
+        return index;
+    }
+
+    private Map<String, Set<String>> readCache(Path cacheFile, String fingerprint) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            log.warn("Failed to read reference index cache " + cacheFile + ": " + e);
+            return null;
+        }
+        if (!fingerprint.equals(properties.getProperty(FINGERPRINT_KEY))) {
+            log.debug("Reference index cache is stale: " + cacheFile);
+            return null;
+        }
+        properties.remove(FINGERPRINT_KEY);
+
+        Map<String, Set<String>> index = new HashMap<>();
+        for (String type : properties.stringPropertyNames()) {
+            index.put(type, new HashSet<>(Arrays.asList(properties.getProperty(type).split(","))));
+        }
+        return index;
+    }
+
+    private void writeCache(Path cacheFile, String fingerprint, Map<String, Set<String>> index) {
+        Properties properties = new Properties();
+        properties.setProperty(FINGERPRINT_KEY, fingerprint);
+        index.forEach((type, classNames) -> properties.setProperty(type, String.join(",", classNames)));
+        try {
+            Path directory = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Guarana reference index cache");
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write reference index cache " + cacheFile + ": " + e);
+        }
+    }
+
+    /**
+     * Computes a fingerprint of the current classpath and module path (paths, sizes and modification dates of all
+     * entries) and of the package roots.
+     */
+    private String getClasspathFingerprint() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        update(digest, String.join(",", packageRoots));
+        for (String property : new String[]{"java.class.path", "jdk.module.path"}) {
+            String path = System.getProperty(property);
+            if (path == null) {
+                continue;
+            }
+            for (String element : path.split(File.pathSeparator)) {
+                update(digest, element);
+                Path elementPath = Path.of(element);
+                if (Files.isDirectory(elementPath)) {
+                    try (Stream<Path> files = Files.walk(elementPath)) {
+                        files.filter(Files::isRegularFile).sorted().forEach(f -> update(digest, f));
+                    } catch (IOException e) {
+                        log.debug("Failed to walk " + elementPath + ": " + e);
+                    }
+                } else {
+                    update(digest, elementPath);
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Path file) {
+        File f = file.toFile();
+        update(digest, f.getPath() + ":" + f.length() + ":" + f.lastModified());
+    }
+
+    private static void update(MessageDigest digest, String s) {
+        digest.update(s.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.introspection;
+
+import com.ogerardin.guarana.core.metamodel.Introspector;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link Introspector} that derives properties directly from the public methods of the class,
+ * following the JavaBeans naming rules, without going through {@link java.beans.Introspector}. No
+ * {@link java.beans.BeanInfo} or {@link java.beans.PropertyDescriptor} is created or retained.
+ *
+ * In addition to JavaBeans getters/setters:
+ * <ul>
+ * <li>the components of a record are read-only properties, read through their accessor</li>
+ * <li>a method {@code xxxProperty()} (JavaFX convention) or {@code getXxxProperty()} is associated with property
+ * {@code xxx} as its JavaFX property</li>
+ * </ul>
+ *
+ * @param <C> the type of class being introspected
+ * @author oge
+ * @since 1.0
+ */
+public class ReflectionClassIntrospector<C> implements Introspector<C> {
+
+    private static final String JAVAFX_PROPERTY_SUFFIX = "Property";
+
+    private final Class<C> clazz;
+
+    private List<Executable> contributedExecutables = null;
+
+    /**
+     * Creates a new introspector for the specified class.
+     */
+    public ReflectionClassIntrospector(Class<C> clazz) {
+        this.clazz = clazz;
+    }
+
+    @Override
+    public List<Method> getMethods() {
+        // like java.beans, leave out bridge methods
+        return Arrays.stream(clazz.getMethods())
+                .filter(m -> !m.isBridge())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Constructor<C>> getConstructors() {
+        @SuppressWarnings("unchecked")
+        Constructor<C>[] constructors = (Constructor<C>[]) clazz.getConstructors();
+        return Arrays.asList(constructors);
+    }
+
+    @Override
+    public List<PropertyInformation> getProperties() {
+        Method[] methods = Arrays.stream(clazz.getMethods())
+                .filter(m -> !m.isBridge() && !Modifier.isStatic(m.getModifiers()))
+                .toArray(Method[]::new);
+
+        // properties in name order, like java.beans
+        Map<String, Accessors> accessorsByName = new TreeMap<>();
+
+        // record components first: their accessor is the getter
+        if (clazz.isRecord()) {
+            for (RecordComponent component : clazz.getRecordComponents()) {
+                Method accessor = component.getAccessor();
+                if (Modifier.isPublic(accessor.getModifiers())) {
+                    Accessors accessors = accessorsByName.computeIfAbsent(component.getName(), n -> new Accessors());
+                    accessors.readMethod = accessor;
+                    accessors.record = true;
+                }
+            }
+        }
+
+        // getters: they determine the property type
+        for (Method method : methods) {
+            if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+                continue;
+            }
+            String methodName = method.getName();
+            String propertyName;
+            if (methodName.startsWith("get")) {
+                propertyName = decapitalize(methodName.substring(3));
+            } else if (methodName.startsWith("is") && method.getReturnType() == boolean.class) {
+                propertyName = decapitalize(methodName.substring(2));
+            } else {
+                continue;
+            }
+            if (propertyName.isEmpty()) {
+                continue;
+            }
+            Accessors accessors = accessorsByName.computeIfAbsent(propertyName, n -> new Accessors());
+            if (accessors.record) {
+                continue;
+            }
+            // like java.beans, "is" wins over "get"
+            if (accessors.readMethod == null || methodName.startsWith("is")) {
+                accessors.readMethod = method;
+            }
+        }
+
+        // setters
+        for (Method method : methods) {
+            String methodName = method.getName();
+            if (method.getParameterCount() != 1 || method.getReturnType() != void.class
+                    || !methodName.startsWith("set")) {
+                continue;
+            }
+            String propertyName = decapitalize(methodName.substring(3));
+            if (propertyName.isEmpty()) {
+                continue;
+            }
+            Accessors accessors = accessorsByName.computeIfAbsent(propertyName, n -> new Accessors());
+            if (accessors.record) {
+                continue;
+            }
+            Class<?> parameterType = method.getParameterTypes()[0];
+            if (accessors.readMethod == null) {
+                // write-only property: keep the first setter
+                if (accessors.writeMethod == null) {
+                    accessors.writeMethod = method;
+                }
+            } else if (parameterType == accessors.readMethod.getReturnType()) {
+                accessors.writeMethod = method;
+            } else if (accessors.writeMethod == null && parameterType.isAssignableFrom(accessors.readMethod.getReturnType())) {
+                // e.g. covariant getter
+                accessors.writeMethod = method;
+            }
+        }
+
+        // JavaFX property methods
+        for (Method method : methods) {
+            String methodName = method.getName();
+            if (method.getParameterCount() != 0 || !methodName.endsWith(JAVAFX_PROPERTY_SUFFIX)) {
+                continue;
+            }
+            String baseName = methodName.substring(0, methodName.length() - JAVAFX_PROPERTY_SUFFIX.length());
+            if (baseName.startsWith("get")) {
+                baseName = decapitalize(baseName.substring(3));
+            }
+            Accessors accessors = accessorsByName.get(baseName);
+            // prefer the JavaFX convention xxxProperty() over getXxxProperty()
+            if (accessors != null && (accessors.jfxPropertyMethod == null || !methodName.startsWith("get"))) {
+                accessors.jfxPropertyMethod = method;
+            }
+        }
+
+        List<PropertyInformation> properties = new ArrayList<>(accessorsByName.size());
+        accessorsByName.forEach((name, accessors) -> {
+            // like JavaClassIntrospector, properties named xxxProperty are only used as JavaFX properties
+            if (name.endsWith(JAVAFX_PROPERTY_SUFFIX)) {
+                return;
+            }
+            Class<?> propertyType = accessors.readMethod != null
+                    ? accessors.readMethod.getReturnType()
+                    : accessors.writeMethod.getParameterTypes()[0];
+            properties.add(new PropertyInformation(clazz, name, propertyType,
+                    accessors.readMethod, accessors.writeMethod, accessors.jfxPropertyMethod));
+        });
+        return properties;
+    }
+
+    /**
+     * Same as {@link java.beans.Introspector#decapitalize(String)}: "FooBah" becomes "fooBah", but "URL" stays
+     * "URL".
+     */
+    static String decapitalize(String name) {
+        if (name.isEmpty()) {
+            return name;
+        }
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        char[] chars = name.toCharArray();
+        chars[0] = Character.toLowerCase(chars[0]);
+        return new String(chars);
+    }
+
+    @Override
+    public Collection<Executable> getContributedExecutables() {
+        if (contributedExecutables == null) {
+            contributedExecutables = JavaIntrospector.getContributedExecutables(clazz);
+        }
+        return contributedExecutables;
+    }
+
+    @Override
+    public boolean isService() {
+        return JavaIntrospector.isService(clazz);
+    }
+
+    @Override
+    public String getSimpleName() {
+        return clazz.getSimpleName();
+    }
+
+    @Override
+    public String getDisplayName() {
+        // same as the default display name of a java.beans.BeanDescriptor
+        String name = clazz.getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Accessors found for one property name, used while scanning methods.
+     */
+    private static class Accessors {
+        Method readMethod;
+        Method writeMethod;
+        Method jfxPropertyMethod;
+        boolean record;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.introspection;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves generic types declared by methods and parameters against a concrete owner class. Handles type variables
+ * bound in subclasses (e.g. {@code List<T> getItems()} declared in {@code Base<T>} and inherited by
+ * {@code Sub extends Base<Person>}), bounded wildcards, generic arrays and collection types that fix their type
+ * arguments in a superclass (e.g. {@code class PersonList extends ArrayList<Person>}).
+ *
+ * @author oge
+ * @since 1.0
+ */
+public final class TypeResolver {
+
+    private final Map<TypeVariable<?>, Type> bindings;
+
+    private TypeResolver(Map<TypeVariable<?>, Type> bindings) {
+        this.bindings = bindings;
+    }
+
+    /**
+     * Returns a resolver for the type variables of the specified class's superclasses and interfaces, as bound by
+     * the class hierarchy.
+     */
+    public static TypeResolver forClass(Class<?> owner) {
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        if (owner != null) {
+            collectBindings(owner, bindings);
+        }
+        return new TypeResolver(bindings);
+    }
+
+    private static void collectBindings(Class<?> clazz, Map<TypeVariable<?>, Type> bindings) {
+        if (clazz.getGenericSuperclass() != null) {
+            collectBindings(clazz.getGenericSuperclass(), bindings);
+        }
+        for (Type type : clazz.getGenericInterfaces()) {
+            collectBindings(type, bindings);
+        }
+    }
+
+    private static void collectBindings(Type supertype, Map<TypeVariable<?>, Type> bindings) {
+        Class<?> rawType = rawClass(supertype);
+        if (supertype instanceof ParameterizedType) {
+            TypeVariable<?>[] variables = rawType.getTypeParameters();
+            Type[] arguments = ((ParameterizedType) supertype).getActualTypeArguments();
+            TypeResolver resolver = new TypeResolver(bindings);
+            for (int i = 0; i < variables.length; i++) {
+                bindings.putIfAbsent(variables[i], resolver.resolve(arguments[i]));
+            }
+        }
+        collectBindings(rawType, bindings);
+    }
+
+    /**
+     * Replaces the type variables of the specified type that are bound by the owner class with their value, and
+     * wildcards with their bound. Only top-level types and array components are replaced; type arguments of a
+     * parameterized type are resolved by {@link #resolveTypeArgument}.
+     */
+    public Type resolve(Type type) {
+        if (type instanceof TypeVariable) {
+            Type bound = bindings.get(type);
+            return bound != null ? bound : type;
+        }
+        if (type instanceof WildcardType) {
+            // a wildcard stands for its lower bound if any (the type that elements must conform to), otherwise its
+            // upper bound
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] bounds = wildcardType.getLowerBounds().length > 0
+                    ? wildcardType.getLowerBounds()
+                    : wildcardType.getUpperBounds();
+            return bounds.length == 0 ? Object.class : resolve(bounds[0]);
+        }
+        if (type instanceof GenericArrayType) {
+            Type component = resolve(((GenericArrayType) type).getGenericComponentType());
+            if (component instanceof Class) {
+                return Array.newInstance((Class<?>) component, 0).getClass();
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Returns the class of the specified type after resolution: the raw type of a parameterized type, the upper bound
+     * of a type variable, the lower bound of a wildcard if any (the type that elements must conform to) or else its
+     * upper bound.
+     */
+    public Class<?> resolveClass(Type type) {
+        return rawClass(resolve(type));
+    }
+
+    /**
+     * Returns the class of the specified type argument of {@code target} as implemented by the specified type, e.g.
+     * {@code Person.class} for target {@code Collection.class}, index 0 and type {@code PersonList} or
+     * {@code Set<? extends Person>}. Returns {@code Object.class} if the argument can't be determined (e.g. raw type),
+     * or null if the type is not a subtype of {@code target}.
+     */
+    public Class<?> resolveTypeArgument(Type type, Class<?> target, int index) {
+        Type resolved = resolve(type);
+        Class<?> rawType = rawClass(resolved);
+        if (rawType == null || !target.isAssignableFrom(rawType)) {
+            return null;
+        }
+        Type argument = findTypeArgument(resolved, target, index, new HashMap<>(bindings));
+        Class<?> argumentClass = argument == null ? null : rawClass(argument);
+        return argumentClass != null ? argumentClass : Object.class;
+    }
+
+    private static Type findTypeArgument(Type type, Class<?> target, int index, Map<TypeVariable<?>, Type> bindings) {
+        Class<?> rawType = rawClass(type);
+        TypeResolver resolver = new TypeResolver(bindings);
+        if (type instanceof ParameterizedType) {
+            TypeVariable<?>[] variables = rawType.getTypeParameters();
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            for (int i = 0; i < variables.length; i++) {
+                bindings.put(variables[i], resolver.resolve(arguments[i]));
+            }
+        }
+        if (rawType == target) {
+            if (!(type instanceof ParameterizedType)) {
+                // raw type
+                return null;
+            }
+            return resolver.resolve(((ParameterizedType) type).getActualTypeArguments()[index]);
+        }
+        Type superclass = rawType.getGenericSuperclass();
+        if (superclass != null && target.isAssignableFrom(rawClass(superclass))) {
+            return findTypeArgument(superclass, target, index, bindings);
+        }
+        for (Type supertype : rawType.getGenericInterfaces()) {
+            if (target.isAssignableFrom(rawClass(supertype))) {
+                return findTypeArgument(supertype, target, index, bindings);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the class corresponding to the specified type, without resolving type variables.
+     */
+    public static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            Class<?> component = rawClass(((GenericArrayType) type).getGenericComponentType());
+            return component == null ? null : Array.newInstance(component, 0).getClass();
+        }
+        if (type instanceof TypeVariable) {
+            Type[] bounds = ((TypeVariable<?>) type).getBounds();
+            return bounds.length == 0 ? Object.class : rawClass(bounds[0]);
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            if (lowerBounds.length > 0) {
+                return rawClass(lowerBounds[0]);
+            }
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            return upperBounds.length == 0 ? Object.class : rawClass(upperBounds[0]);
+        }
+        return null;
+    }
+}
@@ -7,8 +7,12 @@ package com.ogerardin.guarana.core.metamodel;
 import lombok.NonNull;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -25,10 +29,12 @@ public class ClassInformation<C> {
     private final String simpleClassName;
     private final String displayName;
 
-    private List<ExecutableInformation> methods = null;
-    private List<ExecutableInformation> constructors = null;
+    private volatile List<ExecutableInformation> methods = null;
+    private volatile List<ExecutableInformation> constructors = null;
 
-    private List<PropertyInformation> properties = null;
+    private volatile List<PropertyInformation> properties = null;
+
+    private volatile Lookups lookups = null;
 
 
     public ClassInformation(Class<C> clazz, Introspector<C> introspector) {
@@ -52,41 +58,170 @@ public class ClassInformation<C> {
 
     public List<ExecutableInformation> getMethods() {
         if (methods == null) {
-            methods = introspector.getMethods().stream()
-                    .map(ExecutableInformation::new)
-                    .collect(Collectors.toList());
+            synchronized (this) {
+                if (methods == null) {
+                    methods = introspector.getMethods().stream()
+                            .map(executable -> new ExecutableInformation(executable, javaClass))
+                            .collect(Collectors.toUnmodifiableList());
+                }
+            }
         }
         return methods;
     }
 
     public List<ExecutableInformation> getConstructors() {
         if (constructors == null) {
-            //noinspection RedundantTypeArguments
-            constructors = introspector.getConstructors().stream()
-                    .map(ExecutableInformation::new)
-                    .collect(Collectors.toList());
+            synchronized (this) {
+                if (constructors == null) {
+                    //noinspection RedundantTypeArguments
+                    constructors = introspector.getConstructors().stream()
+                            .map(executable -> new ExecutableInformation(executable, javaClass))
+                            .collect(Collectors.toUnmodifiableList());
+                }
+            }
         }
         return constructors;
     }
 
     public List<PropertyInformation> getProperties() {
         if (properties == null) {
-//            properties = introspector.getPropertyDescriptors().stream()
-//                    .map(PropertyInformation::new)
-//                    .collect(Collectors.toList());
-            properties = introspector.getProperties();
+            synchronized (this) {
+                if (properties == null) {
+                    properties = List.copyOf(introspector.getProperties());
+                }
+            }
         }
         return properties;
     }
 
+    /**
+     * Returns the property for which the specified method is the setter, if any. This is a constant-time lookup,
+     * suitable for calling on each intercepted method call.
+     */
     public Optional<PropertyInformation> propertyForSetter(@NonNull Method method) {
-        return getProperties().stream()
-                .filter(pi -> method.equals(pi.getWriteMethod()))
-                .findAny();
+        Optional<PropertyInformation> property = getLookups().propertyBySetter.get(method);
+        return property != null && property.isPresent() ? property : getLookups().resolveBySignature(method, true);
+    }
+
+    /**
+     * Returns the property for which the specified method is the getter, if any.
+     */
+    public Optional<PropertyInformation> propertyForGetter(@NonNull Method method) {
+        PropertyInformation property = getLookups().propertyByGetter.get(method);
+        return property != null ? Optional.of(property) : getLookups().resolveBySignature(method, false);
+    }
+
+    /**
+     * Returns the property with the specified name, if any.
+     */
+    public Optional<PropertyInformation> getProperty(@NonNull String name) {
+        return Optional.ofNullable(getLookups().propertyByName.get(name));
+    }
+
+    /**
+     * Returns the ordinal of the property with the specified name, i.e. its index in {@link #getProperties()}, or -1
+     * if there is no such property.
+     */
+    public int getPropertyOrdinal(@NonNull String name) {
+        return getLookups().ordinalByName.getOrDefault(name, -1);
+    }
+
+    /**
+     * Returns the method or constructor with the specified signature (as returned by
+     * {@link ExecutableInformation#getSignature()}), if any.
+     */
+    public Optional<ExecutableInformation> getExecutable(@NonNull String signature) {
+        return Optional.ofNullable(getLookups().executableBySignature.get(signature));
     }
 
+    private Lookups getLookups() {
+        Lookups result = lookups;
+        if (result == null) {
+            synchronized (this) {
+                result = lookups;
+                if (result == null) {
+                    result = new Lookups(getMethods(), getConstructors(), getProperties());
+                    lookups = result;
+                }
+            }
+        }
+        return result;
+    }
 
     public boolean isService() {
         return introspector.isService();
     }
+
+    /**
+     * Immutable lookup tables, built once from the lists of methods, constructors and properties.
+     * Methods are compared with {@link Method#equals}, not identity, because proxies pass their own copies of
+     * the {@link Method} objects.
+     */
+    private static class Lookups {
+        /**
+         * Contains every public method of the class, mapped to {@link Optional#empty()} for non-setters,
+         * so that repeated "not a setter" lookups don't allocate anything.
+         */
+        private final Map<Method, Optional<PropertyInformation>> propertyBySetter;
+        private final Map<Method, PropertyInformation> propertyByGetter;
+        private final Map<String, PropertyInformation> propertyByName;
+        private final Map<String, Integer> ordinalByName;
+        private final Map<String, ExecutableInformation> executableBySignature;
+        /**
+         * Properties of accessors that are not the methods the properties were introspected from: the bridge methods
+         * javac generates in a public class for the public methods it inherits from a non-public class, and the
+         * inherited methods themselves (which is what a generated subclass sees)
+         */
+        private final Map<Method, Optional<PropertyInformation>> propertyBySetterSignature = new ConcurrentHashMap<>();
+        private final Map<Method, Optional<PropertyInformation>> propertyByGetterSignature = new ConcurrentHashMap<>();
+        private final List<PropertyInformation> properties;
+
+        Lookups(List<ExecutableInformation> methods, List<ExecutableInformation> constructors,
+                List<PropertyInformation> properties) {
+            Map<Method, Optional<PropertyInformation>> propertyBySetter = new HashMap<>();
+            Map<Method, PropertyInformation> propertyByGetter = new HashMap<>();
+            Map<String, PropertyInformation> propertyByName = new HashMap<>();
+            Map<String, Integer> ordinalByName = new HashMap<>();
+            for (int i = 0; i < properties.size(); i++) {
+                PropertyInformation property = properties.get(i);
+                propertyByName.put(property.getName(), property);
+                ordinalByName.put(property.getName(), i);
+                if (property.getWriteMethod() != null) {
+                    propertyBySetter.put(property.getWriteMethod(), Optional.of(property));
+                }
+                if (property.getReadMethod() != null) {
+                    propertyByGetter.put(property.getReadMethod(), property);
+                }
+            }
+
+            Map<String, ExecutableInformation> executableBySignature = new HashMap<>();
+            for (ExecutableInformation executable : methods) {
+                executableBySignature.put(executable.getSignature(), executable);
+                propertyBySetter.putIfAbsent((Method) executable.getExecutable(), Optional.empty());
+            }
+            for (ExecutableInformation executable : constructors) {
+                executableBySignature.put(executable.getSignature(), executable);
+            }
+
+            this.propertyBySetter = Map.copyOf(propertyBySetter);
+            this.propertyByGetter = Map.copyOf(propertyByGetter);
+            this.propertyByName = Map.copyOf(propertyByName);
+            this.ordinalByName = Map.copyOf(ordinalByName);
+            this.executableBySignature = Map.copyOf(executableBySignature);
+            this.properties = properties;
+        }
+
+        Optional<PropertyInformation> resolveBySignature(Method method, boolean setter) {
+            Map<Method, Optional<PropertyInformation>> cache = setter ? propertyBySetterSignature : propertyByGetterSignature;
+            return cache.computeIfAbsent(method, m -> properties.stream()
+                    .filter(property -> sameSignature(m, setter ? property.getWriteMethod() : property.getReadMethod()))
+                    .findFirst());
+        }
+
+        private static boolean sameSignature(Method method, Method accessor) {
+            return accessor != null && accessor.getName().equals(method.getName())
+                    && Arrays.equals(accessor.getParameterTypes(), method.getParameterTypes())
+                    && method.getDeclaringClass().isAssignableFrom(accessor.getDeclaringClass());
+        }
+    }
 }
@@ -13,6 +13,7 @@ import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -27,24 +28,38 @@ import java.util.List;
 public class ExecutableInformation {
 
     private final Executable executable;
-    private final List<ParameterInformation> parameters;
+    private final Class<?> ownerClass;
+
+    // computed on first use
+    @ToString.Exclude
+    private volatile List<ParameterInformation> parameters;
+    @ToString.Exclude
+    private volatile InjectionPlan injectionPlan;
 
     public ExecutableInformation(Executable executable) {
+        this(executable, null);
+    }
+
+    /**
+     * @param ownerClass class the executable was obtained from, against which generic parameter types are
+     *                   resolved; null for the declaring class
+     */
+    public ExecutableInformation(Executable executable, Class<?> ownerClass) {
         this.executable = executable;
-        this.parameters = parseParameters(executable);
+        this.ownerClass = ownerClass;
     }
 
     public ExecutableInformation(MethodDescriptor methodDescriptor) {
         this(methodDescriptor.getMethod());
     }
 
-    private List<ParameterInformation> parseParameters(Executable executable) {
+    private List<ParameterInformation> parseParameters(Executable executable, Class<?> ownerClass) {
 //        log.debug("parsing parameters of: " + executable);
         List<ParameterInformation> list = new ArrayList<>();
         for (Parameter parameter : executable.getParameters()) {
-            list.add(new ParameterInformation(parameter));
+            list.add(new ParameterInformation(parameter, ownerClass));
         }
-        return list;
+        return Collections.unmodifiableList(list);
     }
 
 
@@ -55,6 +70,27 @@ public class ExecutableInformation {
                 || (methodName.startsWith("set") && paramCount == 1);
     }
 
+    public List<ParameterInformation> getParameters() {
+        List<ParameterInformation> result = parameters;
+        if (result == null) {
+            result = parseParameters(executable, ownerClass);
+            parameters = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns which arguments of this executable are services to be injected. Computed once.
+     */
+    public InjectionPlan getInjectionPlan() {
+        InjectionPlan result = injectionPlan;
+        if (result == null) {
+            result = new InjectionPlan(getParameters());
+            injectionPlan = result;
+        }
+        return result;
+    }
+
     public Executable getExecutable() {
         return executable;
     }
@@ -63,6 +99,29 @@ public class ExecutableInformation {
         return executable.getName();
     }
 
+    /**
+     * Returns a string that identifies this executable within its class: the method name (or {@code <init>} for
+     * a constructor) followed by the fully qualified parameter type names, e.g. {@code setName(java.lang.String)}.
+     */
+    public String getSignature() {
+        return getSignature(executable);
+    }
+
+    public static String getSignature(Executable executable) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(executable instanceof Constructor ? "<init>" : executable.getName());
+        sb.append('(');
+        final Class<?>[] parameterTypes = executable.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            sb.append(parameterTypes[i].getTypeName());
+            if (i < parameterTypes.length - 1) {
+                sb.append(",");
+            }
+        }
+        sb.append(')');
+        return sb.toString();
+    }
+
 
     public boolean isMethod() {
         return executable instanceof Method;
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.metamodel;
+
+import com.ogerardin.guarana.core.annotations.Service;
+import com.ogerardin.guarana.core.registry.ServiceRegistry;
+import lombok.ToString;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Describes which arguments of a method or constructor are {@link Service}s, to be filled from the
+ * {@link ServiceRegistry} rather than entered by the user. Computed once per {@link ExecutableInformation}.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@ToString
+public final class InjectionPlan {
+
+    private final Class<?>[] parameterTypes;
+    private final BitSet serviceSlots;
+
+    InjectionPlan(List<ParameterInformation> parameters) {
+        this.parameterTypes = new Class<?>[parameters.size()];
+        this.serviceSlots = new BitSet(parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            ParameterInformation parameter = parameters.get(i);
+            parameterTypes[i] = parameter.getType();
+            if (parameter.isInjected()) {
+                serviceSlots.set(i);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the argument at the specified position is a service.
+     */
+    public boolean isService(int index) {
+        return serviceSlots.get(index);
+    }
+
+    /**
+     * Returns true if no argument is a service.
+     */
+    public boolean isEmpty() {
+        return serviceSlots.isEmpty();
+    }
+
+    /**
+     * Returns true if all arguments are services, i.e. the executable can be invoked without user input.
+     */
+    public boolean isComplete() {
+        return serviceSlots.cardinality() == parameterTypes.length;
+    }
+
+    /**
+     * Returns true if the specified registry has a service for each service argument.
+     */
+    public boolean isSatisfiedBy(ServiceRegistry registry) {
+        for (int i = serviceSlots.nextSetBit(0); i >= 0; i = serviceSlots.nextSetBit(i + 1)) {
+            if (!registry.isAvailable(parameterTypes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the argument at the specified position is a service available in the specified registry.
+     */
+    public boolean isInjectable(int index, ServiceRegistry registry) {
+        return isService(index) && registry.isAvailable(parameterTypes[index]);
+    }
+
+    /**
+     * Returns the complete argument array: service arguments are taken from the specified registry, other
+     * arguments from the specified array, which must have one element per parameter (elements at service positions
+     * are ignored, unless the registry has no matching service).
+     */
+    public Object[] resolveArguments(ServiceRegistry registry, Object[] userArguments) {
+        if (userArguments.length != parameterTypes.length) {
+            throw new IllegalArgumentException("Expected " + parameterTypes.length + " arguments, got "
+                    + userArguments.length);
+        }
+        Object[] arguments = userArguments.clone();
+        for (int i = serviceSlots.nextSetBit(0); i >= 0; i = serviceSlots.nextSetBit(i + 1)) {
+            final int index = i;
+            registry.lookup(parameterTypes[i]).ifPresent(service -> arguments[index] = service);
+        }
+        return arguments;
+    }
+
+    /**
+     * Returns the arguments for an executable whose arguments are all services.
+     *
+     * @throws IllegalStateException if an argument is not a service or no service is available for it
+     */
+    public Object[] resolveArguments(ServiceRegistry registry) {
+        Object[] arguments = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!isService(i)) {
+                throw new IllegalStateException("Argument " + i + " is not a service");
+            }
+            final Class<?> type = parameterTypes[i];
+            arguments[i] = registry.lookup(type)
+                    .orElseThrow(() -> new IllegalStateException("No service registered for " + type.getName()));
+        }
+        return arguments;
+    }
+}
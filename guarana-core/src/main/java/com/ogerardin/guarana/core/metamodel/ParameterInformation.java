@@ -8,6 +8,7 @@ import com.ogerardin.guarana.core.introspection.JavaIntrospector;
 import lombok.ToString;
 
 import java.lang.reflect.Parameter;
+import java.util.Collection;
 
 /**
  * Encapsulates metadata about a method or constructor parameter,
@@ -20,26 +21,79 @@ import java.lang.reflect.Parameter;
 public class ParameterInformation {
 
     private final Parameter parameter;
-    private final boolean injected;
+    /**
+     * Class the executable was obtained from, against which generic types are resolved
+     */
+    private final Class<?> ownerClass;
+
+    // resolved generic type, computed on first use
+    @ToString.Exclude
+    private volatile TypeInformation typeInformation;
 
     /**
-     * Creates a new ParameterInformation for the specified parameter,
-     * automatically determining if it should be injected.
+     * Creates a new ParameterInformation for the specified parameter.
      */
     public ParameterInformation(Parameter parameter) {
+        this(parameter, null);
+    }
+
+    /**
+     * Creates a new ParameterInformation for the specified parameter of an executable obtained from the specified
+     * class.
+     */
+    public ParameterInformation(Parameter parameter, Class<?> ownerClass) {
         this.parameter = parameter;
-        this.injected = isInjectable(parameter.getType());
+        this.ownerClass = ownerClass;
+    }
+
+    public Parameter getParameter() {
+        return parameter;
+    }
+
+    public String getName() {
+        return parameter.getName();
+    }
+
+    public Class<?> getType() {
+        return parameter.getType();
     }
 
     /**
-     * Determines if the specified type is eligible for dependency injection.
-     * A type is injectable if it's not a system class and is annotated as a service.
+     * Returns true if the parameter should be injected as a service rather than entered by the user, i.e. its type
+     * is annotated with {@link com.ogerardin.guarana.core.annotations.Service}. Only the annotation is checked: the
+     * parameter type is not introspected.
      */
-    private boolean isInjectable(Class<?> type) {
-        if (JavaIntrospector.isSystem(type)) {
-            return false;
+    public boolean isInjected() {
+        final Class<?> type = getType();
+        return !JavaIntrospector.isSystem(type) && JavaIntrospector.isService(type);
+    }
+
+    /**
+     * Returns true if the parameter type is a Collection or one of its subtypes.
+     */
+    public boolean isCollection() {
+        return Collection.class.isAssignableFrom(getType());
+    }
+
+    /**
+     * Returns the generic type of this parameter resolved against the class the executable was obtained from,
+     * including the element type of a collection or array and the key/value types of a map. Resolved once.
+     */
+    public TypeInformation getTypeInformation() {
+        TypeInformation result = typeInformation;
+        if (result == null) {
+            Class<?> owner = ownerClass != null ? ownerClass : parameter.getDeclaringExecutable().getDeclaringClass();
+            result = TypeInformation.of(parameter.getParameterizedType(), owner);
+            typeInformation = result;
         }
-        ClassInformation<?> classInformation = JavaIntrospector.getClassInformation(type);
-        return classInformation.isService();
+        return result;
+    }
+
+    /**
+     * Returns the element type if this parameter is a collection or an array, otherwise null.
+     */
+    public Class<?> getElementType() {
+        return getTypeInformation().getElementType();
     }
+
 }
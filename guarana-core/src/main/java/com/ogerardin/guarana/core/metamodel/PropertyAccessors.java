@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.metamodel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Generates functional objects that call getters and setters directly, using {@link LambdaMetafactory}.
+ * Once generated, calling them costs about the same as a direct call. If a method can't be accessed this way
+ * (e.g. it is declared by a non-public class), a reflective implementation is returned instead.
+ *
+ * The generated class is defined next to this class, so the types of the method must be visible from its class
+ * loader; methods of classes loaded by another class loader (e.g. a plugin or child class loader) are called by
+ * reflection, since the generated class would fail to link when first called.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Slf4j
+final class PropertyAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * Returns a function that invokes the specified no-arg instance method on its argument.
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Method method) {
+        try {
+            MethodHandle handle = unreflect(method);
+            Class<?> declaringClass = method.getDeclaringClass();
+            CallSite callSite = LambdaMetafactory.metafactory(LOOKUP,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(wrap(method.getReturnType()), declaringClass));
+            return (Function<Object, Object>) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            log.debug("Failed to generate getter for " + method + ", using reflection: " + e);
+            return target -> invoke(method, target);
+        }
+    }
+
+    /**
+     * Returns a consumer that invokes the specified single-arg instance method on its first argument, passing
+     * the second argument.
+     */
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Method method) {
+        try {
+            MethodHandle handle = unreflect(method);
+            Class<?> declaringClass = method.getDeclaringClass();
+            CallSite callSite = LambdaMetafactory.metafactory(LOOKUP,
+                    "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, declaringClass, wrap(method.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            log.debug("Failed to generate setter for " + method + ", using reflection: " + e);
+            return (target, value) -> invoke(method, target, value);
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        // the generated class lives in this module and class loader, which must see the types of the method
+        if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())
+                || !Arrays.stream(method.getParameterTypes()).allMatch(PropertyAccessors::isVisible)) {
+            throw new IllegalAccessException("Types of " + method + " are not visible from guarana.core");
+        }
+        Module module = method.getDeclaringClass().getModule();
+        PropertyAccessors.class.getModule().addReads(module);
+        return LOOKUP.unreflect(method);
+    }
+
+    /**
+     * Returns true if the specified type resolves to the same class from the class loader of this class
+     */
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, PropertyAccessors.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+}
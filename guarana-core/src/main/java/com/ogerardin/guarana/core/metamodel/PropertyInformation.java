@@ -6,9 +6,14 @@ package com.ogerardin.guarana.core.metamodel;
 
 import lombok.ToString;
 
+import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Encapsulates metadata about a JavaBean property, including its type,
@@ -20,8 +25,36 @@ import java.util.Collection;
 @ToString
 public class PropertyInformation {
 
-    private final PropertyDescriptor propertyDescriptor;
-    private final PropertyDescriptor jfxProperty;
+    private static final String JAVAFX_PROPERTY_SUFFIX = "Property";
+
+    private final String name;
+    private final String displayName;
+    private final Class<?> propertyType;
+    private final Method readMethod;
+    private final Method writeMethod;
+    private final Method jfxPropertyMethod;
+    /**
+     * Class the property was obtained from, against which generic types are resolved
+     */
+    private final Class<?> ownerClass;
+
+    // resolved generic type, computed on first use
+    @ToString.Exclude
+    private volatile TypeInformation typeInformation;
+
+    // JavaBeans descriptors, only created if explicitly requested
+    @ToString.Exclude
+    private volatile PropertyDescriptor propertyDescriptor;
+    @ToString.Exclude
+    private volatile PropertyDescriptor jfxProperty;
+
+    // compiled accessors, generated on first use
+    @ToString.Exclude
+    private volatile Function<Object, Object> getter;
+    @ToString.Exclude
+    private volatile BiConsumer<Object, Object> setter;
+    @ToString.Exclude
+    private volatile Function<Object, Object> jfxPropertyGetter;
 
     /**
      * Creates a new PropertyInformation for a standard JavaBean property.
@@ -34,10 +67,42 @@ public class PropertyInformation {
      * Creates a new PropertyInformation with an associated JavaFX property.
      */
     public PropertyInformation(PropertyDescriptor propertyDescriptor, PropertyDescriptor jfxProperty) {
+        this(propertyDescriptor, jfxProperty, null);
+    }
+
+    /**
+     * Creates a new PropertyInformation with an associated JavaFX property, obtained from the specified class.
+     */
+    public PropertyInformation(PropertyDescriptor propertyDescriptor, PropertyDescriptor jfxProperty,
+                               Class<?> ownerClass) {
+        this.name = propertyDescriptor.getName();
+        this.displayName = propertyDescriptor.getDisplayName();
+        this.propertyType = propertyDescriptor.getPropertyType();
+        this.readMethod = propertyDescriptor.getReadMethod();
+        this.writeMethod = propertyDescriptor.getWriteMethod();
+        this.jfxPropertyMethod = jfxProperty == null ? null : jfxProperty.getReadMethod();
+        this.ownerClass = ownerClass;
         this.propertyDescriptor = propertyDescriptor;
         this.jfxProperty = jfxProperty;
     }
 
+    /**
+     * Creates a new PropertyInformation directly from its accessors, without JavaBeans descriptors.
+     *
+     * @param ownerClass        class the property was obtained from
+     * @param jfxPropertyMethod method returning the associated JavaFX property object, or null
+     */
+    public PropertyInformation(Class<?> ownerClass, String name, Class<?> propertyType,
+                               Method readMethod, Method writeMethod, Method jfxPropertyMethod) {
+        this.ownerClass = ownerClass;
+        this.name = name;
+        this.displayName = name;
+        this.propertyType = propertyType;
+        this.readMethod = readMethod;
+        this.writeMethod = writeMethod;
+        this.jfxPropertyMethod = jfxPropertyMethod;
+    }
+
     /**
      * Returns true if the property type is a Collection or one of its subtypes.
      */
@@ -49,56 +114,185 @@ public class PropertyInformation {
      * Returns true if the property has no setter method (read-only).
      */
     public boolean isReadOnly() {
-        return propertyDescriptor.getWriteMethod() == null;
+        return writeMethod == null;
     }
 
     /**
      * Returns the property name.
      */
     public String getName() {
-        return propertyDescriptor.getName();
+        return name;
     }
 
     /**
      * Returns the display name of the property for UI presentation.
      */
     public String getDisplayName() {
-        return propertyDescriptor.getDisplayName();
+        return displayName;
     }
 
     /**
      * Returns the type of the property.
      */
     public Class<?> getPropertyType() {
-        return propertyDescriptor.getPropertyType();
+        return propertyType;
+    }
+
+    /**
+     * Returns the generic type of this property resolved against the class it was obtained from, including the
+     * element type of a collection or array property and the key/value types of a map property. Resolved once.
+     */
+    public TypeInformation getTypeInformation() {
+        TypeInformation result = typeInformation;
+        if (result == null) {
+            Type declaredType = readMethod != null
+                    ? readMethod.getGenericReturnType()
+                    : writeMethod.getGenericParameterTypes()[0];
+            Class<?> owner = ownerClass != null
+                    ? ownerClass
+                    : (readMethod != null ? readMethod : writeMethod).getDeclaringClass();
+            result = TypeInformation.of(declaredType, owner);
+            typeInformation = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the element type if this property is a collection or an array, otherwise null.
+     */
+    public Class<?> getElementType() {
+        return getTypeInformation().getElementType();
+    }
+
+    /**
+     * Returns true if the property type is a Map or one of its subtypes.
+     */
+    public boolean isMap() {
+        return Map.class.isAssignableFrom(getPropertyType());
     }
 
     /**
      * Returns the getter method for this property.
      */
     public Method getReadMethod() {
-        return propertyDescriptor.getReadMethod();
+        return readMethod;
     }
 
     /**
      * Returns the setter method for this property, or null if read-only.
      */
     public Method getWriteMethod() {
-        return propertyDescriptor.getWriteMethod();
+        return writeMethod;
+    }
+
+    /**
+     * Returns the method that returns the associated JavaFX property object, or null if there is none.
+     */
+    public Method getJfxPropertyMethod() {
+        return jfxPropertyMethod;
     }
 
     /**
      * Returns the associated JavaFX property descriptor, if any.
      */
     public PropertyDescriptor getJfxProperty() {
+        if (jfxPropertyMethod == null) {
+            return null;
+        }
+        if (jfxProperty == null) {
+            jfxProperty = createPropertyDescriptor(name + JAVAFX_PROPERTY_SUFFIX, jfxPropertyMethod, null);
+        }
         return jfxProperty;
     }
 
     /**
-     * Returns the underlying JavaBeans property descriptor.
+     * Returns the underlying JavaBeans property descriptor. If this property was not obtained through JavaBeans
+     * introspection, the descriptor is created on first call.
      */
     public PropertyDescriptor getPropertyDescriptor() {
+        if (propertyDescriptor == null) {
+            propertyDescriptor = createPropertyDescriptor(name, readMethod, writeMethod);
+        }
         return propertyDescriptor;
     }
 
+    private static PropertyDescriptor createPropertyDescriptor(String name, Method readMethod, Method writeMethod) {
+        try {
+            return new PropertyDescriptor(name, readMethod, writeMethod);
+        } catch (IntrospectionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns a function that reads this property from a target object, or null if the property is write-only.
+     * The function is generated once and calls the getter directly, without reflection.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, P> Function<T, P> getGetter() {
+        if (readMethod == null) {
+            return null;
+        }
+        if (getter == null) {
+            getter = PropertyAccessors.getter(readMethod);
+        }
+        return (Function<T, P>) getter;
+    }
+
+    /**
+     * Returns a consumer that writes this property on a target object, or null if the property is read-only.
+     * The consumer is generated once and calls the setter directly, without reflection.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, P> BiConsumer<T, P> getSetter() {
+        if (writeMethod == null) {
+            return null;
+        }
+        if (setter == null) {
+            setter = PropertyAccessors.setter(writeMethod);
+        }
+        return (BiConsumer<T, P>) setter;
+    }
+
+    /**
+     * Returns a function that returns the JavaFX property object of a target object, or null if there is no
+     * associated JavaFX property.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, P> Function<T, P> getJfxPropertyGetter() {
+        if (jfxPropertyMethod == null) {
+            return null;
+        }
+        if (jfxPropertyGetter == null) {
+            jfxPropertyGetter = PropertyAccessors.getter(jfxPropertyMethod);
+        }
+        return (Function<T, P>) jfxPropertyGetter;
+    }
+
+    /**
+     * Reads this property from the specified object.
+     *
+     * @throws UnsupportedOperationException if the property is write-only
+     */
+    public <P> P getValue(Object target) {
+        Function<Object, P> getter = getGetter();
+        if (getter == null) {
+            throw new UnsupportedOperationException("Property is write-only: " + getName());
+        }
+        return getter.apply(target);
+    }
+
+    /**
+     * Writes this property on the specified object.
+     *
+     * @throws UnsupportedOperationException if the property is read-only
+     */
+    public void setValue(Object target, Object value) {
+        BiConsumer<Object, Object> setter = getSetter();
+        if (setter == null) {
+            throw new UnsupportedOperationException("Property is read-only: " + getName());
+        }
+        setter.accept(target, value);
+    }
+
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.metamodel;
+
+import com.ogerardin.guarana.core.introspection.TypeResolver;
+import lombok.Value;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Generic type of a property or parameter, resolved once against the class that owns it, with the element type of
+ * collections and arrays and the key/value types of maps.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Value
+public class TypeInformation {
+
+    /**
+     * Declared generic type, with type variables bound by the owner class replaced
+     */
+    Type genericType;
+    /**
+     * Element type if the type is a {@link Collection} or an array, otherwise null
+     */
+    Class<?> elementType;
+    /**
+     * Key type if the type is a {@link Map}, otherwise null
+     */
+    Class<?> keyType;
+    /**
+     * Value type if the type is a {@link Map}, otherwise null
+     */
+    Class<?> valueType;
+
+    /**
+     * Resolves the specified declared type against the specified owner class.
+     *
+     * @param owner concrete class in which the type is used, or null to only resolve bounds
+     */
+    public static TypeInformation of(Type declaredType, Class<?> owner) {
+        TypeResolver resolver = TypeResolver.forClass(owner);
+        Type genericType = resolver.resolve(declaredType);
+        Class<?> rawType = resolver.resolveClass(genericType);
+
+        Class<?> elementType = null;
+        Class<?> keyType = null;
+        Class<?> valueType = null;
+        if (rawType != null && rawType.isArray()) {
+            elementType = rawType.getComponentType();
+        } else if (rawType != null && Collection.class.isAssignableFrom(rawType)) {
+            elementType = resolver.resolveTypeArgument(genericType, Collection.class, 0);
+        } else if (rawType != null && Map.class.isAssignableFrom(rawType)) {
+            keyType = resolver.resolveTypeArgument(genericType, Map.class, 0);
+            valueType = resolver.resolveTypeArgument(genericType, Map.class, 1);
+        }
+        return new TypeInformation(genericType, elementType, keyType, valueType);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.observability;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A {@link PropertyChangeDispatcher} that notifies listeners on an executor (virtual threads by default), so that a
+ * setter returns without waiting for listeners.
+ *
+ * Each channel (i.e. each observable wrapper) has its own bounded queue and is drained by at most one task at a time,
+ * so the events of a source object are delivered in order while events of different objects are delivered
+ * concurrently. When a queue is full, the {@link BackPressurePolicy} decides what happens to the new event.
+ *
+ * Wrappers keep the channel they were created with, so a dispatcher that is replaced must be {@link #close() closed}:
+ * its channels then deliver the events that are already queued and notify listeners of new events in the thread that
+ * calls the setter, still in order.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@Slf4j
+@Getter
+public class AsyncPropertyChangeDispatcher implements PropertyChangeDispatcher, AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    public enum BackPressurePolicy {
+        /**
+         * The setter waits until there is room in the queue
+         */
+        BLOCK,
+        /**
+         * The oldest pending event is discarded
+         */
+        DISCARD_OLDEST,
+        /**
+         * The new event is discarded
+         */
+        DISCARD_NEWEST,
+        /**
+         * The setter throws a {@link RejectedExecutionException}. Events are dispatched after the wrapped setter has
+         * returned, so the change <em>is</em> applied to the object: only its notification is dropped.
+         */
+        FAIL
+    }
+
+    private final Executor executor;
+    private final int capacity;
+    private final BackPressurePolicy backPressurePolicy;
+    /**
+     * Whether the executor was created by this dispatcher, and must be shut down when it is closed
+     */
+    @Getter(AccessLevel.NONE)
+    private final boolean ownExecutor;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a dispatcher that uses a virtual thread per delivery task, with the default capacity and policy
+     * {@link BackPressurePolicy#BLOCK}.
+     */
+    public AsyncPropertyChangeDispatcher() {
+        this(Executors.newVirtualThreadPerTaskExecutor(), DEFAULT_CAPACITY, BackPressurePolicy.BLOCK, true);
+    }
+
+    public AsyncPropertyChangeDispatcher(@NonNull Executor executor, int capacity,
+                                         @NonNull BackPressurePolicy backPressurePolicy) {
+        this(executor, capacity, backPressurePolicy, false);
+    }
+
+    private AsyncPropertyChangeDispatcher(Executor executor, int capacity, BackPressurePolicy backPressurePolicy,
+                                          boolean ownExecutor) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.executor = executor;
+        this.capacity = capacity;
+        this.backPressurePolicy = backPressurePolicy;
+        this.ownExecutor = ownExecutor;
+    }
+
+    /**
+     * Stops submitting delivery tasks: events already queued are still delivered, and the events of later changes
+     * are delivered in the thread that calls the setter. Shuts down the executor if it was created by this
+     * dispatcher.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ownExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    @Override
+    public Channel openChannel() {
+        return new SerialChannel();
+    }
+
+    /**
+     * A queue of deliveries, drained by a single task submitted to the executor when the first delivery is queued
+     */
+    private class SerialChannel implements Channel {
+        private final Queue<Runnable> pending = new ArrayDeque<>();
+        private boolean draining = false;
+        /**
+         * Thread currently delivering events, if any
+         */
+        private Thread drainer = null;
+
+        @Override
+        public void deliver(Runnable delivery) {
+            synchronized (this) {
+                if (!enqueue(delivery) || draining) {
+                    return;
+                }
+                draining = true;
+            }
+            startDrain();
+        }
+
+        /**
+         * Submits the drain task; {@link #draining} must have been set by the caller
+         */
+        private void startDrain() {
+            if (!closed) {
+                try {
+                    executor.execute(this::drain);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    if (!closed) {
+                        synchronized (this) {
+                            draining = false;
+                        }
+                        log.error("Failed to dispatch property change events", e);
+                        return;
+                    }
+                }
+            }
+            // the dispatcher was closed: deliver in this thread
+            drain();
+        }
+
+        /**
+         * Adds the delivery to the queue, applying the back-pressure policy if it is full. Returns false if the
+         * delivery was discarded.
+         */
+        private boolean enqueue(Runnable delivery) {
+            while (pending.size() >= capacity) {
+                switch (backPressurePolicy) {
+                    case BLOCK:
+                        if (Thread.currentThread() == drainer) {
+                            // a listener changed the source object: waiting for ourselves would deadlock
+                            pending.add(delivery);
+                            return true;
+                        }
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("Interrupted while waiting to dispatch event", e);
+                        }
+                        break;
+                    case DISCARD_OLDEST:
+                        pending.poll();
+                        log.warn("Property change queue full, discarding oldest event");
+                        break;
+                    case DISCARD_NEWEST:
+                        log.warn("Property change queue full, discarding event");
+                        return false;
+                    case FAIL:
+                        throw new RejectedExecutionException("Property change queue full");
+                }
+            }
+            pending.add(delivery);
+            return true;
+        }
+
+        private void drain() {
+            boolean drained = false;
+            try {
+                while (true) {
+                    Runnable delivery;
+                    synchronized (this) {
+                        delivery = pending.poll();
+                        if (delivery == null) {
+                            draining = false;
+                            drainer = null;
+                            drained = true;
+                            return;
+                        }
+                        drainer = Thread.currentThread();
+                        // room available for a blocked setter
+                        notifyAll();
+                    }
+                    try {
+                        delivery.run();
+                    } catch (RuntimeException e) {
+                        log.error("Property change listener failed", e);
+                    }
+                }
+            } finally {
+                if (!drained) {
+                    // a listener threw an Error: hand what is left in the queue over to a new drain task, so that the
+                    // channel keeps delivering
+                    boolean restart;
+                    synchronized (this) {
+                        drainer = null;
+                        restart = !pending.isEmpty();
+                        draining = restart;
+                    }
+                    if (restart) {
+                        startDrain();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.observability;
+
+import java.beans.PropertyChangeEvent;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Event fired when a batch of changes is committed (see {@link Observable#beginBatch()}). As for any
+ * {@link PropertyChangeEvent} that covers several properties, the property name and values are null; the changes
+ * are available with {@link #getChanges()}, one per property, with the value before the batch as old value and the
+ * last value set as new value.
+ *
+ * @author oge
+ * @since 1.0
+ */
+public class BatchPropertyChangeEvent extends PropertyChangeEvent {
+
+    private final transient Map<String, PropertyChangeEvent> changes;
+
+    public BatchPropertyChangeEvent(Object source, Map<String, PropertyChangeEvent> changes) {
+        super(source, null, null, null);
+        this.changes = Collections.unmodifiableMap(new LinkedHashMap<>(changes));
+    }
+
+    /**
+     * Returns the change of each changed property, by property name, in the order the properties were first changed.
+     */
+    public Map<String, PropertyChangeEvent> getChanges() {
+        return changes;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[changes=" + changes.values() + "; source=" + getSource() + "]";
+    }
+}
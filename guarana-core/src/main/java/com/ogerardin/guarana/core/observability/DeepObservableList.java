@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.observability;
+
+import java.util.AbstractList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The value returned by a deep observable wrapper (see {@link ObservableFactory#createDeepObservable}) for a list
+ * property. Reads and writes go to the wrapped list; elements are returned as observable wrappers, created on first
+ * access. Changes are reported to the owner of the list: {@code features[3]} when an element is set, added or
+ * removed (which also marks the list property of the owner as dirty), {@code features[3].value} when a property of an
+ * element changes.
+ *
+ * Once the property is set to another list, this list is detached: it still reads and writes the wrapped list but
+ * no longer reports changes.
+ *
+ * @author oge
+ * @since 1.0
+ */
+class DeepObservableList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> list;
+    private final PropertyChangeInterceptor<?> owner;
+    private final String propertyName;
+
+    /**
+     * Observed child of each element, by element (identity)
+     */
+    private final Map<Object, PropertyChangeInterceptor.Child> childByElement = new IdentityHashMap<>();
+    /**
+     * Element of each observed child, by value returned (identity)
+     */
+    private final Map<Object, Object> elementByValue = new IdentityHashMap<>();
+
+    private volatile boolean attached = true;
+
+    @SuppressWarnings("unchecked")
+    DeepObservableList(List<?> list, PropertyChangeInterceptor<?> owner, String propertyName) {
+        this.list = (List<E>) list;
+        this.owner = owner;
+        this.propertyName = propertyName;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E get(int index) {
+        E element = list.get(index);
+        if (element == null || !attached) {
+            return element;
+        }
+        PropertyChangeInterceptor.Child child = childByElement.get(element);
+        if (child == null) {
+            child = owner.observeChild(element, () -> pathOf(element));
+            if (child == null) {
+                return element;
+            }
+            childByElement.put(element, child);
+            elementByValue.put(child.value(), element);
+        }
+        return (E) child.value();
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    // Changes are reported after releasing the lock: a listener (or a blocking dispatcher) may need it to read
+    // the list from another thread.
+
+    @Override
+    public E set(int index, E element) {
+        E newElement;
+        E oldElement;
+        synchronized (this) {
+            newElement = unwrap(element);
+            oldElement = list.set(index, newElement);
+            forget(oldElement);
+        }
+        changed(index, oldElement, newElement);
+        return oldElement;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        E newElement;
+        synchronized (this) {
+            newElement = unwrap(element);
+            list.add(index, newElement);
+            modCount++;
+        }
+        changed(index, null, newElement);
+    }
+
+    @Override
+    public E remove(int index) {
+        E oldElement;
+        synchronized (this) {
+            oldElement = list.remove(index);
+            modCount++;
+            forget(oldElement);
+        }
+        changed(index, oldElement, null);
+        return oldElement;
+    }
+
+    /**
+     * Stops reporting changes
+     */
+    synchronized void detach() {
+        attached = false;
+        childByElement.values().forEach(child -> child.detach().run());
+        childByElement.clear();
+        elementByValue.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E unwrap(E value) {
+        Object element = elementByValue.get(value);
+        return element != null ? (E) element : value;
+    }
+
+    /**
+     * Stops observing the specified element if it is no longer in the list
+     */
+    private void forget(E element) {
+        if (element == null || indexOfElement(element) >= 0) {
+            return;
+        }
+        PropertyChangeInterceptor.Child child = childByElement.remove(element);
+        if (child != null) {
+            elementByValue.remove(child.value());
+            child.detach().run();
+        }
+    }
+
+    private int indexOfElement(E element) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the current path of the specified element, or null if it is no longer reachable.
+     */
+    private String pathOf(E element) {
+        if (!attached) {
+            return null;
+        }
+        int index = indexOfElement(element);
+        return index < 0 ? null : propertyName + "[" + index + "]";
+    }
+
+    private void changed(int index, E oldElement, E newElement) {
+        if (attached) {
+            owner.markDirty(propertyName);
+            owner.propertyChanged(propertyName + "[" + index + "]", oldElement, newElement);
+        }
+    }
+}
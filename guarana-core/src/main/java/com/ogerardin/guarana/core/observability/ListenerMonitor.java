@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.observability;
+
+import java.lang.ref.Cleaner;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diagnostic counts of the listeners registered on live observable wrappers, by wrapped class. A listener stops
+ * being counted when it is removed, when its wrapper is garbage collected, or, for a weak listener, when it has been
+ * garbage collected itself; so counts that keep growing while forms are opened and closed reveal a leak.
+ *
+ * @author oge
+ * @since 1.0
+ */
+public enum ListenerMonitor {
+
+    INSTANCE;
+
+    private final Map<Class<?>, AtomicInteger> countByClass = new ConcurrentHashMap<>();
+
+    private final Cleaner cleaner = Cleaner.create();
+
+    /**
+     * Returns the counter of the listeners of the specified wrapper; its listeners are uncounted when the wrapper
+     * becomes unreachable.
+     */
+    Counter newCounter(Object owner, Class<?> clazz) {
+        Counter counter = new Counter(countByClass.computeIfAbsent(clazz, c -> new AtomicInteger()));
+        cleaner.register(owner, counter::clear);
+        return counter;
+    }
+
+    /**
+     * Returns the number of listeners registered on live wrappers of the specified class.
+     */
+    public int getLiveListenerCount(Class<?> clazz) {
+        WeakPropertyChangeListener.expungeStaleListeners();
+        AtomicInteger count = countByClass.get(clazz);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns the number of listeners registered on live wrappers, by class name, for classes that have any.
+     */
+    public Map<String, Integer> getLiveListenerCounts() {
+        WeakPropertyChangeListener.expungeStaleListeners();
+        Map<String, Integer> counts = new TreeMap<>();
+        countByClass.forEach((clazz, count) -> {
+            if (count.get() > 0) {
+                counts.put(clazz.getName(), count.get());
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Counts the listeners of a single wrapper, and contributes them to the count of its class
+     */
+    static final class Counter {
+        private final AtomicInteger classCount;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Counter(AtomicInteger classCount) {
+            this.classCount = classCount;
+        }
+
+        void increment() {
+            count.incrementAndGet();
+            classCount.incrementAndGet();
+        }
+
+        void decrement() {
+            count.decrementAndGet();
+            classCount.decrementAndGet();
+        }
+
+        private void clear() {
+            classCount.addAndGet(-count.getAndSet(0));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.observability;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handle returned when a listener is added to an {@link Observable}; disposing it removes the listener. Disposing it
+ * more than once has no effect.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ListenerRegistration extends AutoCloseable {
+
+    void dispose();
+
+    @Override
+    default void close() {
+        dispose();
+    }
+
+    /**
+     * Returns a registration that runs the specified action the first time it is disposed.
+     */
+    static ListenerRegistration of(Runnable removal) {
+        AtomicBoolean disposed = new AtomicBoolean();
+        return () -> {
+            if (disposed.compareAndSet(false, true)) {
+                removal.run();
+            }
+        };
+    }
+}
@@ -1,12 +1,104 @@
 package com.ogerardin.guarana.core.observability;
 
 import java.beans.PropertyChangeListener;
+import java.util.Set;
 
 /**
  * Simple Observable as an interface.
  * Similar to {@link javafx.beans.Observable} but we don't want to depend on JavaFX in the core module.
+ *
+ * Changes made between {@link #beginBatch()} and {@link #commit()} (or inside {@link #runBatched(Runnable)}) are not
+ * notified one by one: they are coalesced by property and delivered on commit as a single
+ * {@link BatchPropertyChangeEvent}. Batches can be nested; changes are delivered when the outermost batch is
+ * committed. A batch belongs to the thread that began it: changes made by other threads (e.g. through the same
+ * wrapper in another window) are notified as usual, and must be committed by that thread. Prefer
+ * {@link #runBatched(Runnable)}, which always commits; a batch that is never committed silences the changes of
+ * its thread for as long as the thread lives.
+ *
+ * A listener keeps its observable reachable, not the other way round: listeners that should not outlive their owner
+ * (e.g. a form) must be removed, with the {@link ListenerRegistration} returned by {@link #subscribe} or
+ * {@link #subscribeWeakly}, or added weakly. {@link ListenerMonitor} counts the listeners of live
+ * wrappers.
+ *
+ * Wrappers also track which properties changed since a checkpoint ({@link #dirtyProperties()}, {@link #markClean()}),
+ * so that code that saves or audits an object can handle the changed properties only.
+ *
+ * Only the listener methods are required: other implementations don't have to support batches (changes are then
+ * notified one by one) nor change tracking.
  */
 public interface Observable {
     void addPropertyChangeListener(PropertyChangeListener listener);
     void removePropertyChangeListener(PropertyChangeListener listener);
-}
\ No newline at end of file
+
+    /**
+     * Adds the specified listener and returns a handle that removes it.
+     */
+    default ListenerRegistration subscribe(PropertyChangeListener listener) {
+        addPropertyChangeListener(listener);
+        return ListenerRegistration.of(() -> removePropertyChangeListener(listener));
+    }
+
+    /**
+     * Adds the specified listener without keeping it reachable: once it is garbage collected, it is removed
+     * automatically. The caller must therefore keep a reference to the listener for as long as it wants events
+     * (which rules out lambdas that are not stored). Returns a handle that removes the listener.
+     */
+    default ListenerRegistration subscribeWeakly(PropertyChangeListener listener) {
+        WeakPropertyChangeListener weakListener = new WeakPropertyChangeListener(listener, this);
+        addPropertyChangeListener(weakListener);
+        return ListenerRegistration.of(weakListener::remove);
+    }
+
+    /**
+     * Returns the names of the properties that were set to a different value since the wrapper was created or
+     * {@link #markClean()} was last called, in property order.
+     *
+     * @throws UnsupportedOperationException if this implementation doesn't track changes
+     */
+    default Set<String> dirtyProperties() {
+        throw new UnsupportedOperationException("Change tracking not supported by " + getClass().getName());
+    }
+
+    /**
+     * Returns true if any property was set to a different value since the last checkpoint.
+     *
+     * @throws UnsupportedOperationException if this implementation doesn't track changes
+     */
+    default boolean isDirty() {
+        return !dirtyProperties().isEmpty();
+    }
+
+    /**
+     * Sets a checkpoint: no property is dirty anymore.
+     *
+     * @throws UnsupportedOperationException if this implementation doesn't track changes
+     */
+    default void markClean() {
+        throw new UnsupportedOperationException("Change tracking not supported by " + getClass().getName());
+    }
+
+    /**
+     * Starts (or nests) a batch of changes. Does nothing by default: changes are notified one by one.
+     */
+    default void beginBatch() {
+    }
+
+    /**
+     * Ends the current batch; if it is the outermost one, notifies listeners of the changes made since
+     * {@link #beginBatch()}, if any. Does nothing by default.
+     */
+    default void commit() {
+    }
+
+    /**
+     * Runs the specified action as a batch of changes.
+     */
+    default void runBatched(Runnable action) {
+        beginBatch();
+        try {
+            action.run();
+        } finally {
+            commit();
+        }
+    }
+}
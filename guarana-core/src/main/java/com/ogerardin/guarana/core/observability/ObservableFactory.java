@@ -2,42 +2,335 @@ package com.ogerardin.guarana.core.observability;
 
 import com.ogerardin.guarana.core.introspection.JavaIntrospector;
 import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import net.sf.cglib.proxy.Enhancer;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.loading.MultipleParentClassLoader;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.MethodDelegation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.anyOf;
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.isFinalizer;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.not;
 
 /**
  * A factory to add observability to a POJO.
+ *
+ * The wrapper class of each class is generated once (with Byte Buddy) and its constructor is kept as a
+ * {@link MethodHandle}, so that creating a wrapper only allocates the wrapper and its interceptor. A wrapper class is
+ * defined in the package of the wrapped class when that package is open to guarana.core (always the case on the class
+ * path), so that classes and constructors only need to be non-private; otherwise it is defined in its own class loader,
+ * which only requires the wrapped class and its no-arg constructor to be public and its package to be exported. No
+ * {@code --add-opens} is needed on the module path.
+ *
+ * Wrappers are cached: as long as the wrapper of an object is in use, wrapping the object again returns the same
+ * wrapper, so that all the users of an object share its listeners. The child wrappers returned by the getters of a
+ * deep wrapper are the exception (see {@link #createObservable(Object, Class)}). {@link #unwrap} returns the object of
+ * a wrapper.
+ *
+ * Events are delivered by the {@link PropertyChangeDispatcher} set with {@link #setDispatcher} (or
+ * {@code guarana.eventDispatch=async}) when the wrapper is created; by default listeners are notified synchronously.
  */
 @Slf4j
 public enum ObservableFactory {
     ;
 
+    /**
+     * Name of the (public) field of the wrapper that holds its {@link PropertyChangeInterceptor}
+     */
+    static final String INTERCEPTOR_FIELD = "guarana$interceptor";
+
+    private static final MethodType CONSTRUCTOR_TYPE =
+            MethodType.methodType(Object.class, PropertyChangeInterceptor.class);
+
+    /**
+     * Methods of {@link Observable} that {@link PropertyChangeInterceptor} implements itself (rather than inheriting
+     * a default method), which wrappers delegate to it
+     */
+    private static final Method[] INTERCEPTOR_OBSERVABLE_METHODS = Arrays.stream(Observable.class.getMethods())
+            .filter(method -> {
+                try {
+                    return PropertyChangeInterceptor.class.getMethod(method.getName(), method.getParameterTypes())
+                            .getDeclaringClass() == PropertyChangeInterceptor.class;
+                } catch (NoSuchMethodException e) {
+                    throw new RuntimeException(e);
+                }
+            })
+            .toArray(Method[]::new);
+
+    private static volatile PropertyChangeDispatcher dispatcher = PropertyChangeDispatcher.SYNCHRONOUS;
+
+    /**
+     * Constructor of the wrapper class of each class, taking the interceptor as single argument
+     */
+    private static final ClassValue<MethodHandle> WRAPPER_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            return createWrapperConstructor(type);
+        }
+    };
+
+    /**
+     * Getter of the interceptor field of each wrapper class, null for other classes
+     */
+    private static final ClassValue<MethodHandle> INTERCEPTOR_GETTERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            if (!Observable.class.isAssignableFrom(type)) {
+                return null;
+            }
+            try {
+                // wrappers defined in the package of their class are only accessible with a private lookup
+                MethodHandles.Lookup lookup = getPrivateLookup(type);
+                return (lookup != null ? lookup : MethodHandles.publicLookup())
+                        .unreflectGetter(type.getField(INTERCEPTOR_FIELD))
+                        .asType(MethodType.methodType(PropertyChangeInterceptor.class, Object.class));
+            } catch (NoSuchFieldException e) {
+                // an Observable that isn't one of our wrappers
+                return null;
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+
+    private static final WrapperCache WRAPPERS = new WrapperCache();
+
+    public static PropertyChangeDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Sets the dispatcher used by the wrappers created from now on.
+     */
+    public static void setDispatcher(@NonNull PropertyChangeDispatcher dispatcher) {
+        ObservableFactory.dispatcher = dispatcher;
+    }
+
+    private static MethodHandle createWrapperConstructor(Class<?> objectClass) {
+        log.debug("generating observable wrapper class for {}", objectClass);
+        final Constructor<?> constructor;
+        try {
+            constructor = objectClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("Can't make " + objectClass.getName() + " observable: no no-arg constructor", e);
+        }
+        if (Modifier.isPrivate(constructor.getModifiers())) {
+            throw new RuntimeException("Can't make " + objectClass.getName() + " observable: its no-arg constructor is private");
+        }
+
+        // Define the wrapper in the package of the class if we have private access to it (class path, or package
+        // open to guarana.core), so that package-private constructors and classes work; otherwise in its own class
+        // loader, which requires a public class and constructor.
+        MethodHandles.Lookup privateLookup = getPrivateLookup(objectClass);
+        final ClassLoadingStrategy<ClassLoader> loadingStrategy;
+        final ClassLoader classLoader;
+        if (privateLookup != null) {
+            loadingStrategy = ClassLoadingStrategy.UsingLookup.of(privateLookup);
+            classLoader = objectClass.getClassLoader();
+        } else if (Modifier.isPublic(objectClass.getModifiers()) && Modifier.isPublic(constructor.getModifiers())) {
+            loadingStrategy = ClassLoadingStrategy.Default.WRAPPER;
+            // must see both the class and guarana (the class loader of a JDK class is null)
+            classLoader = new MultipleParentClassLoader.Builder()
+                    .appendMostSpecific(objectClass, Observable.class)
+                    .build();
+        } else {
+            throw new RuntimeException("Can't make " + objectClass.getName() + " observable: the class and its no-arg"
+                    + " constructor must be public, or its package must be open to guarana.core");
+        }
+
+        final Class<?> wrapperClass = new ByteBuddy()
+                // the object will be a subclass of T
+                .subclass(objectClass, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .modifiers(Visibility.PUBLIC)
+                // the object will also implement Observable
+                .implement(Observable.class)
+                .defineField(INTERCEPTOR_FIELD, PropertyChangeInterceptor.class,
+                        Visibility.PUBLIC, FieldManifestation.FINAL)
+                .defineConstructor(Visibility.PUBLIC)
+                .withParameters(PropertyChangeInterceptor.class)
+                .intercept(MethodCall.invoke(constructor)
+                        .andThen(FieldAccessor.ofField(INTERCEPTOR_FIELD).setsArgumentAt(0)))
+                // all public methods are delegated to the wrapped object...
+                .method(isPublic().and(not(isFinalizer())).and(not(isDeclaredBy(Observable.class))))
+                .intercept(MethodDelegation.to(PropertyChangeInterceptor.class))
+                // ...except those of Observable, implemented by the interceptor (other default methods are inherited)
+                .method(anyOf(INTERCEPTOR_OBSERVABLE_METHODS))
+                .intercept(MethodDelegation.toField(INTERCEPTOR_FIELD))
+                .make()
+                .load(classLoader, loadingStrategy)
+                .getLoaded();
+        try {
+            MethodHandles.Lookup lookup = privateLookup != null ? privateLookup : MethodHandles.publicLookup();
+            return lookup
+                    .findConstructor(wrapperClass, MethodType.methodType(void.class, PropertyChangeInterceptor.class))
+                    .asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns a lookup with private access to the specified class, or null if its package is not open to us or if a
+     * wrapper defined in its module couldn't access guarana.core
+     */
+    private static MethodHandles.Lookup getPrivateLookup(Class<?> objectClass) {
+        if (objectClass.getClassLoader() == null) {
+            // JDK classes can't be extended in their own package
+            return null;
+        }
+        if (!objectClass.getModule().canRead(ObservableFactory.class.getModule())) {
+            return null;
+        }
+        try {
+            return MethodHandles.privateLookupIn(objectClass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
     /**
      * Returns a wrapper around the specified object that adds observability. The returned object will be of type T
-     * and additionally implement {@link Observable}.
+     * and additionally implement {@link Observable}. The same wrapper is returned for the same object (and class) as
+     * long as it is in use; if the object is itself a wrapper, the wrapper of its object is returned.
      * Any call to a setter for a property exposed by objectClass will fire a {@link java.beans.PropertyChangeEvent}
      * to registered listeners.
+     *
+     * The child wrappers that the getters of a deep wrapper return (see {@link #createDeepObservable(Object, Class)})
+     * are not cached: each belongs to its deep parent, because the cycles it must not follow depend on the path it was
+     * reached through. The same object can therefore have a cached wrapper and one or more child wrappers, and a change
+     * made through one of them is not reported to the listeners of the others; in particular a deep wrapper only
+     * reports the changes made through the objects its getters return.
      * @param objectClass the object's class, or a superclass thereof. Only properties exposed by this class
      *                    will be observed.
      */
     public static <T> T createObservable(T object, Class<? super T> objectClass) {
-        log.debug("creating obervable wrapper for {}" ,object);
-        Enhancer enhancer = new Enhancer();
+        return getObservable(object, objectClass, false);
+    }
 
-        // the object will be a subclass of T
-        enhancer.setSuperclass(objectClass);
-        // the object will also implement Observable
-        enhancer.setInterfaces(new Class[] {Observable.class});
-        // don't intercept method calls from constructor, otherwise we might end up modifying the wrapped object
-        enhancer.setInterceptDuringConstruction(false);
+    /**
+     * Returns a deep observable wrapper around the specified object: in addition to its own property changes,
+     * listeners are notified of the changes made to the objects and lists reachable from it through the wrapper, as
+     * changes of a path such as {@code category.name} or {@code features[3].value}.
+     *
+     * Getters of the wrapper return wrappers of child objects (created on first access) and {@link List}s that report
+     * changes of the list and of its elements. Only instances of public, non-final classes with a public no-arg
+     * constructor outside the JDK are wrapped; an object reached again through a cycle (e.g. a category that is its own
+     * ancestor) is returned as is.
+     * @param objectClass the object's class, or a superclass thereof. Only properties exposed by this class
+     *                    will be observed.
+     */
+    public static <T> T createDeepObservable(T object, Class<? super T> objectClass) {
+        return getObservable(object, objectClass, true);
+    }
 
+    /**
+     * Returns a deep observable wrapper around the specified object, see
+     * {@link #createDeepObservable(Object, Class)}.
+     */
+    public static <T> T createDeepObservable(T object) {
+        //noinspection unchecked
+        return createDeepObservable(object, (Class<? super T>) unwrap(object).getClass());
+    }
+
+    /**
+     * Returns the cached wrapper of the specified object (or of the object of the specified wrapper), creating it if
+     * needed.
+     */
+    private static <T> T getObservable(@NonNull T object, Class<? super T> objectClass, boolean deep) {
+        T target = unwrap(object);
+        //noinspection unchecked
+        return (T) WRAPPERS.get(target, objectClass, deep,
+                () -> createObservable(target, objectClass, deep ? List.of() : null));
+    }
+
+    /**
+     * Returns the object wrapped by the specified observable wrapper, or the specified object itself if it is not a
+     * wrapper.
+     */
+    public static <T> T unwrap(T object) {
+        PropertyChangeInterceptor<?> interceptor = getInterceptor(object);
+        //noinspection unchecked
+        return interceptor == null ? object : (T) interceptor.getTarget();
+    }
+
+    /**
+     * Returns the interceptor of the specified wrapper, or null if it is not a wrapper
+     */
+    static PropertyChangeInterceptor<?> getInterceptor(Object object) {
+        if (object == null) {
+            return null;
+        }
+        MethodHandle getter = INTERCEPTOR_GETTERS.get(object.getClass());
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return (PropertyChangeInterceptor<?>) getter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates a new wrapper.
+     * @param ancestors objects the object was reached from, for a deep wrapper; null for a shallow wrapper
+     */
+    static <T> T createObservable(T object, Class<? super T> objectClass, List<Object> ancestors) {
+        log.debug("creating obervable wrapper for {}" ,object);
         // Get information about specified class and provide custom callback to intercept method calls
         ClassInformation<? super T> classInformation = JavaIntrospector.getClassInformation(objectClass);
-        enhancer.setCallback(new PropertyChangeInterceptor<>(object, classInformation));
+        PropertyChangeInterceptor<?> interceptor = new PropertyChangeInterceptor<>(object, classInformation, ancestors);
 
         // Instanciate the wrapper
-        //noinspection unchecked
-        return (T) enhancer.create();
+        try {
+            Object wrapper = WRAPPER_CONSTRUCTORS.get(objectClass).invokeExact(interceptor);
+            //noinspection unchecked
+            return (T) wrapper;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns true if instances of the specified class are wrapped when reached from a deep wrapper
+     */
+    static boolean isDeepObservable(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isArray() || clazz.isInterface() || clazz.isEnum()
+                || !Modifier.isPublic(clazz.getModifiers()) || Modifier.isFinal(clazz.getModifiers())
+                || Observable.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        String className = clazz.getName();
+        if (className.startsWith("java.") || className.startsWith("javax.") || className.startsWith("jdk.")) {
+            return false;
+        }
+        try {
+            clazz.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
     }
 
     /**
@@ -47,6 +340,6 @@ public enum ObservableFactory {
      */
     public static <T> T createObservable(T object) {
         //noinspection unchecked
-        return createObservable(object, (Class<? super T>) object.getClass());
+        return createObservable(object, (Class<? super T>) unwrap(object).getClass());
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.observability;
+
+/**
+ * Delivers the {@link java.beans.PropertyChangeEvent}s fired by observable wrappers to their listeners. Each wrapper
+ * opens its own {@link Channel}; deliveries made through a channel must be run in order.
+ *
+ * The default dispatcher ({@link #SYNCHRONOUS}) notifies listeners inside the setter; see
+ * {@link AsyncPropertyChangeDispatcher} to notify them on an executor instead.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface PropertyChangeDispatcher {
+
+    /**
+     * Notifies listeners in the thread that calls the setter
+     */
+    PropertyChangeDispatcher SYNCHRONOUS = () -> Runnable::run;
+
+    /**
+     * Returns a new channel, used to deliver the events of a single source object.
+     */
+    Channel openChannel();
+
+    @FunctionalInterface
+    interface Channel {
+        /**
+         * Runs (or schedules) the specified delivery, after all the deliveries previously submitted to this channel.
+         */
+        void deliver(Runnable delivery);
+    }
+}
@@ -1,52 +1,339 @@
 package com.ogerardin.guarana.core.observability;
 
-import com.github.hervian.reflection.Types;
 import com.ogerardin.guarana.core.metamodel.ClassInformation;
 import com.ogerardin.guarana.core.metamodel.PropertyInformation;
 import lombok.extern.slf4j.Slf4j;
-import net.sf.cglib.proxy.MethodInterceptor;
-import net.sf.cglib.proxy.MethodProxy;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.FieldValue;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
- * A {@link MethodInterceptor} that implements {@link Observable}, intercepts calls to setters to notify listeners,
- * and delegates all other method calls to the target object.
- * This was strongly inspired by https://dzone.com/articles/dynamic-class-enhancement-with-cglib and
- * http://markbramnik.blogspot.com/2010/04/cglib-introduction.html
+ * The part of an observable wrapper (see {@link ObservableFactory}) that implements {@link Observable}, intercepts
+ * calls to setters to notify listeners, and delegates all other method calls to the target object.
+ *
+ * In deep mode (see {@link ObservableFactory#createDeepObservable}), getters also return wrappers of the child objects
+ * and lists they would return, created on first access and kept until the property value changes; changes of a child
+ * are reported as changes of this object, with a path such as {@code category.name} or {@code features[3].value}.
+ *
+ * Public only because generated wrapper classes, which live in their own class loader, call
+ * {@link #intercept(PropertyChangeInterceptor, Method, Object[], Callable)}; not meant to be used directly.
  */
 @Slf4j
-class PropertyChangeInterceptor<T> implements MethodInterceptor {
+public final class PropertyChangeInterceptor<T> implements Observable {
+
+    /**
+     * Handles that call the public methods of each wrapped class, by method
+     */
+    private static final ClassValue<Map<Method, MethodHandle>> INVOKERS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     private final Object target;
     private final ClassInformation<T> classInformation;
     private final PropertyChangeSupport propertyChangeSupport;
+    private final PropertyChangeDispatcher.Channel channel;
+    private final ListenerMonitor.Counter listenerCounter;
 
-    // Static Method instances created from method references using https://github.com/Hervian/safety-mirror
-    private static final Method addPropertyChangeListenerMethod = Types.createMethod(Observable::addPropertyChangeListener);
-    private static final Method removePropertyChangeListenerMethod = Types.createMethod(Observable::removePropertyChangeListener);
+    /**
+     * Targets of the wrappers this object was reached from in a deep observable graph, from the root; null if this
+     * wrapper is not deep
+     */
+    private final List<Object> ancestors;
+    /**
+     * Observed child of each property, in deep mode
+     */
+    private final Map<String, Child> children = new HashMap<>();
 
+    /**
+     * Ordinals (see {@link ClassInformation#getPropertyOrdinal}) of the properties changed since the last checkpoint
+     */
+    private final BitSet dirty = new BitSet();
 
-    PropertyChangeInterceptor(T target, ClassInformation<T> classInformation) {
+    /**
+     * Batch in progress, by the thread that began it; weak keys, so that the batch of a thread that ends without
+     * committing is dropped
+     */
+    private final Map<Thread, Batch> batches = new WeakHashMap<>();
+
+    PropertyChangeInterceptor(T target, ClassInformation<T> classInformation, List<Object> ancestors) {
         this.target = target;
         this.classInformation = classInformation;
         this.propertyChangeSupport = new PropertyChangeSupport(target);
+        this.channel = ObservableFactory.getDispatcher().openChannel();
+        this.ancestors = ancestors;
+        this.listenerCounter = ListenerMonitor.INSTANCE.newCounter(this, classInformation.getJavaClass());
+    }
+
+    Object getTarget() {
+        return target;
+    }
+
+    @Override
+    public synchronized void addPropertyChangeListener(PropertyChangeListener listener) {
+        int count = propertyChangeSupport.getPropertyChangeListeners().length;
+        propertyChangeSupport.addPropertyChangeListener(listener);
+        // PropertyChangeSupport doesn't tell whether the listener was actually added
+        updateListenerCount(count);
+    }
+
+    @Override
+    public synchronized void removePropertyChangeListener(PropertyChangeListener listener) {
+        int count = propertyChangeSupport.getPropertyChangeListeners().length;
+        propertyChangeSupport.removePropertyChangeListener(listener);
+        updateListenerCount(count);
+    }
+
+    /**
+     * Reports the change of the number of registered listeners to the {@link ListenerMonitor}
+     *
+     * @param previousCount the number of listeners before the change
+     */
+    private void updateListenerCount(int previousCount) {
+        int count = propertyChangeSupport.getPropertyChangeListeners().length;
+        for (int i = previousCount; i < count; i++) {
+            listenerCounter.increment();
+        }
+        for (int i = count; i < previousCount; i++) {
+            listenerCounter.decrement();
+        }
+    }
+
+    @Override
+    public synchronized Set<String> dirtyProperties() {
+        List<PropertyInformation> properties = classInformation.getProperties();
+        Set<String> propertyNames = new LinkedHashSet<>();
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            propertyNames.add(properties.get(i).getName());
+        }
+        return Collections.unmodifiableSet(propertyNames);
+    }
+
+    @Override
+    public synchronized boolean isDirty() {
+        return !dirty.isEmpty();
+    }
+
+    @Override
+    public synchronized void markClean() {
+        dirty.clear();
+    }
+
+    synchronized void markDirty(String propertyName) {
+        int ordinal = classInformation.getPropertyOrdinal(propertyName);
+        if (ordinal >= 0) {
+            dirty.set(ordinal);
+        }
+    }
+
+    @Override
+    public synchronized void beginBatch() {
+        batches.computeIfAbsent(Thread.currentThread(), thread -> new Batch()).depth++;
+    }
+
+    @Override
+    public void commit() {
+        Map<String, PropertyChangeEvent> changes = new LinkedHashMap<>();
+        synchronized (this) {
+            Batch batch = batches.get(Thread.currentThread());
+            if (batch == null) {
+                throw new IllegalStateException("No batch in progress in this thread");
+            }
+            if (--batch.depth > 0) {
+                return;
+            }
+            batches.remove(Thread.currentThread());
+            batch.changes.forEach((propertyName, values) -> {
+                if (!Objects.equals(values[0], values[1])) {
+                    changes.put(propertyName, new PropertyChangeEvent(target, propertyName, values[0], values[1]));
+                }
+            });
+        }
+        if (!changes.isEmpty()) {
+            fire(new BatchPropertyChangeEvent(target, changes));
+        }
+    }
+
+    /**
+     * Notifies listeners of a property change, or records it if the current thread has a batch in progress
+     */
+    void propertyChanged(String propertyName, Object oldValue, Object newValue) {
+        synchronized (this) {
+            Batch batch = batches.get(Thread.currentThread());
+            if (batch != null) {
+                Object[] values = batch.changes.computeIfAbsent(propertyName, k -> new Object[]{oldValue, null});
+                values[1] = newValue;
+                return;
+            }
+        }
+        fire(new PropertyChangeEvent(target, propertyName, oldValue, newValue));
     }
 
-    public Object intercept(Object o, Method method, Object[] args, MethodProxy proxy) throws Throwable {
-        // Observable implementation
-        if (method.equals(addPropertyChangeListenerMethod)) {
-            propertyChangeSupport.addPropertyChangeListener((PropertyChangeListener) args[0]);
+    /**
+     * Batch of changes in progress in a thread
+     */
+    private static final class Batch {
+        /**
+         * Nesting depth
+         */
+        private int depth = 0;
+        /**
+         * First old value and last new value of each property changed during the batch
+         */
+        private final Map<String, Object[]> changes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Reports the specified change of a child as a change of this object, with its property name prefixed by the
+     * specified path (i.e. the path of the child within this object). Ignored if the path is null, i.e. if the child
+     * is no longer reachable.
+     */
+    void childChanged(String path, PropertyChangeEvent event) {
+        if (path == null) {
+            return;
+        }
+        if (event instanceof BatchPropertyChangeEvent batchEvent) {
+            runBatched(() -> batchEvent.getChanges().values().forEach(change -> childChanged(path, change)));
+            return;
+        }
+        String propertyName = event.getPropertyName();
+        String childPath = propertyName.startsWith("[") ? path + propertyName : path + "." + propertyName;
+        propertyChanged(childPath, event.getOldValue(), event.getNewValue());
+    }
+
+    /**
+     * Returns an observed child for the specified value, whose changes are reported under the path returned by the
+     * specified supplier at the time of the change, or null if the value can't be observed: because its class can't
+     * be wrapped, or because it is one of the objects this object was reached from (which would make a cycle).
+     */
+    Child observeChild(Object value, Supplier<String> path) {
+        List<Object> childAncestors = new ArrayList<>(ancestors.size() + 1);
+        childAncestors.addAll(ancestors);
+        childAncestors.add(target);
+        for (Object ancestor : childAncestors) {
+            if (ancestor == value) {
+                return null;
+            }
+        }
+        if (!ObservableFactory.isDeepObservable(value.getClass())) {
             return null;
         }
-        if (method.equals(removePropertyChangeListenerMethod)) {
-            propertyChangeSupport.removePropertyChangeListener((PropertyChangeListener) args[0]);
+        @SuppressWarnings("unchecked")
+        Class<Object> valueClass = (Class<Object>) value.getClass();
+        final Object wrapper;
+        try {
+            wrapper = ObservableFactory.createObservable(value, valueClass, List.copyOf(childAncestors));
+        } catch (RuntimeException e) {
+            log.debug("Can't observe {}: {}", value.getClass(), e.toString());
             return null;
         }
+        Observable observable = (Observable) wrapper;
+        PropertyChangeListener listener = event -> childChanged(path.get(), event);
+        observable.addPropertyChangeListener(listener);
+        return new Child(value, wrapper, () -> observable.removePropertyChangeListener(listener));
+    }
+
+    /**
+     * Returns the observed child for the current value of the specified property, creating it if needed.
+     */
+    private Object getChild(PropertyInformation propertyInformation, Class<?> returnType, Object value) {
+        String propertyName = propertyInformation.getName();
+        synchronized (this) {
+            Child child = children.get(propertyName);
+            if (child != null) {
+                if (child.target() == value) {
+                    return child.value();
+                }
+                forgetChild(propertyName);
+            }
+            if (value == null) {
+                return null;
+            }
+            if (value instanceof List<?> list) {
+                if (!returnType.isAssignableFrom(DeepObservableList.class)) {
+                    return value;
+                }
+                DeepObservableList<?> observableList = new DeepObservableList<>(list, this, propertyName);
+                child = new Child(list, observableList, observableList::detach);
+            } else {
+                child = observeChild(value, () -> propertyName);
+                if (child == null) {
+                    return value;
+                }
+            }
+            children.put(propertyName, child);
+            return child.value();
+        }
+    }
+
+    private synchronized void forgetChild(String propertyName) {
+        Child child = children.remove(propertyName);
+        if (child != null) {
+            child.detach().run();
+        }
+    }
+
+    /**
+     * Returns the object wrapped by the specified value if it is the observed child of the specified property, else the
+     * value itself.
+     */
+    private synchronized Object unwrapChild(String propertyName, Object value) {
+        Child child = children.get(propertyName);
+        return child != null && child.value() == value ? child.target() : value;
+    }
 
+    /**
+     * Notifies listeners through the channel of this object, i.e. either now or later but in order
+     */
+    private void fire(PropertyChangeEvent event) {
+        channel.deliver(() -> propertyChangeSupport.firePropertyChange(event));
+    }
+
+    /**
+     * Called by the wrapper for each public method of the wrapped class
+     *
+     * @param interceptor the interceptor of the wrapper, null while the wrapper is being constructed
+     * @param superCall calls the method of the wrapper itself (as inherited from the wrapped class)
+     */
+    @RuntimeType
+    public static Object intercept(@FieldValue(ObservableFactory.INTERCEPTOR_FIELD) PropertyChangeInterceptor<?> interceptor,
+                                   @Origin Method method, @AllArguments Object[] args,
+                                   @SuperCall Callable<?> superCall) throws Throwable {
+        if (interceptor == null) {
+            // don't intercept method calls from constructor, otherwise we might end up modifying the wrapped object
+            return superCall.call();
+        }
+        return interceptor.intercept(method, args);
+    }
+
+    private Object intercept(Method method, Object[] args) throws Throwable {
         //Handle case where method is a setter
         Optional<PropertyInformation> maybeSetterTargetProperty = classInformation.propertyForSetter(method);
         if (maybeSetterTargetProperty.isPresent()) {
@@ -54,17 +341,75 @@ class PropertyChangeInterceptor<T> implements MethodInterceptor {
             log.debug("setter invoked: " + method);
 
             //invoke getter to fetch previous value
-            Method readMethod = propertyInformation.getReadMethod();
-            Object oldValue = readMethod.invoke(target);
+            Object oldValue = propertyInformation.getReadMethod() == null ? null : propertyInformation.getValue(target);
+            // store the object itself rather than its wrapper
+            Object newValue = ObservableFactory.unwrap(args[0]);
+            if (ancestors != null) {
+                // same for the list wrapper of a deep wrapper, and stop observing the previous value
+                newValue = unwrapChild(propertyInformation.getName(), newValue);
+                if (newValue != oldValue) {
+                    forgetChild(propertyInformation.getName());
+                }
+            }
             //now invoke actual setter
-            method.invoke(target, args);
+            propertyInformation.setValue(target, newValue);
+            if (!Objects.equals(oldValue, newValue)) {
+                markDirty(propertyInformation.getName());
+            }
             //fire property change
-            propertyChangeSupport.firePropertyChange(propertyInformation.getName(), oldValue, args[0]);
+            propertyChanged(propertyInformation.getName(), oldValue, newValue);
             return null;
-        };
+        }
+
+        //In deep mode, getters return observed children
+        if (ancestors != null) {
+            Optional<PropertyInformation> maybeGetterTargetProperty = classInformation.propertyForGetter(method);
+            if (maybeGetterTargetProperty.isPresent()) {
+                Object value = invoke(method, args);
+                return getChild(maybeGetterTargetProperty.get(), method.getReturnType(), value);
+            }
+        }
 
         //General case: call method on wrapped object
-        method.setAccessible(true);
-        return method.invoke(target, args);
+        return invoke(method, args);
+    }
+
+    private Object invoke(Method method, Object[] args) throws Throwable {
+        return INVOKERS.get(classInformation.getJavaClass())
+                .computeIfAbsent(method, m -> createInvoker(classInformation.getJavaClass(), m))
+                .invokeExact(target, args);
+    }
+
+    /**
+     * Returns a handle of type {@code (Object, Object[])Object} that calls the specified method on an instance of the
+     * specified class. The method is looked up from the class itself rather than from the class that declares it, so
+     * that public methods inherited from a non-public class can be called without reflection.
+     */
+    private static MethodHandle createInvoker(Class<?> clazz, Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().findVirtual(clazz, method.getName(),
+                    MethodType.methodType(method.getReturnType(), method.getParameterTypes()));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // e.g. class in a package that isn't exported: fall back to an accessible reflected method
+            if (!method.trySetAccessible()) {
+                throw new RuntimeException("Can't call " + method + " on observable wrapper", e);
+            }
+            try {
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException e2) {
+                throw new RuntimeException("Can't call " + method + " on observable wrapper", e2);
+            }
+        }
+        int parameterCount = method.getParameterCount();
+        return handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                .asSpreader(Object[].class, parameterCount);
+    }
+
+    /**
+     * An observed child: the object itself, the value returned in its place (usually a wrapper), and the action that
+     * stops reporting its changes
+     */
+    record Child(Object target, Object value, Runnable detach) {
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.observability;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * A listener that forwards events to another listener without keeping it reachable (see
+ * {@link Observable#subscribeWeakly}). Once that listener has been garbage collected, this listener is
+ * removed from the observable, either when the next event is fired or when stale listeners are expunged (each time
+ * a weak listener is added or listener counts are read from {@link ListenerMonitor}).
+ *
+ * @author oge
+ * @since 1.0
+ */
+class WeakPropertyChangeListener extends WeakReference<PropertyChangeListener> implements PropertyChangeListener {
+
+    private static final ReferenceQueue<PropertyChangeListener> STALE_LISTENERS = new ReferenceQueue<>();
+
+    private final Observable observable;
+
+    WeakPropertyChangeListener(PropertyChangeListener listener, Observable observable) {
+        super(listener, STALE_LISTENERS);
+        this.observable = observable;
+        expungeStaleListeners();
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+        PropertyChangeListener listener = get();
+        if (listener == null) {
+            remove();
+        } else {
+            listener.propertyChange(event);
+        }
+    }
+
+    void remove() {
+        observable.removePropertyChangeListener(this);
+    }
+
+    /**
+     * Removes the weak listeners whose listener has been garbage collected
+     */
+    static void expungeStaleListeners() {
+        Reference<? extends PropertyChangeListener> reference;
+        while ((reference = STALE_LISTENERS.poll()) != null) {
+            ((WeakPropertyChangeListener) reference).remove();
+        }
+    }
+}
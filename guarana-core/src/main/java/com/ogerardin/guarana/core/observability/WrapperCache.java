@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.observability;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The observable wrapper of each object, so that an object always gets the same wrapper (see
+ * {@link ObservableFactory#createObservable}). Objects are compared by identity; both objects and wrappers are
+ * weakly referenced, since a wrapper references its object: an entry is dropped once its wrapper is no longer used.
+ *
+ * @author oge
+ * @since 1.0
+ */
+class WrapperCache {
+
+    private final ReferenceQueue<Object> collectedTargets = new ReferenceQueue<>();
+
+    private final Map<Key, WeakReference<Object>> wrapperByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the wrapper of the specified object for the specified class and mode, creating it with the specified
+     * factory if there is none.
+     */
+    Object get(Object target, Class<?> wrappedClass, boolean deep, Supplier<Object> factory) {
+        expungeCollectedTargets();
+        Object[] wrapper = new Object[1];
+        wrapperByKey.compute(new Key(target, wrappedClass, deep, collectedTargets), (key, reference) -> {
+            wrapper[0] = reference == null ? null : reference.get();
+            if (wrapper[0] == null) {
+                wrapper[0] = factory.get();
+                reference = new WeakReference<>(wrapper[0]);
+            }
+            return reference;
+        });
+        return wrapper[0];
+    }
+
+    private void expungeCollectedTargets() {
+        Reference<?> reference;
+        while ((reference = collectedTargets.poll()) != null) {
+            wrapperByKey.remove(reference);
+        }
+    }
+
+    /**
+     * Weak reference to an object, equal to any other key for the same object (identity), class and mode
+     */
+    private static final class Key extends WeakReference<Object> {
+        private final int hash;
+        private final Class<?> wrappedClass;
+        private final boolean deep;
+
+        private Key(Object target, Class<?> wrappedClass, boolean deep, ReferenceQueue<Object> queue) {
+            super(target, queue);
+            this.hash = System.identityHashCode(target) * 31 + wrappedClass.hashCode();
+            this.wrappedClass = wrappedClass;
+            this.deep = deep;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other) || other.wrappedClass != wrappedClass || other.deep != deep) {
+                return false;
+            }
+            Object target = get();
+            return target != null && target == other.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.registry;
+
+import com.ogerardin.guarana.core.annotations.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of service instances, used to fill the arguments of methods and constructors whose parameter type is a
+ * {@link Service}.
+ *
+ * @author oge
+ * @since 1.0
+ */
+public enum ServiceRegistry {
+
+    INSTANCE;
+
+    private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the specified service for the specified type, replacing any service previously registered for
+     * that type.
+     */
+    public <S> void register(Class<S> type, S service) {
+        services.put(type, type.cast(service));
+    }
+
+    /**
+     * Registers the specified service for its own class and for each of its superclasses and interfaces annotated
+     * with {@link Service}.
+     */
+    @SuppressWarnings("unchecked")
+    public <S> void register(S service) {
+        Class<S> serviceClass = (Class<S>) service.getClass();
+        register(serviceClass, service);
+        for (Class<?> type : getSupertypes(serviceClass)) {
+            if (type.isAnnotationPresent(Service.class)) {
+                services.put(type, service);
+            }
+        }
+    }
+
+    public void unregister(Class<?> type) {
+        services.remove(type);
+    }
+
+    public void clear() {
+        services.clear();
+    }
+
+    /**
+     * Returns the service registered for the specified type, or else a service registered for a subtype if there
+     * is one.
+     */
+    public <S> Optional<S> lookup(Class<S> type) {
+        Object service = services.get(type);
+        if (service == null) {
+            service = services.values().stream()
+                    .filter(type::isInstance)
+                    .findFirst()
+                    .orElse(null);
+        }
+        return Optional.ofNullable(type.cast(service));
+    }
+
+    public boolean isAvailable(Class<?> type) {
+        return lookup(type).isPresent();
+    }
+
+    private static List<Class<?>> getSupertypes(Class<?> clazz) {
+        List<Class<?>> supertypes = new ArrayList<>();
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            if (c != clazz) {
+                supertypes.add(c);
+            }
+            addInterfaces(c, supertypes);
+        }
+        return supertypes;
+    }
+
+    private static void addInterfaces(Class<?> clazz, List<Class<?>> result) {
+        for (Class<?> i : clazz.getInterfaces()) {
+            if (!result.contains(i)) {
+                result.add(i);
+                addInterfaces(i, result);
+            }
+        }
+    }
+}
@@ -17,4 +17,11 @@ public interface Renderable<R> {
     R getRendered();
 
     void setReadOnly(boolean readOnly);
+
+    /**
+     * Releases what this UI holds once it is no longer displayed, e.g. its listener on the bound object. Does nothing
+     * by default.
+     */
+    default void dispose() {
+    }
 }
@@ -5,50 +5,81 @@
 package com.ogerardin.guarana.core.util;
 
 import javafx.util.StringConverter;
+import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Default string converter that can convert objects to and from strings.
- * Attempts to use String constructors or factory methods (of/valueOf) for conversion.
+ * Uses a String constructor, or else a static factory method (valueOf/of) taking a String.
+ *
+ * The constructor or factory method is looked up once, when the converter is created, and bound as a
+ * {@link MethodHandle}. Converters are meant to be shared: obtain them from {@link StringConverterRegistry} rather
+ * than creating new ones.
  *
  * @param <T> the type of object to convert
  * @author Olivier Gérardin
  * @since 1.0
  */
+@Slf4j
 public class DefaultStringConverter<T> extends StringConverter<T> {
 
-    private final List<String> FACTORY_METHODS = Arrays.asList("of", "valueOf");
+    /**
+     * Names of the factory methods, by decreasing priority
+     */
+    private static final List<String> FACTORY_METHODS = Arrays.asList("valueOf", "of");
+
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, String.class);
 
-    private  Set<Method> methods;
-    private  Constructor<T> constructor;
+    private final Class<T> clazz;
+
+    /**
+     * (String)Object handle to the constructor or factory method, or null if none was found
+     */
+    private final MethodHandle factory;
 
     /**
      * Creates a new converter for the specified class.
      * Attempts to find a String constructor or factory methods.
      */
     public DefaultStringConverter(Class<T> clazz) {
+        this.clazz = clazz;
+        this.factory = findFactory(clazz);
+    }
+
+    private static MethodHandle findFactory(Class<?> clazz) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
         try {
             // try to get a constructor that takes a String as single argument
-            constructor = clazz.getConstructor(String.class);
-            methods = null;
-        } catch (NoSuchMethodException e) {
-            constructor = null;
-            // build a list of factory methods that take a String as single argument
-            methods = Arrays.stream(clazz.getMethods())
-                    .filter(m -> Modifier.isStatic(m.getModifiers()))
-                    .filter(m -> FACTORY_METHODS.contains(m.getName()))
-                    .filter(m -> m.getReturnType() == clazz)
-                    .filter(m -> m.getParameterCount() == 1 && m.getParameterTypes()[0] == String.class)
-                    .collect(Collectors.toSet());
+            return lookup.unreflectConstructor(clazz.getConstructor(String.class)).asType(FACTORY_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // no usable constructor, try factory methods
+        }
+        for (String factoryMethod : FACTORY_METHODS) {
+            try {
+                Method method = clazz.getMethod(factoryMethod, String.class);
+                if (Modifier.isStatic(method.getModifiers()) && method.getReturnType() == clazz) {
+                    return lookup.unreflect(method).asType(FACTORY_TYPE);
+                }
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // try next
+            }
         }
+        log.debug("No String constructor or factory method found for {}", clazz.getName());
+        return null;
+    }
+
+    /**
+     * Returns true if strings can be converted back to objects of the class.
+     */
+    public boolean isReversible() {
+        return factory != null;
     }
 
     @Override
@@ -62,27 +93,20 @@ public class DefaultStringConverter<T> extends StringConverter<T> {
 
     @Override
     /**
-     * Converts a string back to an object using the constructor or factory methods.
+     * Converts a string back to an object using the constructor or factory method.
      * Returns null if conversion fails.
      */
     public T fromString(String string) {
-        if (constructor != null) {
-            try {
-                return constructor.newInstance(string);
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                // log something
-            }
+        if (factory == null) {
             return null;
         }
-
-        for (Method method : methods) {
-            try {
-                //noinspection unchecked
-                return (T) method.invoke(null, string);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                // log something ?
-            }
+        try {
+            return clazz.cast(factory.invokeExact(string));
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // typically an invalid value being typed
+            return null;
         }
-        return null;
     }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.util;
+
+import javafx.util.StringConverter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Shared string converters, by type. Converters are stateless and thread-safe, so a single instance per type is
+ * used by all the text fields and class configurations.
+ *
+ * The registry is seeded with converters for primitive types and their wrappers, {@link String}, {@link BigDecimal},
+ * {@link BigInteger} and the {@code java.time} types; enums get a converter that looks up constants in a
+ * precomputed map. Other types get a {@link DefaultStringConverter}, created on first use.
+ *
+ * @author oge
+ * @since 1.0
+ */
+public enum StringConverterRegistry {
+
+    INSTANCE;
+
+    private final Map<Class<?>, StringConverter<?>> converterByType = new ConcurrentHashMap<>();
+
+    StringConverterRegistry() {
+        register(String.class, Function.identity());
+        register(Boolean.class, boolean.class, Boolean::valueOf);
+        register(Byte.class, byte.class, Byte::valueOf);
+        register(Short.class, short.class, Short::valueOf);
+        register(Integer.class, int.class, Integer::valueOf);
+        register(Long.class, long.class, Long::valueOf);
+        register(Float.class, float.class, Float::valueOf);
+        register(Double.class, double.class, Double::valueOf);
+        register(Character.class, char.class, s -> s.length() == 1 ? s.charAt(0) : null);
+        register(BigDecimal.class, BigDecimal::new);
+        register(BigInteger.class, BigInteger::new);
+        register(LocalDate.class, LocalDate::parse);
+        register(LocalTime.class, LocalTime::parse);
+        register(LocalDateTime.class, LocalDateTime::parse);
+        register(OffsetDateTime.class, OffsetDateTime::parse);
+        register(OffsetTime.class, OffsetTime::parse);
+        register(ZonedDateTime.class, ZonedDateTime::parse);
+        register(Instant.class, Instant::parse);
+        register(Duration.class, Duration::parse);
+        register(Period.class, Period::parse);
+        register(Year.class, Year::parse);
+        register(YearMonth.class, YearMonth::parse);
+        register(MonthDay.class, MonthDay::parse);
+    }
+
+    private <T> void register(Class<T> type, Function<String, T> parser) {
+        converterByType.put(type, new ParsingStringConverter<>(parser));
+    }
+
+    private <T> void register(Class<T> wrapperType, Class<?> primitiveType, Function<String, T> parser) {
+        StringConverter<T> converter = new ParsingStringConverter<>(parser);
+        converterByType.put(wrapperType, converter);
+        converterByType.put(primitiveType, converter);
+    }
+
+    /**
+     * Returns the shared converter for the specified type, creating it if needed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> StringConverter<T> getConverter(Class<T> type) {
+        StringConverter<T> converter = (StringConverter<T>) converterByType.get(type);
+        if (converter == null) {
+            converter = (StringConverter<T>) converterByType.computeIfAbsent(type, StringConverterRegistry::createConverter);
+        }
+        return converter;
+    }
+
+    /**
+     * Registers the converter to use for the specified type, replacing any existing one.
+     */
+    public <T> void register(Class<T> type, StringConverter<T> converter) {
+        converterByType.put(type, converter);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static StringConverter<?> createConverter(Class<?> type) {
+        if (type.isEnum()) {
+            return new EnumStringConverter(type);
+        }
+        return new DefaultStringConverter<>(type);
+    }
+
+    /**
+     * Converter based on a parsing function; values that can't be parsed (including blank strings) convert to null
+     */
+    private static class ParsingStringConverter<T> extends StringConverter<T> {
+        private final Function<String, T> parser;
+
+        ParsingStringConverter(Function<String, T> parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public String toString(T object) {
+            return object == null ? "" : object.toString();
+        }
+
+        @Override
+        public T fromString(String string) {
+            if (string == null || string.isBlank()) {
+                return null;
+            }
+            try {
+                return parser.apply(string.trim());
+            } catch (RuntimeException e) {
+                // typically an invalid value being typed
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Converter for enums: constants are found by name or by string representation, without throwing exceptions
+     */
+    private static class EnumStringConverter<E extends Enum<E>> extends StringConverter<E> {
+        private final Map<String, E> constantByString = new HashMap<>();
+
+        EnumStringConverter(Class<E> enumType) {
+            for (E constant : enumType.getEnumConstants()) {
+                constantByString.putIfAbsent(constant.toString(), constant);
+            }
+            for (E constant : enumType.getEnumConstants()) {
+                constantByString.put(constant.name(), constant);
+            }
+        }
+
+        @Override
+        public String toString(E object) {
+            return object == null ? "" : object.toString();
+        }
+
+        @Override
+        public E fromString(String string) {
+            return string == null ? null : constantByString.get(string.trim());
+        }
+    }
+}
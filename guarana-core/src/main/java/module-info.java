@@ -25,7 +25,7 @@ module guarana.core {
     
     // Other libraries - JAR-derived module names
     requires org.slf4j;                       // SLF4J API (logging facade)
-    requires static cglib;                    // Code generation library (compile-only)
+    requires net.bytebuddy;                   // Observable wrapper generation
     requires static fast.classpath.scanner;   // Classpath scanning (compile-only)
     // Note: logback.classic is needed at runtime but not required here (logging implementation)
     
@@ -52,4 +52,5 @@ module guarana.core {
     
     uses com.ogerardin.guarana.core.config.AppConfigurationProvider;
     uses com.ogerardin.guarana.core.config.ToolkitConfigurationProvider;
+    uses com.ogerardin.guarana.core.config.ClassConfigurationProvider;
 }
@@ -7,14 +7,20 @@ package com.ogerardin.guarana.core.test;
 import com.ogerardin.guarana.core.introspection.JavaIntrospector;
 import com.ogerardin.guarana.core.metamodel.ClassInformation;
 import com.ogerardin.guarana.core.metamodel.ExecutableInformation;
+import com.ogerardin.guarana.core.test.domain.Item;
 import com.ogerardin.guarana.core.test.domain.Person;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -39,5 +45,37 @@ public class ClassInformationTest {
         Assert.assertEquals(expected, actual);
     }
 
+    @Test
+    public void testConcurrentComputeOnce() throws Exception {
+        JavaIntrospector.invalidate(Item.class);
+        final long missesBefore = JavaIntrospector.getCacheStatistics().getMissCount();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ClassInformation<Item>>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(() -> JavaIntrospector.getClassInformation(Item.class)));
+            }
+            ClassInformation<Item> first = futures.get(0).get();
+            for (Future<ClassInformation<Item>> future : futures) {
+                Assert.assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(missesBefore + 1, JavaIntrospector.getCacheStatistics().getMissCount());
+    }
+
+    @Test
+    public void testInvalidate() {
+        ClassInformation<Person> before = JavaIntrospector.getClassInformation(Person.class);
+        final long evictionsBefore = JavaIntrospector.getCacheStatistics().getEvictionCount();
+
+        JavaIntrospector.invalidate(Person.class);
+
+        Assert.assertEquals(evictionsBefore + 1, JavaIntrospector.getCacheStatistics().getEvictionCount());
+        Assert.assertNotSame(before, JavaIntrospector.getClassInformation(Person.class));
+    }
 
 }
@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.annotations.DisplayName;
+import com.ogerardin.guarana.core.annotations.Zoomable;
+import com.ogerardin.guarana.core.config.Configuration;
+import com.ogerardin.guarana.core.config.ConfigurationSnapshot;
+import com.ogerardin.guarana.core.config.EffectiveClassConfiguration;
+import com.ogerardin.guarana.core.introspection.JavaIntrospector;
+import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.test.domain.Item;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import lombok.Data;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigurationTest {
+
+    private static final String PREFIX = "guarana.class.";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testHierarchy() {
+        BaseConfiguration properties = new BaseConfiguration();
+        properties.addProperty(PREFIX + Base.class.getName() + ".hideProperties", "secret");
+        properties.addProperty(PREFIX + Base.class.getName() + ".humanizePropertyNames", false);
+        properties.addProperty(PREFIX + Shown.class.getName() + ".showProperties", "secret");
+        properties.addProperty(PREFIX + Named.class.getName() + ".hideProperties", "name");
+        properties.addProperty(PREFIX + Named.class.getName() + ".zoomable", false);
+        Configuration configuration = new Configuration(properties);
+
+        assertFalse(configuration.isShownProperty(Base.class, "secret"));
+        assertFalse(configuration.isShownProperty(Hidden.class, "secret"));
+        assertTrue(configuration.isShownProperty(Shown.class, "secret"));
+        assertTrue(configuration.isShownProperty(Hidden.class, "other"));
+        assertFalse(configuration.isHumanizePropertyNames(Shown.class));
+        // property names are humanized by default
+        assertTrue(configuration.isHumanizePropertyNames(Item.class));
+
+        // interfaces are part of the hierarchy
+        assertFalse(configuration.isShownProperty(Hidden.class, "name"));
+        assertFalse(configuration.isZoomable(Hidden.class));
+        assertTrue(configuration.isZoomable(Base.class));
+        assertFalse(configuration.isZoomable(int.class));
+    }
+
+    @Test
+    public void testPackageRules() {
+        String packagePrefix = "guarana.package.";
+        String testPackage = Base.class.getPackageName();
+        BaseConfiguration properties = new BaseConfiguration();
+        properties.addProperty(PREFIX + Object.class.getName() + ".humanizePropertyNames", true);
+        properties.addProperty(packagePrefix + "com.ogerardin.guarana.*.hideProperties", List.of("name", "secret"));
+        properties.addProperty(packagePrefix + "com.ogerardin.guarana.*.humanizePropertyNames", false);
+        properties.addProperty(packagePrefix + testPackage + ".zoomable", false);
+        properties.addProperty(packagePrefix + Item.class.getPackageName() + ".showProperties", "name");
+        properties.addProperty(PREFIX + Shown.class.getName() + ".showProperties", "secret");
+        Configuration configuration = new Configuration(properties);
+
+        // recursive rule of an enclosing package, overridden by the rule of the package itself
+        assertFalse(configuration.isShownProperty(Item.class, "secret"));
+        assertTrue(configuration.isShownProperty(Item.class, "name"));
+        // a rule without wildcard doesn't apply to subpackages
+        assertTrue(configuration.isZoomable(Item.class));
+        assertFalse(configuration.isZoomable(Base.class));
+        assertFalse(configuration.isZoomable(Named.class));
+        assertFalse(configuration.isShownProperty(Base.class, "name"));
+        // package rules override java.lang.Object but not a class of the hierarchy
+        assertFalse(configuration.isHumanizePropertyNames(Base.class));
+        assertTrue(configuration.isShownProperty(Shown.class, "secret"));
+        // classes outside the packages are not affected
+        assertTrue(configuration.isHumanizePropertyNames(String.class));
+        assertTrue(configuration.isShownProperty(String.class, "name"));
+    }
+
+    @Test
+    public void testLinearization() {
+        assertEquals(List.of(Shown.class, Base.class, Object.class),
+                EffectiveClassConfiguration.linearize(Shown.class));
+        assertEquals(List.of(Hidden.class, Named.class, Base.class, Object.class),
+                EffectiveClassConfiguration.linearize(Hidden.class));
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        Configuration configuration = new Configuration(new BaseConfiguration());
+
+        EffectiveClassConfiguration<Shown> shown = configuration.getEffectiveConfiguration(Shown.class);
+        EffectiveClassConfiguration<String> unrelated = configuration.getEffectiveConfiguration(String.class);
+        assertSame(shown, configuration.getEffectiveConfiguration(Shown.class));
+        assertTrue(shown.isShownProperty("other"));
+
+        configuration.forClass(Base.class).hideProperties("other");
+        assertNotSame(shown, configuration.getEffectiveConfiguration(Shown.class));
+        assertFalse(configuration.isShownProperty(Shown.class, "other"));
+        assertSame(unrelated, configuration.getEffectiveConfiguration(String.class));
+
+        configuration.forClass(Named.class).hideMethods("getName");
+        assertTrue(configuration.isHidden(Hidden.class, Named.class.getMethod("getName")));
+        assertFalse(configuration.isHidden(Shown.class, Named.class.getMethod("getName")));
+    }
+
+    @Test
+    public void testHiddenMethods() throws Exception {
+        BaseConfiguration properties = new BaseConfiguration();
+        properties.addProperty(PREFIX + Overloaded.class.getName() + ".hideMethods",
+                List.of("run", "start(String)", "st?p"));
+        Configuration configuration = new Configuration(properties);
+
+        // all overloads of a name, a single signature, a glob pattern
+        assertTrue(configuration.isHidden(Overloaded.class, Overloaded.class.getMethod("run")));
+        assertTrue(configuration.isHidden(Overloaded.class, Overloaded.class.getMethod("run", int.class)));
+        assertTrue(configuration.isHidden(Overloaded.class, Overloaded.class.getMethod("start", String.class)));
+        assertFalse(configuration.isHidden(Overloaded.class, Overloaded.class.getMethod("start", int.class)));
+        assertTrue(configuration.isHidden(Overloaded.class, Overloaded.class.getMethod("stop")));
+        // patterns only apply to the methods declared by the class
+        assertFalse(configuration.isHidden(Overloaded.class, Object.class.getMethod("toString")));
+
+        ClassInformation<Overloaded> classInformation = JavaIntrospector.getClassInformation(Overloaded.class);
+        EffectiveClassConfiguration<Overloaded> effective = configuration.getEffectiveConfiguration(Overloaded.class);
+        BitSet visible = effective.getVisibleMethods(classInformation);
+        assertEquals(visible, effective.getVisibleMethods(classInformation));
+        // callers get a copy and can't corrupt the cached set
+        effective.getVisibleMethods(classInformation).clear();
+        assertEquals(visible, effective.getVisibleMethods(classInformation));
+        Set<String> visibleSignatures = visible.stream()
+                .mapToObj(i -> classInformation.getMethods().get(i).getSignature())
+                .collect(Collectors.toSet());
+        assertTrue(visibleSignatures.contains("start(int)"));
+        assertTrue(visibleSignatures.contains("toString()"));
+        assertFalse(visibleSignatures.contains("run()"));
+        assertFalse(visibleSignatures.contains("start(java.lang.String)"));
+
+        configuration.forClass(Overloaded.class).hideAllMethods();
+        assertTrue(configuration.isHidden(Overloaded.class, Overloaded.class.getMethod("start", int.class)));
+        assertTrue(configuration.getEffectiveConfiguration(Overloaded.class).getVisibleMethods(classInformation)
+                .stream().allMatch(i -> classInformation.getMethods().get(i).getExecutable().getDeclaringClass()
+                        != Overloaded.class));
+    }
+
+    @Test
+    public void testSnapshot() {
+        Configuration configuration = new Configuration(new BaseConfiguration());
+        ConfigurationSnapshot before = configuration.snapshot();
+
+        configuration.forClass(Base.class).hideProperties("other");
+        ConfigurationSnapshot after = configuration.snapshot();
+
+        // older snapshots are not affected by changes
+        assertTrue(before.isShownProperty(Shown.class, "other"));
+        assertFalse(after.isShownProperty(Shown.class, "other"));
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(after.getVersion(), configuration.getVersion());
+        assertTrue(after.getClassSnapshot(Base.class).getHiddenProperties().contains("other"));
+    }
+
+    @Test
+    public void testConcurrentReadsAndWrites() throws Exception {
+        Configuration configuration = new Configuration(new BaseConfiguration());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    configuration.forClass(Base.class).hideProperties("p" + i);
+                    configuration.forClass(Shown.class).showProperties("p" + i);
+                }
+            });
+            Future<?> reader = executor.submit(() -> {
+                while (!writer.isDone()) {
+                    ConfigurationSnapshot snapshot = configuration.snapshot();
+                    if (snapshot.getClassSnapshot(Shown.class) == null) {
+                        continue;
+                    }
+                    // within a snapshot, a property shown for Shown is always hidden for Base
+                    for (String property : snapshot.getClassSnapshot(Shown.class).getShownProperties()) {
+                        assertTrue(snapshot.isShownProperty(Shown.class, property));
+                        assertFalse(snapshot.isShownProperty(Base.class, property));
+                    }
+                }
+            });
+            writer.get(30, TimeUnit.SECONDS);
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(500, configuration.forClass(Base.class).getHiddenProperties().size());
+        assertFalse(configuration.isShownProperty(Base.class, "p499"));
+        assertTrue(configuration.isShownProperty(Shown.class, "p499"));
+    }
+
+    @Test
+    public void testHotReload() throws Exception {
+        Path file = folder.newFile("guarana.properties").toPath();
+        Files.write(file, List.of(
+                PREFIX + Base.class.getName() + ".hideProperties=secret",
+                PREFIX + Named.class.getName() + ".zoomable=false"));
+        Configuration configuration = new Configuration(file);
+        assertFalse(configuration.isShownProperty(Shown.class, "secret"));
+        EffectiveClassConfiguration<Named> named = configuration.getEffectiveConfiguration(Named.class);
+
+        BlockingQueue<Set<Class<?>>> changes = new LinkedBlockingQueue<>();
+        configuration.addListener(changes::add);
+        configuration.startHotReload();
+        try {
+            // replace the file atomically so that it's never seen partially written
+            Path tmp = folder.newFile().toPath();
+            Files.write(tmp, List.of(
+                    PREFIX + Base.class.getName() + ".hideProperties=other",
+                    PREFIX + Named.class.getName() + ".zoomable=false"));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            assertEquals(Set.of(Base.class), changes.poll(30, TimeUnit.SECONDS));
+        } finally {
+            configuration.stopHotReload();
+        }
+
+        // keys removed from the file are no longer applied
+        assertTrue(configuration.isShownProperty(Shown.class, "secret"));
+        assertFalse(configuration.isShownProperty(Shown.class, "other"));
+        // classes that are not affected by the change keep their configuration
+        assertSame(named, configuration.getEffectiveConfiguration(Named.class));
+    }
+
+    @Test
+    public void testClassPropertiesAppliedWhenNeeded() {
+        BaseConfiguration properties = new BaseConfiguration();
+        properties.addProperty(PREFIX + Lazy.class.getName() + ".hideProperties", "secret");
+        properties.addProperty(PREFIX + "com.example.Missing.hideProperties", "secret");
+        properties.addProperty(PREFIX + "com.example.Missing.zoomable", false);
+        Configuration configuration = new Configuration(properties);
+
+        // configured classes are not loaded by the configuration
+        assertFalse(lazyInitialized);
+        assertEquals(Set.of("com.example.Missing"), configuration.getUnknownClassNames());
+
+        ConfigurationSnapshot snapshot = configuration.snapshot();
+        assertFalse(configuration.isShownProperty(Lazy.class, "secret"));
+        // applying the properties of a class is not a change
+        assertEquals(snapshot.getVersion(), configuration.getVersion());
+        assertFalse(snapshot.isShownProperty(Lazy.class, "secret"));
+
+        // programmatic changes add to the properties
+        configuration.forClass(Lazy.class).hideProperties("other");
+        assertFalse(configuration.isShownProperty(Lazy.class, "secret"));
+        assertFalse(configuration.isShownProperty(Lazy.class, "other"));
+        assertTrue(snapshot.isShownProperty(Lazy.class, "other"));
+    }
+
+    @Test
+    public void testUnknownClassNamesReportedOnce() {
+        BaseConfiguration properties = new BaseConfiguration();
+        properties.addProperty(PREFIX + "com.example.Missing.hideProperties", "secret");
+        properties.addProperty(PREFIX + "com.example.Missing.zoomable", false);
+        properties.addProperty(PREFIX + "com.example.Other.hideProperties", "secret");
+        properties.addProperty(PREFIX + Shown.class.getName() + ".hideProperties", "secret");
+        Configuration configuration = new Configuration(properties);
+
+        Logger logger = (Logger) LoggerFactory.getLogger(Configuration.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            assertEquals(Set.of("com.example.Missing", "com.example.Other"), configuration.reportUnknownClassNames());
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        List<ILoggingEvent> warnings = appender.list.stream()
+                .filter(event -> event.getLevel() == Level.WARN)
+                .collect(Collectors.toList());
+        assertEquals(1, warnings.size());
+        String message = warnings.get(0).getFormattedMessage();
+        assertTrue(message.contains("com.example.Missing"));
+        assertTrue(message.contains("com.example.Other"));
+        assertFalse(message.contains(Shown.class.getName()));
+    }
+
+    @Test
+    public void testSnapshotNotAffectedByNewProviders() {
+        Configuration configuration = new Configuration(new BaseConfiguration());
+        // Shown is not configured yet: its settings are resolved when it is first queried
+        ConfigurationSnapshot snapshot = configuration.snapshot();
+
+        configuration.addClassConfigurationProvider(registry ->
+                registry.register(Shown.class.getName(), classConfiguration -> classConfiguration.hideProperties("secret")));
+        assertTrue(configuration.getVersion() > snapshot.getVersion());
+        assertFalse(configuration.isShownProperty(Shown.class, "secret"));
+        assertTrue(snapshot.isShownProperty(Shown.class, "secret"));
+    }
+
+    @Test
+    public void testAnnotations() throws Exception {
+        // generated by guarana-processor; registered explicitly since tests run in the core module, where
+        // META-INF/services is not used
+        Configuration configuration = new Configuration(new BaseConfiguration());
+        configuration.addClassConfigurationProvider(new GuaranaClassConfiguration());
+        assertEquals("Annotated thing", configuration.getEffectiveConfiguration(Annotated.class).getDisplayName());
+        assertFalse(configuration.isShownProperty(Annotated.class, "secret"));
+        assertFalse(configuration.isShownProperty(Annotated.class, "code"));
+        assertTrue(configuration.isShownProperty(Annotated.class, "name"));
+        assertFalse(configuration.isZoomable(Annotated.class));
+        assertTrue(configuration.isHidden(Annotated.class, Annotated.class.getMethod("reset", int.class)));
+        assertFalse(configuration.isHidden(Annotated.class, Annotated.class.getMethod("reset")));
+
+        // properties override annotations
+        BaseConfiguration properties = new BaseConfiguration();
+        properties.addProperty(PREFIX + Annotated.class.getName() + ".displayName", "Overridden");
+        properties.addProperty(PREFIX + Annotated.class.getName() + ".showProperties", "code");
+        Configuration overridden = new Configuration(properties);
+        overridden.addClassConfigurationProvider(new GuaranaClassConfiguration());
+        assertEquals("Overridden", overridden.getEffectiveConfiguration(Annotated.class).getDisplayName());
+        assertTrue(overridden.isShownProperty(Annotated.class, "code"));
+        assertFalse(overridden.isShownProperty(Annotated.class, "secret"));
+    }
+
+    @Data
+    @DisplayName("Annotated thing")
+    @Zoomable(false)
+    public static class Annotated {
+        String name;
+        @com.ogerardin.guarana.core.annotations.Hidden
+        String code;
+
+        @com.ogerardin.guarana.core.annotations.Hidden
+        public String getSecret() {
+            return null;
+        }
+
+        public void reset() {
+        }
+
+        @com.ogerardin.guarana.core.annotations.Hidden
+        public void reset(int level) {
+        }
+    }
+
+    public static class Overloaded {
+        public void run() {
+        }
+
+        public void run(int times) {
+        }
+
+        public void start(String name) {
+        }
+
+        public void start(int index) {
+        }
+
+        public void stop() {
+        }
+    }
+
+    private static volatile boolean lazyInitialized = false;
+
+    public static class Lazy {
+        static {
+            lazyInitialized = true;
+        }
+    }
+
+    public interface Named {
+        String getName();
+    }
+
+    public static class Base {
+    }
+
+    public static class Shown extends Base {
+    }
+
+    public static class Hidden extends Base implements Named {
+        @Override
+        public String getName() {
+            return null;
+        }
+    }
+}
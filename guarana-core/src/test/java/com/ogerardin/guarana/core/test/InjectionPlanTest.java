@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.annotations.Service;
+import com.ogerardin.guarana.core.introspection.JavaIntrospector;
+import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.metamodel.ExecutableInformation;
+import com.ogerardin.guarana.core.metamodel.InjectionPlan;
+import com.ogerardin.guarana.core.registry.ServiceRegistry;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InjectionPlanTest {
+
+    @After
+    public void clearRegistry() {
+        ServiceRegistry.INSTANCE.clear();
+    }
+
+    @Test
+    public void testIsService() {
+        assertTrue(JavaIntrospector.isService(Clock.class));
+        assertFalse(JavaIntrospector.isService(Report.class));
+        assertTrue(JavaIntrospector.getClassInformation(Clock.class).isService());
+    }
+
+    @Test
+    public void testPlan() {
+        InjectionPlan plan = getExecutable(Report.class, "publish(java.lang.String,"
+                + InjectionPlanTest.class.getName() + "$Clock)").getInjectionPlan();
+        assertFalse(plan.isService(0));
+        assertTrue(plan.isService(1));
+        assertFalse(plan.isComplete());
+        assertFalse(plan.isSatisfiedBy(ServiceRegistry.INSTANCE));
+
+        Clock clock = new FixedClock();
+        ServiceRegistry.INSTANCE.register(clock);
+        assertTrue(plan.isSatisfiedBy(ServiceRegistry.INSTANCE));
+        assertArrayEquals(new Object[]{"title", clock}, plan.resolveArguments(ServiceRegistry.INSTANCE, new Object[]{"title", null}));
+
+        InjectionPlan servicesOnly = getExecutable(Report.class, "<init>(" + InjectionPlanTest.class.getName() + "$Clock)")
+                .getInjectionPlan();
+        assertTrue(servicesOnly.isComplete());
+        assertArrayEquals(new Object[]{clock}, servicesOnly.resolveArguments(ServiceRegistry.INSTANCE));
+    }
+
+    @Test
+    public void testPlanComputedOnce() {
+        ExecutableInformation executable = getExecutable(Report.class, "<init>()");
+        assertSame(executable.getInjectionPlan(), executable.getInjectionPlan());
+        assertTrue(executable.getInjectionPlan().isEmpty());
+        assertTrue(executable.getInjectionPlan().isComplete());
+    }
+
+    @Test
+    public void testParameterTypesNotIntrospected() {
+        ClassInformation<Audit> classInformation = JavaIntrospector.getClassInformation(Audit.class);
+        long misses = JavaIntrospector.getCacheStatistics().getMissCount();
+        classInformation.getMethods();
+        classInformation.getConstructors();
+        getExecutable(Audit.class, "check(" + InjectionPlanTest.class.getName() + "$Clock)").getInjectionPlan();
+        assertEquals(misses, JavaIntrospector.getCacheStatistics().getMissCount());
+    }
+
+    @Test
+    public void testLookupBySubtype() {
+        FixedClock clock = new FixedClock();
+        ServiceRegistry.INSTANCE.register(FixedClock.class, clock);
+        assertSame(clock, ServiceRegistry.INSTANCE.lookup(Clock.class).get());
+        ServiceRegistry.INSTANCE.unregister(FixedClock.class);
+        assertFalse(ServiceRegistry.INSTANCE.isAvailable(Clock.class));
+    }
+
+    private static ExecutableInformation getExecutable(Class<?> clazz, String signature) {
+        return JavaIntrospector.getClassInformation(clazz).getExecutable(signature).orElseThrow(AssertionError::new);
+    }
+
+    @Service
+    public interface Clock {
+        long now();
+    }
+
+    public static class FixedClock implements Clock {
+        @Override
+        public long now() {
+            return 0;
+        }
+    }
+
+    public static class Report {
+        public Report() {
+        }
+
+        public Report(Clock clock) {
+        }
+
+        public void publish(String title, Clock clock) {
+        }
+    }
+
+    public static class Audit {
+        public void check(Clock clock) {
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.introspection.JavaClassIntrospector;
+import com.ogerardin.guarana.core.introspection.ReflectionClassIntrospector;
+import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.metamodel.Introspector;
+import com.ogerardin.guarana.core.test.domain.Item;
+import com.ogerardin.guarana.core.test.domain.Person;
+import com.ogerardin.guarana.core.test.domain.Thing;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the heap retained per introspected class by {@link JavaClassIntrospector} and
+ * {@link ReflectionClassIntrospector}: the used heap after a full GC is compared before and after introspecting the
+ * public top-level classes of a few {@code java.base} packages and the test domain classes, with their properties,
+ * methods and constructors resolved and kept reachable. The reflection data cached by {@link Class} itself is
+ * populated beforehand, since both introspectors share it. Run with
+ * {@code mvn -pl guarana-core test -Dtest=IntrospectorMemoryTest} to print the figures.
+ */
+@Slf4j
+public class IntrospectorMemoryTest {
+
+    private static final String[] JDK_PACKAGES = {"java/io", "java/net", "java/text", "java/time", "java/util"};
+
+    @Test
+    public void testRetainedHeapPerClass() throws IOException {
+        List<Class<?>> classes = getClasses();
+        classes.forEach(IntrospectorMemoryTest::populateReflectionData);
+
+        // measure each introspector twice and keep the lower figure, to smooth out the first-use allocations
+        long javaBeans = Long.MAX_VALUE;
+        long reflection = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            javaBeans = Math.min(javaBeans, measure(classes, JavaClassIntrospector::new));
+            reflection = Math.min(reflection, measure(classes, ReflectionClassIntrospector::new));
+        }
+        log.info("Retained heap per introspected class ({} classes, Java {}): {} bytes with JavaClassIntrospector, "
+                        + "{} bytes with ReflectionClassIntrospector",
+                classes.size(), Runtime.version().feature(), javaBeans, reflection);
+
+        assertTrue(reflection < javaBeans);
+    }
+
+    /**
+     * Returns the average heap retained by the {@link ClassInformation} of each class, built with the specified
+     * introspector.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static long measure(List<Class<?>> classes, Function<Class<?>, Introspector<?>> introspectorFactory) {
+        java.beans.Introspector.flushCaches();
+        long before = usedHeap();
+
+        List<ClassInformation<?>> classInformations = new ArrayList<>();
+        for (Class<?> clazz : classes) {
+            ClassInformation<?> classInformation = new ClassInformation(clazz, introspectorFactory.apply(clazz));
+            classInformation.getProperties();
+            classInformation.getMethods();
+            classInformation.getConstructors();
+            classInformations.add(classInformation);
+        }
+
+        long after = usedHeap();
+        Reference.reachabilityFence(classInformations);
+        java.beans.Introspector.flushCaches();
+        return (after - before) / classes.size();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    private static void populateReflectionData(Class<?> clazz) {
+        clazz.getMethods();
+        clazz.getDeclaredMethods();
+        clazz.getConstructors();
+        clazz.getDeclaredConstructors();
+        clazz.getFields();
+        clazz.getDeclaredFields();
+    }
+
+    private static List<Class<?>> getClasses() throws IOException {
+        List<Class<?>> classes = new ArrayList<>(List.of(Person.class, Thing.class, Item.class));
+        FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        for (String pkg : JDK_PACKAGES) {
+            try (Stream<Path> files = Files.list(jrt.getPath("modules", "java.base", pkg))) {
+                List<String> classNames = files
+                        .map(file -> file.getFileName().toString())
+                        .filter(name -> name.endsWith(".class") && !name.contains("$") && !name.equals("package-info.class"))
+                        .map(name -> pkg.replace('/', '.') + "." + name.substring(0, name.length() - ".class".length()))
+                        .sorted()
+                        .collect(Collectors.toList());
+                for (String className : classNames) {
+                    try {
+                        Class<?> clazz = Class.forName(className, false, ClassLoader.getSystemClassLoader());
+                        if (Modifier.isPublic(clazz.getModifiers())) {
+                            classes.add(clazz);
+                        }
+                    } catch (ClassNotFoundException | LinkageError e) {
+                        log.debug("Skipping " + className + ": " + e);
+                    }
+                }
+            }
+        }
+        return classes;
+    }
+}
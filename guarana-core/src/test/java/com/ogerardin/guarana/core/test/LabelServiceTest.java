@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.config.Configuration;
+import com.ogerardin.guarana.core.config.LabelService;
+import com.ogerardin.guarana.core.config.Util;
+import com.ogerardin.guarana.core.introspection.JavaIntrospector;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+import lombok.Data;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.junit.Test;
+
+import java.util.ListResourceBundle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks label resolution and caching.
+ */
+public class LabelServiceTest {
+
+    @Test
+    public void testHumanize() {
+        assertEquals("First Name", Util.humanize("firstName"));
+        assertEquals("Url Value", Util.humanize("URLValue"));
+        assertEquals("Get Url", Util.humanize("getURL"));
+        assertEquals("Person", Util.humanize("Person"));
+        assertEquals("X", Util.humanize("x"));
+        assertEquals("", Util.humanize(""));
+    }
+
+    @Test
+    public void testLabels() {
+        BaseConfiguration properties = new BaseConfiguration();
+        properties.addProperty("guarana.humanizeClassNames", true);
+        properties.addProperty("guarana.class.java.lang.Object.humanizePropertyNames", true);
+        Configuration configuration = new Configuration(properties);
+        LabelService labels = configuration.getLabels();
+
+        PropertyInformation firstName = getProperty("firstName");
+        String label = labels.getPropertyLabel(Contact.class, firstName);
+        assertEquals("First Name", label);
+        // computed once
+        assertSame(label, labels.getPropertyLabel(Contact.class, firstName));
+
+        labels.setNamingStrategy(String::toUpperCase);
+        assertEquals("FIRSTNAME", labels.getPropertyLabel(Contact.class, firstName));
+
+        labels.setResourceBundle(new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][]{
+                        {Contact.class.getName(), "Individual"},
+                        {Contact.class.getName() + ".firstName", "Given name"},
+                };
+            }
+        });
+        assertEquals("Individual", labels.getClassLabel(Contact.class));
+        assertEquals("Given name", labels.getPropertyLabel(Contact.class, firstName));
+        assertEquals("LASTNAME", labels.getPropertyLabel(Contact.class, getProperty("lastName")));
+
+        // configuration changes discard cached labels
+        String cached = labels.getPropertyLabel(Contact.class, getProperty("lastName"));
+        configuration.forClass(Contact.class).setHumanizePropertyNames(false);
+        assertNotSame(cached, labels.getPropertyLabel(Contact.class, getProperty("lastName")));
+        assertEquals("lastName", labels.getPropertyLabel(Contact.class, getProperty("lastName")));
+    }
+
+    private static PropertyInformation getProperty(String name) {
+        return JavaIntrospector.getClassInformation(Contact.class).getProperty(name).orElseThrow();
+    }
+
+    @Data
+    public static class Contact {
+        String firstName;
+        String lastName;
+    }
+}
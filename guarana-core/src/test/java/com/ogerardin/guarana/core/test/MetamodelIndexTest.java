@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.introspection.IndexedClassIntrospector;
+import com.ogerardin.guarana.core.introspection.JavaClassIntrospector;
+import com.ogerardin.guarana.core.introspection.MetamodelIndex;
+import com.ogerardin.guarana.core.metamodel.Introspector;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+import com.ogerardin.guarana.core.test.domain.Item;
+import com.ogerardin.guarana.core.test.domain.Person;
+import com.ogerardin.guarana.core.test.domain.Thing;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that the build-time metamodel index gives the same results as JavaBeans introspection.
+ */
+public class MetamodelIndexTest {
+
+    @Test
+    public void testIndexed() {
+        Assert.assertTrue(MetamodelIndex.isIndexed(Person.class));
+        Assert.assertTrue(MetamodelIndex.isIndexed(Thing.class));
+        Assert.assertFalse(MetamodelIndex.isIndexed(MetamodelIndexTest.class));
+        Assert.assertFalse(MetamodelIndex.isIndexed(String.class));
+    }
+
+    @Test
+    public void testSameAsJavaBeans() {
+        assertSameIntrospection(Person.class);
+        assertSameIntrospection(Thing.class);
+        assertSameIntrospection(Item.class);
+    }
+
+    private static <C> void assertSameIntrospection(Class<C> clazz) {
+        Introspector<C> expected = new JavaClassIntrospector<>(clazz);
+        Introspector<C> actual = new IndexedClassIntrospector<>(clazz);
+
+        Assert.assertEquals(describe(expected.getProperties()), describe(actual.getProperties()));
+        Assert.assertEquals(new HashSet<>(expected.getMethods()), new HashSet<>(actual.getMethods()));
+        Assert.assertEquals(new HashSet<>(expected.getConstructors()), new HashSet<>(actual.getConstructors()));
+        Assert.assertEquals(expected.getSimpleName(), actual.getSimpleName());
+        Assert.assertEquals(expected.getDisplayName(), actual.getDisplayName());
+    }
+
+    private static List<String> describe(List<PropertyInformation> properties) {
+        return properties.stream()
+                .map(p -> p.getName() + " " + p.getPropertyType() + " " + p.getReadMethod() + " " + p.getWriteMethod())
+                .collect(Collectors.toList());
+    }
+}
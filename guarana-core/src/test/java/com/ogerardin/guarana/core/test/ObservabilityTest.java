@@ -1,17 +1,48 @@
 package com.ogerardin.guarana.core.test;
 
+import com.ogerardin.guarana.core.config.Configuration;
+import com.ogerardin.guarana.core.introspection.JavaIntrospector;
+import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.observability.AsyncPropertyChangeDispatcher;
+import com.ogerardin.guarana.core.observability.BatchPropertyChangeEvent;
+import com.ogerardin.guarana.core.observability.ListenerMonitor;
+import com.ogerardin.guarana.core.observability.ListenerRegistration;
 import com.ogerardin.guarana.core.observability.Observable;
 import com.ogerardin.guarana.core.observability.ObservableFactory;
+import com.ogerardin.guarana.core.observability.PropertyChangeDispatcher;
 import lombok.Data;
+import lombok.ToString;
+import org.apache.commons.configuration2.BaseConfiguration;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 public class ObservabilityTest {
 
@@ -34,9 +65,465 @@ public class ObservabilityTest {
         assertEquals("value1", argument.getValue().getNewValue());
     }
 
+    @Test
+    public void testWrapperClassReused() {
+        ItemPojo pojo1 = new ItemPojo();
+        pojo1.setName("value1");
+        ItemPojo pojo2 = new ItemPojo();
+        pojo2.setName("value2");
+
+        ItemPojo observable1 = ObservableFactory.createObservable(pojo1);
+        ItemPojo observable2 = ObservableFactory.createObservable(pojo2);
+
+        assertSame(observable1.getClass(), observable2.getClass());
+        // the wrapper's constructor doesn't affect the wrapped object, other calls are delegated to it
+        assertEquals("value1", pojo1.getName());
+        assertEquals("value1", observable1.getName());
+        assertEquals("value2", observable2.getName());
+    }
+
+    @Test
+    public void testNonPublicMembers() {
+        // package-private constructor
+        PackagePrivateConstructorPojo pojo = new PackagePrivateConstructorPojo();
+        PackagePrivateConstructorPojo observablePojo = ObservableFactory.createObservable(pojo);
+        PropertyChangeListener listener = mock(PropertyChangeListener.class);
+        ((Observable) observablePojo).addPropertyChangeListener(listener);
+        observablePojo.setName("value1");
+        verify(listener).propertyChange(any());
+        assertEquals("value1", pojo.getName());
+        // public method inherited from a package-private class
+        assertEquals("hello value1", observablePojo.greet());
+
+        // private constructor
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> ObservableFactory.createObservable(PrivateConstructorPojo.create()));
+        assertTrue(e.getMessage(), e.getMessage().contains("private"));
+    }
+
+    @Test
+    public void testJdkClass() {
+        Date date = new Date(0);
+        Date observableDate = ObservableFactory.createObservable(date);
+        PropertyChangeListener listener = mock(PropertyChangeListener.class);
+        ((Observable) observableDate).addPropertyChangeListener(listener);
+        observableDate.setTime(1000);
+        verify(listener).propertyChange(any());
+        assertEquals(1000, date.getTime());
+    }
+
+    @Test
+    public void testBatchedChanges() {
+        ItemPojo pojo = new ItemPojo();
+        pojo.setName("value0");
+        pojo.setDescription("description0");
+
+        ItemPojo observablePojo = ObservableFactory.createObservable(pojo);
+        Observable observable = (Observable) observablePojo;
+
+        PropertyChangeListener listener = mock(PropertyChangeListener.class);
+        observable.addPropertyChangeListener(listener);
+
+        observable.runBatched(() -> {
+            observablePojo.setName("value1");
+            observable.runBatched(() -> observablePojo.setName("value2"));
+            // back to its initial value: not notified
+            observablePojo.setDescription("description1");
+            observablePojo.setDescription("description0");
+        });
+
+        ArgumentCaptor<PropertyChangeEvent> argument = ArgumentCaptor.forClass(PropertyChangeEvent.class);
+        verify(listener).propertyChange(argument.capture());
+        BatchPropertyChangeEvent event = (BatchPropertyChangeEvent) argument.getValue();
+        assertNull(event.getPropertyName());
+        assertEquals(Set.of("name"), event.getChanges().keySet());
+        assertEquals("value0", event.getChanges().get("name").getOldValue());
+        assertEquals("value2", event.getChanges().get("name").getNewValue());
+
+        // nothing changed: no event
+        observable.runBatched(() -> observablePojo.setName("value2"));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testBatchIsPerThread() throws InterruptedException {
+        ItemPojo observablePojo = ObservableFactory.createObservable(new ItemPojo());
+        Observable observable = (Observable) observablePojo;
+        List<PropertyChangeEvent> events = new CopyOnWriteArrayList<>();
+        observable.addPropertyChangeListener(events::add);
+
+        observable.beginBatch();
+        observablePojo.setName("value1");
+        // another thread's change is not part of the batch
+        Thread other = new Thread(() -> observablePojo.setDescription("description1"));
+        other.start();
+        other.join();
+        assertEquals(1, events.size());
+        assertEquals("description", events.get(0).getPropertyName());
+        // nor can another thread commit it
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        Thread committer = new Thread(observable::commit);
+        committer.setUncaughtExceptionHandler((thread, e) -> errors.add(e));
+        committer.start();
+        committer.join();
+        assertTrue(errors.get(0) instanceof IllegalStateException);
+
+        observable.commit();
+        assertEquals(2, events.size());
+        assertEquals(Set.of("name"), ((BatchPropertyChangeEvent) events.get(1)).getChanges().keySet());
+    }
+
+    @Test
+    public void testAsyncDispatch() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ObservableFactory.setDispatcher(new AsyncPropertyChangeDispatcher(executor, 2,
+                AsyncPropertyChangeDispatcher.BackPressurePolicy.FAIL));
+        try {
+            ItemPojo observablePojo = ObservableFactory.createObservable(new ItemPojo());
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<Object> received = new CopyOnWriteArrayList<>();
+            ((Observable) observablePojo).addPropertyChangeListener(event -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                received.add(event.getNewValue());
+            });
+
+            // the setters return while the listener is blocked
+            observablePojo.setName("value1");
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // value1 is being delivered, value2 and value3 fill the queue
+            observablePojo.setName("value2");
+            observablePojo.setName("value3");
+            assertThrows(RejectedExecutionException.class, () -> observablePojo.setName("value4"));
+            // the change was applied, only its notification was dropped
+            assertEquals("value4", observablePojo.getName());
+            assertTrue(received.isEmpty());
+
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(List.of("value1", "value2", "value3"), received);
+        } finally {
+            ObservableFactory.setDispatcher(PropertyChangeDispatcher.SYNCHRONOUS);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAsyncDispatchAfterListenerError() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ObservableFactory.setDispatcher(new AsyncPropertyChangeDispatcher(executor, 16,
+                AsyncPropertyChangeDispatcher.BackPressurePolicy.FAIL));
+        try {
+            ItemPojo observablePojo = ObservableFactory.createObservable(new ItemPojo());
+            CountDownLatch delivered = new CountDownLatch(2);
+            ((Observable) observablePojo).addPropertyChangeListener(event -> {
+                delivered.countDown();
+                if ("value1".equals(event.getNewValue())) {
+                    throw new AssertionError("listener failure");
+                }
+            });
+
+            observablePojo.setName("value1");
+            observablePojo.setName("value2");
+            // the Error killed the first drain task but not the channel
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        } finally {
+            ObservableFactory.setDispatcher(PropertyChangeDispatcher.SYNCHRONOUS);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEventDispatchConfiguration() {
+        BaseConfiguration properties = new BaseConfiguration();
+        properties.addProperty("guarana.eventDispatch", "async");
+        try {
+            new Configuration(properties);
+            PropertyChangeDispatcher dispatcher = ObservableFactory.getDispatcher();
+            assertTrue(dispatcher instanceof AsyncPropertyChangeDispatcher);
+            // another configuration with the same mode keeps the dispatcher of the existing wrappers
+            new Configuration(properties);
+            assertSame(dispatcher, ObservableFactory.getDispatcher());
+
+            ItemPojo observablePojo = ObservableFactory.createObservable(new ItemPojo());
+            List<Object> received = new CopyOnWriteArrayList<>();
+            ((Observable) observablePojo).addPropertyChangeListener(event -> received.add(event.getNewValue()));
+
+            // changing the mode closes the previous dispatcher: its wrappers now notify in the setter
+            properties.setProperty("guarana.eventDispatch", "sync");
+            new Configuration(properties);
+            assertSame(PropertyChangeDispatcher.SYNCHRONOUS, ObservableFactory.getDispatcher());
+            assertTrue(((AsyncPropertyChangeDispatcher) dispatcher).isClosed());
+            observablePojo.setName("value1");
+            assertEquals(List.of("value1"), received);
+        } finally {
+            ObservableFactory.setDispatcher(PropertyChangeDispatcher.SYNCHRONOUS);
+        }
+    }
+
+    @Test
+    public void testDeepObservable() {
+        CategoryPojo root = new CategoryPojo();
+        root.setName("root");
+        root.setParent(root);
+        CategoryPojo child = new CategoryPojo();
+        child.setName("child");
+        child.setParent(root);
+        ItemPojo item = new ItemPojo();
+        item.setName("item");
+        root.setItems(new ArrayList<>(List.of(item)));
+
+        CategoryPojo observableChild = ObservableFactory.createDeepObservable(child);
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        ((Observable) observableChild).addPropertyChangeListener(events::add);
+
+        CategoryPojo observableRoot = observableChild.getParent();
+        assertSame(observableRoot, observableChild.getParent());
+        observableRoot.setName("top");
+        observableRoot.getItems().get(0).setName("item1");
+        observableRoot.getItems().add(new ItemPojo());
+        // cycle: root is returned as is
+        assertSame(root, observableRoot.getParent());
+
+        assertEquals(List.of("parent.name", "parent.items[0].name", "parent.items[1]"),
+                events.stream().map(PropertyChangeEvent::getPropertyName).toList());
+        assertEquals("item1", events.get(1).getNewValue());
+        assertEquals("top", root.getName());
+        assertEquals("item1", item.getName());
+        assertEquals(2, root.getItems().size());
+
+        // setting a child wrapper stores the object itself; a replaced child is no longer observed
+        observableChild.setParent(observableRoot);
+        assertSame(root, child.getParent());
+        observableChild.setParent(null);
+        events.clear();
+        observableRoot.setName("detached");
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testDeepChildrenNotCached() {
+        CategoryPojo root = new CategoryPojo();
+        CategoryPojo child = new CategoryPojo();
+        root.setParent(child);
+        CategoryPojo observableRoot = ObservableFactory.createDeepObservable(root);
+        List<String> paths = new ArrayList<>();
+        ((Observable) observableRoot).addPropertyChangeListener(event -> paths.add(event.getPropertyName()));
+
+        // the child wrapper belongs to the deep wrapper and is not the cached wrapper of the child
+        CategoryPojo observableChild = observableRoot.getParent();
+        CategoryPojo cachedChild = ObservableFactory.createObservable(child);
+        assertNotSame(cachedChild, observableChild);
+        assertSame(child, ObservableFactory.unwrap(observableChild));
+
+        // so only the changes made through the child wrapper are reported by the deep wrapper
+        observableChild.setName("value1");
+        cachedChild.setName("value2");
+        assertEquals(List.of("parent.name"), paths);
+        assertEquals("value2", child.getName());
+    }
+
+    @Test
+    public void testListenerCount() {
+        ListenerMonitor monitor = ListenerMonitor.INSTANCE;
+        Observable observable = (Observable) ObservableFactory.createObservable(new CountedPojo());
+        PropertyChangeListener listener = mock(PropertyChangeListener.class);
+
+        // removing a listener that isn't registered changes nothing
+        observable.removePropertyChangeListener(listener);
+        observable.removePropertyChangeListener(null);
+        observable.addPropertyChangeListener(null);
+        assertEquals(0, monitor.getLiveListenerCount(CountedPojo.class));
+
+        // a listener added twice is registered (and notified) twice
+        observable.addPropertyChangeListener(listener);
+        observable.addPropertyChangeListener(listener);
+        assertEquals(2, monitor.getLiveListenerCount(CountedPojo.class));
+        observable.removePropertyChangeListener(listener);
+        observable.removePropertyChangeListener(listener);
+        observable.removePropertyChangeListener(listener);
+        assertEquals(0, monitor.getLiveListenerCount(CountedPojo.class));
+
+        // listeners of a single property
+        PropertyChangeListenerProxy proxy = new PropertyChangeListenerProxy("name", listener);
+        observable.addPropertyChangeListener(proxy);
+        assertEquals(1, monitor.getLiveListenerCount(CountedPojo.class));
+        observable.removePropertyChangeListener(new PropertyChangeListenerProxy("name", listener));
+        assertEquals(0, monitor.getLiveListenerCount(CountedPojo.class));
+    }
+
+    @Test
+    public void testListenerLifecycle() throws InterruptedException {
+        ListenerMonitor monitor = ListenerMonitor.INSTANCE;
+        Observable observable = (Observable) ObservableFactory.createObservable(new ListenedPojo());
+
+        PropertyChangeListener listener = mock(PropertyChangeListener.class);
+        ListenerRegistration registration = observable.subscribe(listener);
+        assertEquals(1, monitor.getLiveListenerCount(ListenedPojo.class));
+        registration.dispose();
+        registration.dispose();
+        assertEquals(0, monitor.getLiveListenerCount(ListenedPojo.class));
+
+        // a weak listener doesn't keep its owner alive
+        PropertyChangeListener weakListener = mock(PropertyChangeListener.class);
+        WeakReference<PropertyChangeListener> reference = new WeakReference<>(weakListener);
+        observable.subscribeWeakly(weakListener);
+        ((ListenedPojo) observable).setName("value1");
+        verify(weakListener).propertyChange(any());
+        assertEquals(1, monitor.getLiveListenerCount(ListenedPojo.class));
+        //noinspection UnusedAssignment
+        weakListener = null;
+        for (int i = 0; i < 50 && monitor.getLiveListenerCount(ListenedPojo.class) > 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(reference.get());
+        assertEquals(0, monitor.getLiveListenerCount(ListenedPojo.class));
+    }
+
+    @Test
+    public void testWrapperCache() throws InterruptedException {
+        ItemPojo pojo = new ItemPojo();
+        ItemPojo observable1 = ObservableFactory.createObservable(pojo);
+        ItemPojo observable2 = ObservableFactory.createObservable(pojo);
+        assertSame(observable1, observable2);
+        assertSame(observable1, ObservableFactory.createObservable(observable1));
+        assertNotSame(observable1, ObservableFactory.createObservable(new ItemPojo()));
+        assertNotSame(observable1, ObservableFactory.createDeepObservable(pojo));
+
+        assertSame(pojo, ObservableFactory.unwrap(observable1));
+        assertSame(pojo, ObservableFactory.unwrap(pojo));
+
+        // all the users of an object share its listeners
+        AtomicInteger eventCount = new AtomicInteger();
+        ((Observable) observable1).addPropertyChangeListener(event -> eventCount.incrementAndGet());
+        observable2.setName("value1");
+        assertEquals(1, eventCount.get());
+
+        // the cache doesn't keep objects alive
+        WeakReference<ItemPojo> reference = new WeakReference<>(pojo);
+        //noinspection UnusedAssignment
+        pojo = observable1 = observable2 = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    public void testDirtyProperties() {
+        ItemPojo pojo = new ItemPojo();
+        pojo.setName("value0");
+        ItemPojo observablePojo = ObservableFactory.createObservable(pojo);
+        Observable observable = (Observable) observablePojo;
+        assertFalse(observable.isDirty());
+
+        observablePojo.setName("value0");
+        assertFalse(observable.isDirty());
+        observablePojo.setDescription("description1");
+        observablePojo.setName("value1");
+        assertTrue(observable.isDirty());
+        assertEquals(List.of("description", "name"), List.copyOf(observable.dirtyProperties()));
+
+        observable.markClean();
+        assertFalse(observable.isDirty());
+        assertEquals(Set.of(), observable.dirtyProperties());
+
+        // changing the content of a list property through a deep wrapper
+        CategoryPojo category = new CategoryPojo();
+        category.setItems(new ArrayList<>());
+        CategoryPojo observableCategory = ObservableFactory.createDeepObservable(category);
+        observableCategory.getItems().add(new ItemPojo());
+        assertEquals(Set.of("items"), ((Observable) observableCategory).dirtyProperties());
+
+        ClassInformation<ItemPojo> classInformation = JavaIntrospector.getClassInformation(ItemPojo.class);
+        assertEquals("name", classInformation.getProperties().get(classInformation.getPropertyOrdinal("name")).getName());
+        assertEquals(-1, classInformation.getPropertyOrdinal("missing"));
+    }
+
+    @Test
+    public void testMinimalImplementation() {
+        // only the listener methods are required
+        List<PropertyChangeListener> listeners = new ArrayList<>();
+        Observable observable = new Observable() {
+            @Override
+            public void addPropertyChangeListener(PropertyChangeListener listener) {
+                listeners.add(listener);
+            }
+
+            @Override
+            public void removePropertyChangeListener(PropertyChangeListener listener) {
+                listeners.remove(listener);
+            }
+        };
+
+        AtomicInteger runs = new AtomicInteger();
+        observable.runBatched(runs::incrementAndGet);
+        assertEquals(1, runs.get());
+        observable.subscribe(event -> { }).dispose();
+        assertTrue(listeners.isEmpty());
+        assertThrows(UnsupportedOperationException.class, observable::isDirty);
+    }
+
+    static class GreeterBase {
+        String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String greet() {
+            return "hello " + name;
+        }
+    }
+
+    public static class PackagePrivateConstructorPojo extends GreeterBase {
+        PackagePrivateConstructorPojo() {
+        }
+    }
+
+    public static class PrivateConstructorPojo {
+        private PrivateConstructorPojo() {
+        }
+
+        static PrivateConstructorPojo create() {
+            return new PrivateConstructorPojo();
+        }
+    }
+
+    @Data
+    public static class ListenedPojo {
+        String name;
+    }
+
+    @Data
+    public static class CountedPojo {
+        String name;
+    }
+
+    @Data
+    public static class CategoryPojo {
+        String name;
+        @ToString.Exclude
+        CategoryPojo parent;
+        List<ItemPojo> items;
+    }
+
     @Data
     public static class ItemPojo {
         String name;
+        String description;
 
         public ItemPojo() {
             setName("default");
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.Guarana;
+import com.ogerardin.guarana.core.introspection.PrewarmReport;
+import com.ogerardin.guarana.core.test.domain.Item;
+import com.ogerardin.guarana.core.test.domain.Person;
+import com.ogerardin.guarana.core.test.domain.Thing;
+import com.ogerardin.guarana.core.test.domain.service.Manager;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class PrewarmTest {
+
+    @Test
+    public void testPrewarmReachableClasses() {
+        PrewarmReport report = Guarana.prewarm(null, Manager.class);
+
+        // Person and Thing are reachable from Manager through method signatures, including List<Person>
+        Set<Class<?>> classes = getClasses(report);
+        assertThat(classes, hasItems(Manager.class, Person.class, Thing.class));
+        assertThat(classes, not(hasItems(Item.class)));
+        assertThat(classes, not(hasItems(String.class)));
+    }
+
+    @Test
+    public void testPrewarmPackages() {
+        PrewarmReport report = Guarana.prewarm(null, "com.ogerardin.guarana.core.test.domain");
+
+        assertThat(getClasses(report), hasItems(Manager.class, Person.class, Thing.class, Item.class));
+    }
+
+    private static Set<Class<?>> getClasses(PrewarmReport report) {
+        return report.getEntries().stream()
+                .map(PrewarmReport.Entry::getJavaClass)
+                .collect(Collectors.toSet());
+    }
+}
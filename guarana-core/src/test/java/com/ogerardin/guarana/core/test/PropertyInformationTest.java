@@ -0,0 +1,103 @@
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.introspection.JavaIntrospector;
+import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+import lombok.Data;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class PropertyInformationTest {
+
+    @Test
+    public void testCompiledAccessors() {
+        AccountPojo account = new AccountPojo();
+
+        PropertyInformation name = getProperty("name");
+        BiConsumer<AccountPojo, String> nameSetter = name.getSetter();
+        Function<AccountPojo, String> nameGetter = name.getGetter();
+        nameSetter.accept(account, "savings");
+        assertEquals("savings", account.getName());
+        assertEquals("savings", nameGetter.apply(account));
+
+        // primitive properties are boxed/unboxed
+        PropertyInformation balance = getProperty("balance");
+        balance.setValue(account, 42);
+        assertEquals(42, account.getBalance());
+        assertEquals(Integer.valueOf(42), balance.getValue(account));
+
+        PropertyInformation active = getProperty("active");
+        active.setValue(account, true);
+        assertEquals(Boolean.TRUE, active.getValue(account));
+
+        // accessors are generated once
+        assertSame(nameGetter, name.getGetter());
+    }
+
+    @Test
+    public void testReadOnly() {
+        PropertyInformation className = getProperty("class");
+        assertNull(className.getSetter());
+        assertEquals(AccountPojo.class, className.getValue(new AccountPojo()));
+    }
+
+    @Test
+    public void testLookups() throws Exception {
+        ClassInformation<AccountPojo> classInformation = JavaIntrospector.getClassInformation(AccountPojo.class);
+
+        Method setName = AccountPojo.class.getMethod("setName", String.class);
+        assertEquals("name", classInformation.propertyForSetter(setName).get().getName());
+        assertFalse(classInformation.propertyForSetter(AccountPojo.class.getMethod("getName")).isPresent());
+        assertFalse(classInformation.propertyForSetter(Object.class.getMethod("wait")).isPresent());
+        assertEquals("active", classInformation.propertyForGetter(AccountPojo.class.getMethod("isActive")).get().getName());
+
+        assertSame(getProperty("balance"), classInformation.getProperty("balance").get());
+        assertFalse(classInformation.getProperty("unknown").isPresent());
+
+        assertEquals(setName, classInformation.getExecutable("setName(java.lang.String)").get().getExecutable());
+        assertEquals(AccountPojo.class.getConstructor(),
+                classInformation.getExecutable("<init>()").get().getExecutable());
+    }
+
+    @Test
+    public void testOtherClassLoader() throws Exception {
+        // a class that guarana.core's class loader can't see
+        URL location = AccountPojo.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{location}, null)) {
+            Class<?> clazz = classLoader.loadClass(AccountPojo.class.getName());
+            Object account = clazz.getConstructor().newInstance();
+
+            PropertyInformation name = JavaIntrospector.getClassInformation(clazz).getProperties().stream()
+                    .filter(p -> p.getName().equals("name"))
+                    .findFirst()
+                    .orElseThrow(AssertionError::new);
+            name.setValue(account, "savings");
+            assertEquals("savings", name.getValue(account));
+        }
+    }
+
+    private static PropertyInformation getProperty(String name) {
+        ClassInformation<AccountPojo> classInformation = JavaIntrospector.getClassInformation(AccountPojo.class);
+        return classInformation.getProperties().stream()
+                .filter(p -> p.getName().equals(name))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+
+    @Data
+    public static class AccountPojo {
+        String name;
+        int balance;
+        boolean active;
+    }
+}
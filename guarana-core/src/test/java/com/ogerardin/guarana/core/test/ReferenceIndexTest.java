@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.introspection.ReferenceIndex;
+import com.ogerardin.guarana.core.test.domain.Person;
+import com.ogerardin.guarana.core.test.domain.Thing;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.nio.file.Files;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ReferenceIndexTest {
+
+    @After
+    public void tearDown() {
+        ReferenceIndex.INSTANCE.setPackageRoots();
+        ReferenceIndex.INSTANCE.setCacheFile(null);
+        ReferenceIndex.INSTANCE.reset();
+    }
+
+    @Test
+    public void testPackageRoots() throws Exception {
+        ReferenceIndex.INSTANCE.reset();
+        ReferenceIndex.INSTANCE.setPackageRoots("com.ogerardin.guarana.core.test.domain");
+
+        List<Executable> executables = ReferenceIndex.INSTANCE.getReferencingExecutables(Person.class);
+
+        Constructor<Thing> expected = Thing.class.getConstructor(String.class, Person.class);
+        Assert.assertTrue(executables.contains(expected));
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        Path cacheFile = Files.createTempDirectory("guarana").resolve("reference.index");
+        ReferenceIndex.INSTANCE.reset();
+        ReferenceIndex.INSTANCE.setPackageRoots("com.ogerardin.guarana.core.test");
+        ReferenceIndex.INSTANCE.setCacheFile(cacheFile);
+
+        // first run: scan and write cache
+        ReferenceIndex.INSTANCE.buildInBackground().join();
+        Set<Executable> scanned = new HashSet<>(ReferenceIndex.INSTANCE.getReferencingExecutables(Person.class));
+        Assert.assertTrue(Files.isRegularFile(cacheFile));
+
+        // second run: read from cache
+        ReferenceIndex.INSTANCE.reset();
+        Set<Executable> cached = new HashSet<>(ReferenceIndex.INSTANCE.getReferencingExecutables(Person.class));
+
+        Assert.assertFalse(scanned.isEmpty());
+        Assert.assertEquals(scanned, cached);
+    }
+
+    @Test
+    public void testInvalidate() {
+        ReferenceIndex.INSTANCE.setPackageRoots("com.ogerardin.guarana.core.test.domain");
+
+        List<Executable> executables = ReferenceIndex.INSTANCE.getReferencingExecutables(Person.class);
+        Assert.assertSame(executables, ReferenceIndex.INSTANCE.getReferencingExecutables(Person.class));
+
+        ReferenceIndex.INSTANCE.invalidate(Person.class);
+        List<Executable> recomputed = ReferenceIndex.INSTANCE.getReferencingExecutables(Person.class);
+        Assert.assertNotSame(executables, recomputed);
+        Assert.assertEquals(executables, recomputed);
+    }
+
+    @Test
+    public void testCacheDoesNotRetainClassLoader() throws Exception {
+        ReferenceIndex.INSTANCE.setPackageRoots("com.ogerardin.guarana.core.test.domain");
+
+        WeakReference<ClassLoader> reference = lookUpInOtherClassLoader();
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertNull(reference.get());
+    }
+
+    private static WeakReference<ClassLoader> lookUpInOtherClassLoader() throws Exception {
+        URL location = Person.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{location}, null)) {
+            Class<?> type = classLoader.loadClass(Person.class.getName());
+            ReferenceIndex.INSTANCE.getReferencingExecutables(type);
+            return new WeakReference<>(classLoader);
+        }
+    }
+}
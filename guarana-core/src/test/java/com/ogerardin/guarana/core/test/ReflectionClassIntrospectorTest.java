@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.introspection.JavaClassIntrospector;
+import com.ogerardin.guarana.core.introspection.ReflectionClassIntrospector;
+import com.ogerardin.guarana.core.metamodel.Introspector;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+import com.ogerardin.guarana.core.test.domain.Item;
+import com.ogerardin.guarana.core.test.domain.Person;
+import com.ogerardin.guarana.core.test.domain.Thing;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import lombok.Data;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that direct reflection introspection gives the same results as JavaBeans introspection, and handles
+ * records and JavaFX properties.
+ */
+public class ReflectionClassIntrospectorTest {
+
+    @Test
+    public void testSameAsJavaBeans() {
+        assertSameIntrospection(Person.class);
+        assertSameIntrospection(Thing.class);
+        assertSameIntrospection(Item.class);
+        assertSameIntrospection(PropertyInformationTest.AccountPojo.class);
+        assertSameIntrospection(Throwable.class);
+        assertSameIntrospection(Tricky.class);
+    }
+
+    @Test
+    public void testRecord() {
+        List<PropertyInformation> properties = new ReflectionClassIntrospector<>(Point.class).getProperties();
+        Assert.assertEquals(List.of("class", "label", "x", "y"), names(properties));
+
+        PropertyInformation x = properties.get(2);
+        Assert.assertEquals(int.class, x.getPropertyType());
+        Assert.assertTrue(x.isReadOnly());
+        Assert.assertEquals(3, (int) x.getValue(new Point(3, 4, "p")));
+    }
+
+    @Test
+    public void testJfxProperty() throws Exception {
+        List<PropertyInformation> properties = new ReflectionClassIntrospector<>(FxPojo.class).getProperties();
+        Assert.assertEquals(List.of("class", "name"), names(properties));
+
+        PropertyInformation name = properties.get(1);
+        Assert.assertEquals(FxPojo.class.getMethod("nameProperty"), name.getJfxPropertyMethod());
+        FxPojo pojo = new FxPojo();
+        StringProperty nameProperty = name.<FxPojo, StringProperty>getJfxPropertyGetter().apply(pojo);
+        nameProperty.set("fx");
+        Assert.assertEquals("fx", name.getValue(pojo));
+
+        // JavaBeans descriptor is only created on demand
+        Assert.assertEquals("nameProperty", name.getJfxProperty().getName());
+    }
+
+    private static <C> void assertSameIntrospection(Class<C> clazz) {
+        Introspector<C> expected = new JavaClassIntrospector<>(clazz);
+        Introspector<C> actual = new ReflectionClassIntrospector<>(clazz);
+
+        Assert.assertEquals(describe(expected.getProperties()), describe(actual.getProperties()));
+        Assert.assertEquals(new HashSet<>(expected.getMethods()), new HashSet<>(actual.getMethods()));
+        Assert.assertEquals(new HashSet<>(expected.getConstructors()), new HashSet<>(actual.getConstructors()));
+        Assert.assertEquals(expected.getSimpleName(), actual.getSimpleName());
+        Assert.assertEquals(expected.getDisplayName(), actual.getDisplayName());
+    }
+
+    private static List<String> describe(List<PropertyInformation> properties) {
+        return properties.stream()
+                .map(p -> p.getName() + " " + p.getDisplayName() + " " + p.getPropertyType()
+                        + " " + p.getReadMethod() + " " + p.getWriteMethod())
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> names(List<PropertyInformation> properties) {
+        return properties.stream().map(PropertyInformation::getName).collect(Collectors.toList());
+    }
+
+    public record Point(int x, int y, String label) {
+    }
+
+    public static class FxPojo {
+        private final StringProperty name = new SimpleStringProperty();
+
+        public String getName() {
+            return name.get();
+        }
+
+        public void setName(String name) {
+            this.name.set(name);
+        }
+
+        public StringProperty nameProperty() {
+            return name;
+        }
+    }
+
+    /**
+     * Accessors that exercise the JavaBeans naming rules.
+     */
+    @Data
+    public static class Tricky {
+        String URL;
+        boolean enabled;
+        Boolean boxed;
+        Number amount;
+
+        public static String getStatic() {
+            return null;
+        }
+
+        public void setWriteOnly(String value) {
+        }
+
+        public String get() {
+            return null;
+        }
+    }
+}
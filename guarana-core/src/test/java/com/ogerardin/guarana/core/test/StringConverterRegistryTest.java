@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.config.Configuration;
+import com.ogerardin.guarana.core.config.ConfigurationSnapshot;
+import com.ogerardin.guarana.core.util.DefaultStringConverter;
+import com.ogerardin.guarana.core.util.StringConverterRegistry;
+import javafx.util.StringConverter;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.junit.Test;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the shared string converters.
+ */
+public class StringConverterRegistryTest {
+
+    private final StringConverterRegistry registry = StringConverterRegistry.INSTANCE;
+
+    @Test
+    public void testSeededConverters() {
+        assertEquals(Integer.valueOf(42), registry.getConverter(Integer.class).fromString(" 42"));
+        assertSame(registry.getConverter(Integer.class), registry.getConverter(int.class));
+        assertNull(registry.getConverter(Integer.class).fromString("4x"));
+        assertNull(registry.getConverter(Integer.class).fromString(""));
+        assertEquals(LocalDate.of(2025, 1, 31), registry.getConverter(LocalDate.class).fromString("2025-01-31"));
+        assertEquals("2025-01-31", registry.getConverter(LocalDate.class).toString(LocalDate.of(2025, 1, 31)));
+    }
+
+    @Test
+    public void testEnumConverter() {
+        StringConverter<TimeUnit> converter = registry.getConverter(TimeUnit.class);
+        assertEquals(TimeUnit.SECONDS, converter.fromString("SECONDS"));
+        assertNull(converter.fromString("FORTNIGHTS"));
+    }
+
+    @Test
+    public void testDefaultConverter() {
+        // String constructor
+        StringConverter<URI> converter = registry.getConverter(URI.class);
+        assertTrue(converter instanceof DefaultStringConverter);
+        assertEquals(URI.create("http://example.com"), converter.fromString("http://example.com"));
+        // the constructor throws
+        assertNull(converter.fromString("not a uri"));
+        assertSame(converter, registry.getConverter(URI.class));
+        // factory method
+        assertEquals(ZoneId.of("Europe/Paris"), registry.getConverter(ZoneId.class).fromString("Europe/Paris"));
+    }
+
+    @Test
+    public void testSharedWithClassConfiguration() {
+        Configuration configuration = new Configuration(new BaseConfiguration());
+        assertSame(registry.getConverter(URI.class), configuration.forClass(URI.class).getStringConverter());
+    }
+
+    @Test
+    public void testConverterClassPublished() {
+        Configuration configuration = new Configuration(new BaseConfiguration());
+        Set<Class<?>> changes = new HashSet<>();
+        configuration.addListener(changes::addAll);
+        ConfigurationSnapshot snapshot = configuration.snapshot();
+
+        configuration.forClass(URI.class).setStringConverterClass(UriConverter.class);
+
+        // the change is published like any other setting
+        assertTrue(changes.contains(URI.class));
+        assertTrue(configuration.getVersion() > snapshot.getVersion());
+        assertEquals(UriConverter.class, configuration.snapshot().getClassSnapshot(URI.class).getStringConverterClass());
+        assertTrue(configuration.forClass(URI.class).getStringConverter() instanceof UriConverter);
+    }
+
+    public static class UriConverter extends StringConverter<URI> {
+        @Override
+        public String toString(URI uri) {
+            return uri == null ? "" : uri.toString();
+        }
+
+        @Override
+        public URI fromString(String string) {
+            return URI.create(string);
+        }
+    }
+}
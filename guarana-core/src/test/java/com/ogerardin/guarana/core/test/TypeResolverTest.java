@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.core.test;
+
+import com.ogerardin.guarana.core.introspection.JavaIntrospector;
+import com.ogerardin.guarana.core.metamodel.ClassInformation;
+import com.ogerardin.guarana.core.metamodel.ExecutableInformation;
+import com.ogerardin.guarana.core.metamodel.ParameterInformation;
+import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+import com.ogerardin.guarana.core.metamodel.TypeInformation;
+import com.ogerardin.guarana.core.test.domain.Person;
+import lombok.Data;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks resolution of element/key/value types of collection, array and map properties and parameters.
+ */
+public class TypeResolverTest {
+
+    @Test
+    public void testPropertyElementTypes() {
+        assertEquals(Person.class, getProperty(Holder.class, "people").getElementType());
+        assertEquals(Person.class, getProperty(Holder.class, "upperBounded").getElementType());
+        assertEquals(Person.class, getProperty(Holder.class, "lowerBounded").getElementType());
+        assertEquals(Object.class, getProperty(Holder.class, "unbounded").getElementType());
+        assertEquals(Object.class, getProperty(Holder.class, "raw").getElementType());
+        assertEquals(Person.class, getProperty(Holder.class, "subclassed").getElementType());
+        assertEquals(Person.class, getProperty(Holder.class, "array").getElementType());
+        assertNull(getProperty(Holder.class, "name").getElementType());
+
+        TypeInformation map = getProperty(Holder.class, "index").getTypeInformation();
+        assertEquals(String.class, map.getKeyType());
+        assertEquals(Person.class, map.getValueType());
+        assertNull(map.getElementType());
+    }
+
+    @Test
+    public void testTypeVariablesBoundInSubclass() {
+        assertEquals(Person.class, getProperty(PersonBox.class, "items").getElementType());
+        assertEquals(Person.class, getProperty(PersonBox.class, "itemArray").getElementType());
+        assertEquals(Person.class, getProperty(PersonBox.class, "byName").getTypeInformation().getValueType());
+        // unbound type variable: falls back to its bound
+        assertEquals(Object.class, getProperty(Box.class, "items").getElementType());
+    }
+
+    @Test
+    public void testParameterElementTypes() {
+        ClassInformation<PersonBox> classInformation = JavaIntrospector.getClassInformation(PersonBox.class);
+        ExecutableInformation addAll = classInformation.getExecutable("addAll(java.util.Collection)").get();
+        ParameterInformation parameter = addAll.getParameters().get(0);
+        assertEquals(Person.class, parameter.getElementType());
+
+        // resolved once
+        assertSame(parameter.getTypeInformation(), parameter.getTypeInformation());
+    }
+
+    @Test
+    public void testSingleParameterType() throws Exception {
+        assertEquals(Person.class,
+                JavaIntrospector.getMethodResultSingleParameterType(Holder.class.getMethod("getUpperBounded")));
+        assertEquals(Object.class,
+                JavaIntrospector.getMethodResultSingleParameterType(Holder.class.getMethod("getUnbounded")));
+    }
+
+    private static PropertyInformation getProperty(Class<?> clazz, String name) {
+        return JavaIntrospector.getClassInformation(clazz).getProperty(name).orElseThrow(AssertionError::new);
+    }
+
+    @Data
+    public static class Holder {
+        String name;
+        List<Person> people;
+        List<? extends Person> upperBounded;
+        Set<? super Person> lowerBounded;
+        Collection<?> unbounded;
+        @SuppressWarnings("rawtypes")
+        List raw;
+        PersonList subclassed;
+        Person[] array;
+        Map<String, Person> index;
+    }
+
+    public static class PersonList extends ArrayList<Person> {
+    }
+
+    @Data
+    public static class Box<T> {
+        List<T> items;
+        T[] itemArray;
+        Map<String, T> byName;
+
+        public void addAll(Collection<? extends T> items) {
+        }
+    }
+
+    public static class PersonBox extends Box<Person> {
+    }
+}
@@ -6,8 +6,8 @@ package com.ogerardin.guarana.javafx;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
-import com.ogerardin.guarana.core.config.ClassConfiguration;
 import com.ogerardin.guarana.core.config.Configuration;
+import com.ogerardin.guarana.core.config.ConfigurationSnapshot;
 import com.ogerardin.guarana.core.ui.InstanceUI;
 import com.ogerardin.guarana.core.ui.Renderable;
 import com.ogerardin.guarana.javafx.ui.*;
@@ -15,22 +15,38 @@ import com.ogerardin.guarana.javafx.ui.impl.DefaultJfxCollectionUI;
 import com.ogerardin.guarana.javafx.ui.impl.DefaultJfxInstanceUI;
 import com.ogerardin.guarana.javafx.ui.impl.DefaultJfxMapUI;
 import com.ogerardin.guarana.javafx.ui.impl.embedded.DefaultJfxEmbeddedInstanceUI;
+import javafx.application.Platform;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.Validate;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * UIBuilder implementation for JavaFX. The chosen renderable type is {@link Parent}
  *
+ * Instance and collection UIs displayed by this manager are rebuilt when the configuration of their class (or of
+ * one of its supertypes) changes, e.g. when a properties file is reloaded. When the stage of a UI is hidden or closed,
+ * the UI is disposed and forgotten.
+ *
+ * A UI and the UIs it builds for its properties and parameters are built from a single {@link ConfigurationSnapshot}
+ * (see {@link #getBuildSnapshot()}), so that a configuration change during the build doesn't produce a UI that is
+ * half old and half new.
+ *
  * @author oge
  * @since 07/09/2015
  */
@@ -39,13 +55,26 @@ import java.util.function.Consumer;
 public class JfxUiManager implements JfxUIBuilder {
 
     private static final String GUARANA_DEFAULT_CSS = "/guarana-default.css";
+    /**
+     * Key of the stage property that tells that the stage releases its UI when hidden
+     */
+    private static final String HIDDEN_HANDLER_KEY = JfxUiManager.class.getName() + ".hiddenHandler";
 
-    private final BiMap<Object, Renderable> objectRenderableMap = HashBiMap.create();
-    private final BiMap<Renderable, Stage> renderableStageMap = HashBiMap.create();
+    private final BiMap<Object, Renderable<?>> objectRenderableMap = HashBiMap.create();
+    private final BiMap<Renderable<?>, Stage> renderableStageMap = HashBiMap.create();
+    /**
+     * What is needed to rebuild the UIs displayed by {@link #displayInstance} and {@link #displayCollection}
+     */
+    private final Map<Renderable<?>, DisplayedTarget> displayedTargets = new HashMap<>();
 
     private final Configuration configuration;
     private String defaultStylesheet;
 
+    /**
+     * Snapshot used by the UIs being built on the current thread, if any
+     */
+    private final ThreadLocal<ConfigurationSnapshot> buildSnapshot = new ThreadLocal<>();
+
     /**
      * Builds a JfxBuilder with a default configuration
      */
@@ -60,6 +89,15 @@ public class JfxUiManager implements JfxUIBuilder {
         Validate.notNull(configuration);
         this.configuration = configuration;
         this.defaultStylesheet = getClass().getResource(GUARANA_DEFAULT_CSS).toExternalForm();
+        // the application's classes are available by now
+        configuration.reportUnknownClassNames();
+        configuration.addListener(classes -> {
+            if (Platform.isFxApplicationThread()) {
+                rebuild(classes);
+            } else {
+                Platform.runLater(() -> rebuild(classes));
+            }
+        });
     }
 
     public String getDefaultStylesheet() {
@@ -69,50 +107,78 @@ public class JfxUiManager implements JfxUIBuilder {
 
     @Override
     public <C> JfxInstanceUI<C> buildInstanceUI(Class<C> clazz) {
-        ClassConfiguration<C> classConfiguration = configuration.forClass(clazz);
-        // if the configuration specifies a custom UI class for this class, use it, otherwise use
-        // DefaultJfxInstanceUI
-        Class<? extends InstanceUI<?, C>> uiClass = classConfiguration.getUiClass();
-        if (uiClass == null) {
-            return new DefaultJfxInstanceUI<>(this, clazz);
-        }
-        try {
-            // might throw ClassCastException if the specified class doesn't implement JfxInstanceUI
-            //noinspection unchecked
-            return (JfxInstanceUI<C>) uiClass.newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return withBuildSnapshot(() -> {
+            // if the configuration specifies a custom UI class for this class, use it, otherwise use
+            // DefaultJfxInstanceUI
+            Class<? extends InstanceUI<?, C>> uiClass = getBuildSnapshot().getEffectiveConfiguration(clazz).getUiClass();
+            if (uiClass == null) {
+                return new DefaultJfxInstanceUI<>(this, clazz);
+            }
+            try {
+                // might throw ClassCastException if the specified class doesn't implement JfxInstanceUI
+                //noinspection unchecked
+                return (JfxInstanceUI<C>) uiClass.newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
 
     @Override
     public <C> JfxInstanceUI<C> buildEmbeddedInstanceUI(Class<C> clazz) {
-        ClassConfiguration<C> classConfiguration = configuration.forClass(clazz);
-        // if the configuration specifies a custom embedded UI class for this class, use it, otherwise use
-        // DefaultJfxEmbeddedInstanceUI
-        Class<? extends InstanceUI<?, C>> uiClass = classConfiguration.getEmbeddedUiClass();
-        if (uiClass == null) {
-            return new DefaultJfxEmbeddedInstanceUI<C>(this, clazz);
-        }
-        try {
-            // might throw ClassCastException if the specified class doesn't implement JfxInstanceUI
-            //noinspection unchecked
-            return (JfxInstanceUI<C>) uiClass.newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return withBuildSnapshot(() -> {
+            // if the configuration specifies a custom embedded UI class for this class, use it, otherwise use
+            // DefaultJfxEmbeddedInstanceUI
+            Class<? extends InstanceUI<?, C>> uiClass =
+                    getBuildSnapshot().getEffectiveConfiguration(clazz).getEmbeddedUiClass();
+            if (uiClass == null) {
+                return new DefaultJfxEmbeddedInstanceUI<C>(this, clazz);
+            }
+            try {
+                // might throw ClassCastException if the specified class doesn't implement JfxInstanceUI
+                //noinspection unchecked
+                return (JfxInstanceUI<C>) uiClass.newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
 
     @Override
     public <C> JfxCollectionUI<C> buildCollectionUi(Class<C> itemClass) {
-        return new DefaultJfxCollectionUI<>(this, itemClass);
+        return withBuildSnapshot(() -> new DefaultJfxCollectionUI<>(this, itemClass));
+    }
+
+    /**
+     * Returns the configuration snapshot that the UIs being built on the current thread must use: the one taken when
+     * the outermost build started, or the current one outside of a build.
+     */
+    public ConfigurationSnapshot getBuildSnapshot() {
+        ConfigurationSnapshot snapshot = buildSnapshot.get();
+        return snapshot != null ? snapshot : configuration.snapshot();
+    }
+
+    /**
+     * Runs the specified build with the current configuration snapshot, unless it is nested in another build, in
+     * which case it uses the snapshot of the outer build.
+     */
+    public <R> R withBuildSnapshot(Supplier<R> build) {
+        if (buildSnapshot.get() != null) {
+            return build.get();
+        }
+        buildSnapshot.set(configuration.snapshot());
+        try {
+            return build.get();
+        } finally {
+            buildSnapshot.remove();
+        }
     }
 
     @Override
     public <K, V> JfxMapUI<K, V> buildMapUI() {
-        return new DefaultJfxMapUI<>(this);
+        return withBuildSnapshot(() -> new DefaultJfxMapUI<>(this));
     }
 
 
@@ -161,10 +227,29 @@ public class JfxUiManager implements JfxUIBuilder {
         stage.setScene(scene);
 
         renderableStageMap.put(renderable, stage);
+        // once per stage, since a stage can be reused
+        if (stage.getProperties().putIfAbsent(HIDDEN_HANDLER_KEY, Boolean.TRUE) == null) {
+            final Stage displayStage = stage;
+            stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> release(displayStage));
+        }
         stage.show();
         return renderable;
     }
 
+    /**
+     * Forgets the UI displayed in the specified stage, which was hidden, so that neither the UI nor its target stay
+     * reachable
+     */
+    private void release(Stage stage) {
+        Renderable<?> renderable = renderableStageMap.inverse().remove(stage);
+        if (renderable == null) {
+            return;
+        }
+        displayedTargets.remove(renderable);
+        objectRenderableMap.inverse().remove(renderable);
+        renderable.dispose();
+    }
+
     private void positionRelativeToParent(final Window window, Node parent) {
         window.setOnShowing(event -> {
             Bounds boundsInScreen = parent.localToScreen(parent.getBoundsInLocal());
@@ -190,6 +275,7 @@ public class JfxUiManager implements JfxUIBuilder {
             ui = buildInstanceUI(targetClass);
             ui.bind(target);
             objectRenderableMap.put(key, ui);
+            displayedTargets.put(ui, new DisplayedTarget(key, target, targetClass, false));
             display(ui, stage, parent, title);
         }
         return ui;
@@ -206,6 +292,7 @@ public class JfxUiManager implements JfxUIBuilder {
             ui = buildCollectionUi(itemClass);
             ui.bind(collection);
             objectRenderableMap.put(key, ui);
+            displayedTargets.put(ui, new DisplayedTarget(key, collection, itemClass, true));
             display(ui, parent, title);
         }
         return ui;
@@ -220,8 +307,10 @@ public class JfxUiManager implements JfxUIBuilder {
         } else {
             // build UI for the target collection class and display it in stage
             ui = buildCollectionUi(itemClass);
-            ui.bind(Arrays.asList(array));
+            List<C> list = Arrays.asList(array);
+            ui.bind(list);
             objectRenderableMap.put(key, ui);
+            displayedTargets.put(ui, new DisplayedTarget(key, list, itemClass, true));
             display(ui, parent, title);
         }
         return ui;
@@ -243,7 +332,7 @@ public class JfxUiManager implements JfxUIBuilder {
     }
 
 
-    private void stageAction(Renderable renderable, Consumer<Stage> stageAction) {
+    private void stageAction(Renderable<?> renderable, Consumer<Stage> stageAction) {
         Stage stage = renderableStageMap.get(renderable);
         if (stage == null) {
             log.warn("Can't find stage for the specified renderable; maybe it was never displayed?");
@@ -252,17 +341,73 @@ public class JfxUiManager implements JfxUIBuilder {
         stageAction.accept(stage);
     }
 
-    public void hide(Renderable renderable) {
+    /**
+     * Hides the stage of the specified UI. The UI is then released, like when its stage is closed; it can't be shown
+     * again.
+     */
+    public void hide(Renderable<?> renderable) {
         stageAction(renderable, Window::hide);
     }
 
-    public void show(Renderable renderable) {
+    public void show(Renderable<?> renderable) {
         stageAction(renderable, stage -> {
             stage.show();
             stage.toFront();
         });
     }
 
+    /**
+     * Rebuilds the displayed UIs whose class configuration depends on one of the specified classes, keeping their
+     * stage. Other UIs are left untouched.
+     */
+    private void rebuild(Set<Class<?>> changedClasses) {
+        for (Map.Entry<Renderable<?>, DisplayedTarget> entry : new HashMap<>(displayedTargets).entrySet()) {
+            DisplayedTarget displayed = entry.getValue();
+            if (changedClasses.stream().noneMatch(configuration.getEffectiveConfiguration(displayed.getClazz())::dependsOn)) {
+                continue;
+            }
+            Stage stage = renderableStageMap.get(entry.getKey());
+            if (stage == null) {
+                continue;
+            }
+            log.debug("Configuration of {} changed, rebuilding UI", displayed.getClazz());
+            // stop the old UI from listening to the target before replacing it
+            entry.getKey().dispose();
+            JfxRenderable ui = displayed.isCollection()
+                    ? buildBoundCollectionUi((Collection<?>) displayed.getTarget(), displayed.getClazz())
+                    : buildBoundInstanceUi(displayed.getTarget(), displayed.getClazz());
+            stage.getScene().setRoot(ui.getRendered());
+
+            displayedTargets.remove(entry.getKey());
+            renderableStageMap.remove(entry.getKey());
+            displayedTargets.put(ui, displayed);
+            renderableStageMap.put(ui, stage);
+            objectRenderableMap.forcePut(displayed.getKey(), ui);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> JfxInstanceUI<T> buildBoundInstanceUi(Object target, Class<T> clazz) {
+        JfxInstanceUI<T> ui = buildInstanceUI(clazz);
+        ui.bind((T) target);
+        return ui;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> JfxCollectionUI<T> buildBoundCollectionUi(Collection<?> target, Class<T> itemClass) {
+        JfxCollectionUI<T> ui = buildCollectionUi(itemClass);
+        ui.bind((Collection<T>) target);
+        return ui;
+    }
+
+    @Value
+    private static class DisplayedTarget {
+        Object key;
+        Object target;
+        Class<?> clazz;
+        boolean collection;
+    }
+
     private <T> Object getUiKey(T target) {
         return System.identityHashCode(target);
     }
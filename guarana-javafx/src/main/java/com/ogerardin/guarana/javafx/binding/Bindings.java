@@ -8,7 +8,7 @@ import com.google.common.base.Converter;
 import com.ogerardin.guarana.core.config.ClassConfiguration;
 import com.ogerardin.guarana.core.config.Configuration;
 import com.ogerardin.guarana.core.metamodel.PropertyInformation;
-import com.ogerardin.guarana.core.util.DefaultStringConverter;
+import com.ogerardin.guarana.core.util.StringConverterRegistry;
 import javafx.beans.property.ObjectProperty;
 import javafx.scene.control.TextField;
 import javafx.util.StringConverter;
@@ -32,7 +32,7 @@ public enum Bindings {
         } else {
             //FIXME we should bind (unidirectionally) and not just set property value
             try {
-                final Object value = propertyInformation.getReadMethod().invoke(target);
+                final Object value = propertyInformation.getValue(target);
                 fieldSetValue(configuration, textField, propertyInformation, value);
             } catch (Exception ignored) {
                 ignored.printStackTrace(System.err);
@@ -69,8 +69,11 @@ public enum Bindings {
         }
     }
 
+    /**
+     * Returns the shared converter for the specified class
+     */
     public static <T> StringConverter<T> getDefaultStringConverter(Class<T> clazz) {
-        return new DefaultStringConverter<>(clazz);
+        return StringConverterRegistry.INSTANCE.getConverter(clazz);
     }
 
 }
@@ -5,7 +5,8 @@ import com.ogerardin.guarana.javafx.binding.BindingStrategy;
 import com.ogerardin.guarana.javafx.ui.JfxInstanceUI;
 import javafx.beans.property.Property;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.beanutils.PropertyUtils;
+
+import java.util.function.Function;
 
 /**
  * Binding strategy for JavaFX properties that have a corresponding Property object.
@@ -19,17 +20,17 @@ public class JfxBindingStrategy implements BindingStrategy {
 
     @Override
     public <C, P> void bind(C object, JfxInstanceUI<P> propertyUi, PropertyInformation propertyInformation, P propertyValue) {
-        if (propertyInformation.getJfxProperty() == null) {
+        if (propertyInformation.getJfxPropertyMethod() == null) {
             throw new IllegalArgumentException();
         }
 
         final String propertyName = propertyInformation.getName();
         Property<P> jfxProperty;
         try {
-            //noinspection unchecked
-            jfxProperty = (Property<P>) PropertyUtils.getSimpleProperty(object, propertyInformation.getJfxProperty().getName());
+            final Function<C, Property<P>> jfxPropertyGetter = propertyInformation.getJfxPropertyGetter();
+            jfxProperty = jfxPropertyGetter.apply(object);
         } catch (Exception e) {
-            log.error("failed to get value for JavaFX property " + propertyInformation.getJfxProperty().getName(), e);
+            log.error("failed to get value for JavaFX property " + propertyInformation.getJfxPropertyMethod().getName(), e);
             return;
         }
         propertyUi.boundObjectProperty().bindBidirectional(jfxProperty);
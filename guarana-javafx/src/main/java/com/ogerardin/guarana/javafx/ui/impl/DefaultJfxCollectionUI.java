@@ -4,31 +4,34 @@
 
 package com.ogerardin.guarana.javafx.ui.impl;
 
-import com.ogerardin.guarana.core.config.Util;
+import com.ogerardin.guarana.core.config.EffectiveClassConfiguration;
 import com.ogerardin.guarana.core.introspection.JavaIntrospector;
 import com.ogerardin.guarana.core.metamodel.ClassInformation;
 import com.ogerardin.guarana.core.metamodel.PropertyInformation;
 import com.ogerardin.guarana.javafx.JfxUiManager;
 import com.ogerardin.guarana.javafx.ui.JfxCollectionUI;
 import com.ogerardin.guarana.javafx.ui.JfxInstanceUI;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleListProperty;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.Parent;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
+import javafx.util.Callback;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Default implementation of {@link com.ogerardin.guarana.core.ui.CollectionUI} for JavaFX.
@@ -71,7 +74,7 @@ public class DefaultJfxCollectionUI<T> extends JfxUI implements JfxCollectionUI<
         Label titleLabel;
         {
             BorderPane titleBox = new BorderPane();
-            final String title = getConfiguration().getClassDisplayName(itemClass);
+            final String title = getConfiguration().getLabels().getClassLabel(itemClass, getSnapshot());
             titleLabel = new Label(title);
             titleLabel.setFont(getTitleLabelFont());
             titleBox.setCenter(titleLabel);
@@ -100,17 +103,17 @@ public class DefaultJfxCollectionUI<T> extends JfxUI implements JfxCollectionUI<
 
 
         // build table
+        final EffectiveClassConfiguration<T> classConfiguration =
+                getSnapshot().getEffectiveConfiguration(itemClass);
         tableView = new TableView<>();
         tableView.setEditable(false);
         for (PropertyInformation propertyInformation : classInformation.getProperties()) {
             final String propertyName = propertyInformation.getName();
-            String displayName = propertyInformation.getDisplayName();
-            if (propertyName.equals(displayName) && getConfiguration().isHumanizePropertyNames(itemClass)) {
-                displayName = Util.humanize(propertyName);
-            }
-            TableColumn<T, ?> column = new TableColumn<>(displayName);
-            column.setCellValueFactory(new PropertyValueFactory<>(propertyName));
-            column.setVisible(builder.getConfiguration().isShownProperty(itemClass, propertyName));
+            String displayName = getConfiguration().getLabels().getPropertyLabel(itemClass, propertyInformation,
+                    getSnapshot());
+            TableColumn<T, Object> column = new TableColumn<>(displayName);
+            column.setCellValueFactory(cellValueFactory(propertyInformation));
+            column.setVisible(classConfiguration.isShownProperty(propertyName));
             tableView.getColumns().add(column);
         }
 
@@ -281,4 +284,28 @@ public class DefaultJfxCollectionUI<T> extends JfxUI implements JfxCollectionUI<
     public void onChanged(Change<? extends T> change) {
         log.debug("list changed: " + change);
     }
+
+    /**
+     * Returns a cell value factory that reads the specified property using its compiled accessors: the JavaFX
+     * property itself if there is one, otherwise the current property value.
+     */
+    private static <T> Callback<TableColumn.CellDataFeatures<T, Object>, ObservableValue<Object>> cellValueFactory(
+            PropertyInformation propertyInformation) {
+        final Function<T, ObservableValue<Object>> jfxPropertyGetter = propertyInformation.getJfxPropertyGetter();
+        if (jfxPropertyGetter != null) {
+            return features -> jfxPropertyGetter.apply(features.getValue());
+        }
+        final Function<T, Object> getter = propertyInformation.getGetter();
+        if (getter == null) {
+            return features -> null;
+        }
+        return features -> {
+            try {
+                return new ReadOnlyObjectWrapper<>(getter.apply(features.getValue()));
+            } catch (Exception e) {
+                log.warn("Failed to get value for property " + propertyInformation.getName() + ": " + e);
+                return null;
+            }
+        };
+    }
 }
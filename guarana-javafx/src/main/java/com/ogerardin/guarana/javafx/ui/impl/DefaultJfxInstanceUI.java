@@ -4,10 +4,12 @@
 
 package com.ogerardin.guarana.javafx.ui.impl;
 
-import com.ogerardin.guarana.core.config.Util;
+import com.ogerardin.guarana.core.config.EffectiveClassConfiguration;
 import com.ogerardin.guarana.core.introspection.JavaIntrospector;
 import com.ogerardin.guarana.core.metamodel.ClassInformation;
 import com.ogerardin.guarana.core.metamodel.PropertyInformation;
+import com.ogerardin.guarana.core.observability.BatchPropertyChangeEvent;
+import com.ogerardin.guarana.core.observability.ListenerRegistration;
 import com.ogerardin.guarana.core.observability.ObservableFactory;
 import com.ogerardin.guarana.javafx.JfxUiManager;
 import com.ogerardin.guarana.javafx.binding.BindingStrategy;
@@ -15,6 +17,7 @@ import com.ogerardin.guarana.javafx.binding.strategies.*;
 import com.ogerardin.guarana.javafx.ui.JfxInstanceUI;
 import com.ogerardin.guarana.javafx.ui.impl.embedded.DefaultJfxEmbeddedInstanceUI;
 import com.ogerardin.guarana.javafx.ui.impl.embedded.JfxDateUi;
+import javafx.application.Platform;
 import javafx.beans.Observable;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -26,13 +29,12 @@ import javafx.scene.control.Tooltip;
 import javafx.scene.layout.GridPane;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.beanutils.PropertyUtils;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Default implementation of a InstanceUI for JavaFX. The UI is rendered by stacking vertically
@@ -63,6 +65,11 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
 
     private final Map<String, UIPropertyInfo> propertyNameToPropertyInfo = new HashMap<>();
 
+    /**
+     * Registration of this UI as a listener of the bound object, if any
+     */
+    private ListenerRegistration boundObjectRegistration;
+
     private final ObjectProperty<C> boundObjectProperty = new SimpleObjectProperty<C>();
 
     public DefaultJfxInstanceUI(JfxUiManager builder, Class<C> clazz) {
@@ -73,9 +80,10 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
     private void buildUi(Class<C> clazz) {
 
         ClassInformation<C> classInformation = JavaIntrospector.getClassInformation(clazz);
+        EffectiveClassConfiguration<C> classConfiguration = getSnapshot().getEffectiveConfiguration(clazz);
 
         // title
-        final String displayName = getConfiguration().getClassDisplayName(clazz);
+        final String displayName = getConfiguration().getLabels().getClassLabel(clazz, getSnapshot());
         final Label title = addTitle(displayName);
         configureDragSource(title, this::getBoundObject);
         configureContextMenu(title, classInformation, this::getBoundObject);
@@ -87,17 +95,17 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
         for (PropertyInformation propertyInformation : classInformation.getProperties()) {
             String propertyName = propertyInformation.getName();
             final Class<?> propertyType = propertyInformation.getPropertyType();
-            final Method readMethod = propertyInformation.getReadMethod();
 
             // ignore hidden properties
-            if (! getConfiguration().isShownProperty(classInformation.getJavaClass(), propertyName)) {
+            if (! classConfiguration.isShownProperty(propertyName)) {
                 log.debug("Property [{}] of class [{}] is hidden, skipping UI creation", 
                     propertyName, classInformation.getJavaClass().getSimpleName());
                 continue;
             }
 
             // label
-            final String humanizedName = Util.humanize(propertyInformation.getDisplayName());
+            final String humanizedName = getConfiguration().getLabels().getPropertyLabel(clazz, propertyInformation,
+                    getSnapshot());
             Label label = new Label(humanizedName);
             label.setTooltip(new Tooltip(propertyInformation.toString()));
             grid.add(label, 0, row);
@@ -119,14 +127,14 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
                 final Class<?> itemType = propertyType.getComponentType();
                 if (!itemType.isPrimitive()) {
                     Button zoomButton = new Button("...");
-                    zoomButton.setOnAction(e -> zoomArray(zoomButton, readMethod, itemType, humanizedName));
+                    zoomButton.setOnAction(e -> zoomArray(zoomButton, propertyInformation, itemType, humanizedName));
                     grid.add(zoomButton, 2, row);
                 }
             }
             // otherwise if it's a zoomable type, add a button to zoom on property as single instance
-            else if (getConfiguration().isZoomable(propertyType)) {
+            else if (getSnapshot().isZoomable(propertyType)) {
                 Button zoomButton = new Button("...");
-                zoomButton.setOnAction(e -> zoomProperty(zoomButton, readMethod, humanizedName));
+                zoomButton.setOnAction(e -> zoomProperty(zoomButton, propertyInformation, humanizedName));
                 grid.add(zoomButton, 2, row);
             }
 
@@ -138,9 +146,8 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
         // Get the property value
         P propertyValue;
         try {
-            //noinspection unchecked
-            propertyValue = (P) PropertyUtils.getSimpleProperty(object, propertyInformation.getPropertyDescriptor().getName());
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            propertyValue = propertyInformation.getValue(object);
+        } catch (Exception e) {
             log.error("failed to get value for property " + propertyInformation.getDisplayName(), e);
             return;
         }
@@ -150,11 +157,16 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
 
     private <P> void populateProperty(C object, JfxInstanceUI<P> ui, PropertyInformation propertyInformation) {
         final P uiValue = ui.boundObjectProperty().get();
-        final Method writeMethod = propertyInformation.getWriteMethod();
-        if (writeMethod != null) {
+        final BiConsumer<C, P> setter = propertyInformation.getSetter();
+        if (setter != null) {
+            // only write changed values, so that an observable object only notifies (and marks dirty) actual changes
+            final Function<C, P> getter = propertyInformation.getGetter();
+            if (getter != null && Objects.equals(getter.apply(object), uiValue)) {
+                return;
+            }
             try {
-                writeMethod.invoke(object, uiValue);
-            } catch (IllegalAccessException | InvocationTargetException e) {
+                setter.accept(object, uiValue);
+            } catch (Exception e) {
                 e.printStackTrace();
             }
         }
@@ -181,10 +193,10 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
 
     private <I> void zoomCollection(Node parent, PropertyInformation propertyInformation, String title) {
         try {
-            // Try to use generic introspection to determine the type of collection members.
-            final Method readMethod = propertyInformation.getReadMethod();
-            final Class<I> itemType = JavaIntrospector.getMethodResultSingleParameterType(readMethod);
-            Collection<I> originalCollection = (Collection<I>) readMethod.invoke(getBoundObject());
+            // type of collection members, resolved once by the metamodel
+            @SuppressWarnings("unchecked")
+            final Class<I> itemType = (Class<I>) propertyInformation.getElementType();
+            Collection<I> originalCollection = propertyInformation.getValue(getBoundObject());
             Collection<I> collection = originalCollection;
 
             if (collection == null) {
@@ -195,7 +207,7 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
             }
 
             if (collection != originalCollection) {
-                propertyInformation.getWriteMethod().invoke(getBoundObject(), collection);
+                propertyInformation.setValue(getBoundObject(), collection);
             }
 
             getBuilder().displayCollection(collection, itemType, parent, title);
@@ -204,9 +216,9 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
         }
     }
 
-    private <I> void zoomArray(Node parent, Method readMethod, Class<I> itemType, String title) {
+    private <I> void zoomArray(Node parent, PropertyInformation propertyInformation, Class<I> itemType, String title) {
         try {
-            final I[] array = (I[]) readMethod.invoke(getBoundObject());
+            final I[] array = propertyInformation.getValue(getBoundObject());
             getBuilder().displayArray(array, itemType, parent, title);
         } catch (Exception e) {
             getBuilder().displayException(e);
@@ -214,9 +226,9 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
     }
 
     @SuppressWarnings("unchecked")
-    private <P> void zoomProperty(Node parent, Method readMethod, String title) {
+    private <P> void zoomProperty(Node parent, PropertyInformation propertyInformation, String title) {
         try {
-            final P value = (P) readMethod.invoke(getBoundObject());
+            final P value = propertyInformation.getValue(getBoundObject());
             if (value == null) {
                 log.error("property value is null");
                 return;
@@ -242,15 +254,23 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
             object = ObservableFactory.createObservable(object);
         }
 
-        ((com.ogerardin.guarana.core.observability.Observable) object).addPropertyChangeListener(
-                this
-        );
+        // weakly, so that the object doesn't keep this UI alive if it is not unbound
+        boundObjectRegistration = ((com.ogerardin.guarana.core.observability.Observable) object).subscribeWeakly(this);
 
         boundObjectProperty.set(object);
         bindProperties(object);
     }
 
+    @Override
+    public void dispose() {
+        unbind();
+    }
+
     private void unbind() {
+        if (boundObjectRegistration != null) {
+            boundObjectRegistration.dispose();
+            boundObjectRegistration = null;
+        }
         final C boundObject = getBoundObject();
         if (boundObject != null) {
             unbindProperties();
@@ -321,9 +341,8 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
         // Get the property value
         P propertyValue;
         try {
-            //noinspection unchecked
-            propertyValue = (P) PropertyUtils.getSimpleProperty(object, propertyInformation.getPropertyDescriptor().getName());
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            propertyValue = propertyInformation.getValue(object);
+        } catch (Exception e) {
             log.error("failed to get value for property " + propertyInformation.getDisplayName(), e);
             return;
         }
@@ -400,16 +419,33 @@ public class DefaultJfxInstanceUI<C> extends JfxForm implements JfxInstanceUI<C>
     @Override
     public void propertyChange(PropertyChangeEvent propertyChangeEvent) {
         log.debug("property change notified: {}", propertyChangeEvent);
+        if (!Platform.isFxApplicationThread()) {
+            // events dispatched asynchronously
+            Platform.runLater(() -> propertyChange(propertyChangeEvent));
+            return;
+        }
+        if (propertyChangeEvent instanceof BatchPropertyChangeEvent batchEvent) {
+            // several properties changed in a batch
+            batchEvent.getChanges().values().forEach(this::rebindProperty);
+        } else {
+            rebindProperty(propertyChangeEvent);
+        }
+    }
+
+    private void rebindProperty(PropertyChangeEvent propertyChangeEvent) {
         // a property has changed, we need to unbind the UI from the previous value
         // and rebind it to the new value
         final String propertyName = propertyChangeEvent.getPropertyName();
-        log.debug("Rebinding property [{}] to new value {}", propertyName, propertyChangeEvent.getNewValue());
         final UIPropertyInfo uiPropertyInfo = propertyNameToPropertyInfo.get(propertyName);
+        if (uiPropertyInfo == null) {
+            // property not displayed
+            return;
+        }
+        log.debug("Rebinding property [{}] to new value {}", propertyName, propertyChangeEvent.getNewValue());
         final JfxInstanceUI<?> ui = uiPropertyInfo.getJfxInstanceUI();
         final PropertyInformation propertyInformation = uiPropertyInfo.getPropertyInformation();
         unbindProperty(ui);
         bindProperty(getBoundObject(), ui, propertyInformation);
-
     }
 
     @Data
@@ -4,8 +4,11 @@
 
 package com.ogerardin.guarana.javafx.ui.impl;
 
-import com.ogerardin.guarana.core.config.Util;
 import com.ogerardin.guarana.core.introspection.JavaIntrospector;
+import com.ogerardin.guarana.core.metamodel.ExecutableInformation;
+import com.ogerardin.guarana.core.metamodel.InjectionPlan;
+import com.ogerardin.guarana.core.metamodel.ParameterInformation;
+import com.ogerardin.guarana.core.registry.ServiceRegistry;
 import com.ogerardin.guarana.javafx.JfxUiManager;
 import com.ogerardin.guarana.javafx.ui.JfxInstanceUI;
 import com.ogerardin.guarana.javafx.ui.JfxRenderable;
@@ -34,7 +37,11 @@ public class JfxExecutableInvocationUI<C, R> extends JfxForm implements JfxRende
 
     private final Class<C> declaringClass;
     private final Class<R> resultType;
+    /**
+     * One UI per parameter, null for parameters filled from the {@link ServiceRegistry}
+     */
     private List<JfxInstanceUI> fieldUiList = new ArrayList<>();
+    private InjectionPlan injectionPlan;
 
     /**
      * {@link Consumer#accept} will be called with the result of the method call / constructor
@@ -69,7 +76,7 @@ public class JfxExecutableInvocationUI<C, R> extends JfxForm implements JfxRende
     }
 
     private void buildUi(Executable executable) {
-        final String title = Util.humanize(executable.getName());
+        final String title = getConfiguration().getLabels().getExecutableLabel(executable);
         addTitle(title);
 
         // build params grid
@@ -95,18 +102,21 @@ public class JfxExecutableInvocationUI<C, R> extends JfxForm implements JfxRende
             row++;
         }
 
-        // rest of the parameters
-        final Parameter[] parameters = executable.getParameters();
-        final Type[] genericParameterTypes = executable.getGenericParameterTypes();
-
-        for (int i = 0, parametersLength = parameters.length; i < parametersLength; i++) {
-            final Parameter param = parameters[i];
-            final Type genericParamType = genericParameterTypes[i];
+        // rest of the parameters, except services available in the registry which are filled automatically
+        final ExecutableInformation executableInformation = getExecutableInformation(executable);
+        injectionPlan = executableInformation.getInjectionPlan();
+        final List<ParameterInformation> parameters = executableInformation.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            final ParameterInformation param = parameters.get(i);
+            if (injectionPlan.isInjectable(i, ServiceRegistry.INSTANCE)) {
+                fieldUiList.add(null);
+                continue;
+            }
             final String paramName = param.getName();
             final Class<?> paramType = param.getType();
 
             // label
-            final String humanizedName = Util.humanize(paramName);
+            final String humanizedName = getConfiguration().getLabels().getParameterLabel(executable, param);
             Label label = new Label(humanizedName);
             grid.add(label, 0, row);
 
@@ -116,9 +126,9 @@ public class JfxExecutableInvocationUI<C, R> extends JfxForm implements JfxRende
             label.setLabelFor(field);
 
             // if it's a collection, add a button to open as list
-            if (Collection.class.isAssignableFrom(paramType)) {
+            if (param.isCollection()) {
                 Button zoomButton = new Button("...");
-                zoomButton.setOnAction(e -> zoomCollection(zoomButton, genericParamType));
+                zoomButton.setOnAction(e -> zoomCollection(zoomButton, param));
                 grid.add(zoomButton, 2, row);
             }
 
@@ -187,17 +197,27 @@ public class JfxExecutableInvocationUI<C, R> extends JfxForm implements JfxRende
         return field;
     }
 
-    private <T> void zoomCollection(Node parent, Type genericParamtype) {
-        final Class<T> itemType = JavaIntrospector.getSingleParameterType(genericParamtype);
+    /**
+     * Returns the metamodel of the specified executable, where parameter types are already resolved.
+     */
+    private ExecutableInformation getExecutableInformation(Executable executable) {
+        return JavaIntrospector.getClassInformation(executable.getDeclaringClass())
+                .getExecutable(ExecutableInformation.getSignature(executable))
+                .orElseGet(() -> new ExecutableInformation(executable));
+    }
+
+    private <T> void zoomCollection(Node parent, ParameterInformation param) {
+        @SuppressWarnings("unchecked")
+        final Class<T> itemType = (Class<T>) param.getElementType();
         final Collection<T> collection = new ArrayList<>();
         getBuilder().displayCollection(collection, itemType, parent, "Collection parameter");
     }
 
     private Object[] getParamValues() {
         final List<Object> paramValueList = fieldUiList.stream()
-                .map(ui -> ui.boundObjectProperty().getValue())
+                .map(ui -> ui == null ? null : ui.boundObjectProperty().getValue())
                 .collect(Collectors.toList());
-        return paramValueList.toArray();
+        return injectionPlan.resolveArguments(ServiceRegistry.INSTANCE, paramValueList.toArray());
     }
 
     @Override
@@ -5,10 +5,14 @@
 package com.ogerardin.guarana.javafx.ui.impl;
 
 import com.ogerardin.guarana.core.config.Configuration;
+import com.ogerardin.guarana.core.config.ConfigurationSnapshot;
+import com.ogerardin.guarana.core.config.EffectiveClassConfiguration;
 import com.ogerardin.guarana.core.metamodel.ClassInformation;
 import com.ogerardin.guarana.core.metamodel.ExecutableInformation;
+import com.ogerardin.guarana.core.metamodel.InjectionPlan;
 import com.ogerardin.guarana.core.registry.Identifier;
 import com.ogerardin.guarana.core.registry.ObjectRegistry;
+import com.ogerardin.guarana.core.registry.ServiceRegistry;
 import com.ogerardin.guarana.javafx.JfxUiManager;
 import com.ogerardin.guarana.javafx.ui.JfxMapUI;
 import com.ogerardin.guarana.javafx.ui.JfxRenderable;
@@ -32,6 +36,7 @@ import org.apache.commons.lang3.Validate;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -50,10 +55,15 @@ abstract class JfxUI implements JfxRenderable {
     Image ICON_DRAG_HANDLE = new Image(JfxUI.class.getResource("/icons/drag_handle_16.jpg").toExternalForm());
 
     private final JfxUiManager builder;
+    /**
+     * Configuration this UI is built from
+     */
+    private final ConfigurationSnapshot snapshot;
 
     JfxUI(JfxUiManager builder) {
         Validate.notNull(builder);
         this.builder = builder;
+        this.snapshot = builder.getBuildSnapshot();
     }
 
     static Font getTitleLabelFont() {
@@ -62,13 +72,16 @@ abstract class JfxUI implements JfxRenderable {
 
     <T> void configureContextMenu(Control control, ClassInformation<T> classInformation, Supplier<T> targetSupplier) {
         ContextMenu contextMenu = new ContextMenu();
-        final Class<T> targetClass = classInformation.getJavaClass();
+        final EffectiveClassConfiguration<T> classConfiguration =
+                getSnapshot().getEffectiveConfiguration(classInformation.getJavaClass());
 
         // add instance methods
         if (targetSupplier != null) {
-            classInformation.getMethods().stream()
+            // hiding rules are evaluated once per class, not for each menu
+            final List<ExecutableInformation> methods = classInformation.getMethods();
+            classConfiguration.getVisibleMethods(classInformation).stream()
+                    .mapToObj(methods::get)
                     .filter(methodInfo -> !methodInfo.isGetterOrSetter())
-                    .filter(methodInfo -> !getConfiguration().isHidden(targetClass, methodInfo.getExecutable()))
                     .map(methodInfo -> new ActionMenuItem<>(methodInfo, targetSupplier))
                     .forEach(menuItem -> contextMenu.getItems().add(menuItem));
         }
@@ -165,6 +178,14 @@ abstract class JfxUI implements JfxRenderable {
         return getBuilder().getConfiguration();
     }
 
+    /**
+     * Returns the configuration snapshot this UI is built from; queries made while building the UI should use it
+     * rather than {@link #getConfiguration()}, so that they are consistent.
+     */
+    protected ConfigurationSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     private class ActionMenuItem<T> extends MenuItem {
         public ActionMenuItem(ExecutableInformation executableInformation) {
             this(executableInformation, null);
@@ -180,10 +201,11 @@ abstract class JfxUI implements JfxRenderable {
             setOnAction(
                     event -> Platform.runLater(() -> {
                         final Executable executable = executableInformation.getExecutable();
+                        final InjectionPlan injectionPlan = executableInformation.getInjectionPlan();
                         if (executableInformation.isConstructor()) {
-                            executeConstructorRequested((Constructor<?>) executable);
+                            executeConstructorRequested((Constructor<?>) executable, injectionPlan);
                         } else {
-                            executeMethodRequested((Method) executable, supplier);
+                            executeMethodRequested((Method) executable, injectionPlan, supplier);
                         }
                     })
             );
@@ -193,27 +215,28 @@ abstract class JfxUI implements JfxRenderable {
 
     /**
      * Called when the user requests the Instanciation of a class through a specific constructor.
-     * If the constructor doesn't take any arguments, it is called immediately; otherwise a dialog is
-     * displayed to let the user provide the arguments.
+     * If the constructor doesn't take any arguments, or only services available in the {@link ServiceRegistry},
+     * it is called immediately; otherwise a dialog is displayed to let the user provide the arguments.
      *
-     * @param <T>         the target type
-     * @param constructor the constructor to call
+     * @param <T>           the target type
+     * @param constructor   the constructor to call
+     * @param injectionPlan the constructor's service arguments
      */
-    private <T> void executeConstructorRequested(Constructor<T> constructor) {
-        if (constructor.getParameterCount() == 0) {
-            invokeNowParameterless(constructor);
+    private <T> void executeConstructorRequested(Constructor<T> constructor, InjectionPlan injectionPlan) {
+        if (canInvokeNow(injectionPlan)) {
+            invokeNow(constructor, injectionPlan);
         } else {
-            JfxExecutableInvocationUI<T, T> methodCallUI = new JfxExecutableInvocationUI(getBuilder(), constructor);
+            JfxExecutableInvocationUI<T, T> methodCallUI = getBuilder().withBuildSnapshot(
+                    () -> new JfxExecutableInvocationUI(getBuilder(), constructor));
             getBuilder().display(methodCallUI);
             //FIXME by default we just display the result, should be configurable
             methodCallUI.setOnSuccess(o -> getBuilder().displayInstance(o));
         }
     }
 
-    private <T> void invokeNowParameterless(Constructor<T> constructor) {
-        Validate.isTrue(constructor.getParameterCount() == 0);
+    private <T> void invokeNow(Constructor<T> constructor, InjectionPlan injectionPlan) {
         try {
-            T instance = constructor.newInstance();
+            T instance = constructor.newInstance(injectionPlan.resolveArguments(ServiceRegistry.INSTANCE));
             getBuilder().displayInstance(instance, constructor.getDeclaringClass(), "New Instance");
         } catch (Exception e) {
             e.printStackTrace();
@@ -222,21 +245,24 @@ abstract class JfxUI implements JfxRenderable {
     }
 
     /**
-     * Called when the user requests the execution of a method. If the method doesn't take any arguments,
-     * it is executed immediately; otherwise a dialog is displayed to let the user provide the arguments.
+     * Called when the user requests the execution of a method. If the method doesn't take any arguments, or only
+     * services available in the {@link ServiceRegistry}, it is executed immediately; otherwise a dialog is
+     * displayed to let the user provide the arguments.
      * @param <T>            the target type
      * @param <R>            the return type of the method
      * @param method             the descriptor of the method to execute
+     * @param injectionPlan  the method's service arguments
      * @param targetSupplier a Supplier used to obtain the target object (or null if method is static)
      */
-    private <T, R> void executeMethodRequested(Method method, Supplier<T> targetSupplier) {
+    private <T, R> void executeMethodRequested(Method method, InjectionPlan injectionPlan, Supplier<T> targetSupplier) {
         final T target = targetSupplier != null ? targetSupplier.get() : null;
         final Class<R> returnType = (Class<R>) method.getReturnType();
-        // if no arg, execute immediately, otherwise display arg dialog
-        if (method.getParameterCount() == 0) {
-            invokeNowParameterless(method, target, returnType);
+        // if no arg to enter, execute immediately, otherwise display arg dialog
+        if (canInvokeNow(injectionPlan)) {
+            invokeNow(method, injectionPlan, target, returnType);
         } else {
-            JfxExecutableInvocationUI<T, R> methodCallUI = new JfxExecutableInvocationUI(getBuilder(), method);
+            JfxExecutableInvocationUI<T, R> methodCallUI = getBuilder().withBuildSnapshot(
+                    () -> new JfxExecutableInvocationUI(getBuilder(), method));
             methodCallUI.setContext(target);
             getBuilder().display(methodCallUI);
             //FIXME by default we just display the result, should be configurable
@@ -244,10 +270,9 @@ abstract class JfxUI implements JfxRenderable {
         }
     }
 
-    private <T, R> void invokeNowParameterless(Method method, T target, Class<R> returnType) {
-        Validate.isTrue(method.getParameterCount() == 0);
+    private <T, R> void invokeNow(Method method, InjectionPlan injectionPlan, T target, Class<R> returnType) {
         try {
-            R result = (R) method.invoke(target);
+            R result = (R) method.invoke(target, injectionPlan.resolveArguments(ServiceRegistry.INSTANCE));
             // if the method returns something, display it
             // TODO better handling of returned object
             if (returnType != Void.TYPE) {
@@ -259,6 +284,13 @@ abstract class JfxUI implements JfxRenderable {
         }
     }
 
+    /**
+     * Returns true if all arguments can be filled without user input (including when there are no arguments).
+     */
+    private static boolean canInvokeNow(InjectionPlan injectionPlan) {
+        return injectionPlan.isComplete() && injectionPlan.isSatisfiedBy(ServiceRegistry.INSTANCE);
+    }
+
     @SuppressWarnings("unused")
     public void displayObjectRegistry() {
         JfxMapUI<Identifier, Object> ui = builder.buildMapUI();
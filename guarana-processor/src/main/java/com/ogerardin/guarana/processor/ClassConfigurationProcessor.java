@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor that compiles the Guarana configuration annotations of the types being compiled
+ * ({@code @Hidden}, {@code @DisplayName}, {@code @Zoomable}, {@code @EmbeddedUi}, {@code @StringConverter}) into a
+ * generated {@code ClassConfigurationProvider}, registered in {@value #SERVICE_RESOURCE}. The generated code calls
+ * the {@code ClassConfiguration} API directly, so that no configuration file has to be parsed and no method has to be
+ * looked up by name at runtime. Annotations that don't match a property are reported as errors.
+ *
+ * The generated class is named after the option {@value #OPTION_CLASS} if present, otherwise it is
+ * {@value #DEFAULT_SIMPLE_NAME} in the package of the first annotated type. When the domain module is a named
+ * module, its module-info must declare it with
+ * {@code provides com.ogerardin.guarana.core.config.ClassConfigurationProvider with ...}.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@SupportedAnnotationTypes({
+        ClassConfigurationProcessor.HIDDEN,
+        ClassConfigurationProcessor.DISPLAY_NAME,
+        ClassConfigurationProcessor.ZOOMABLE,
+        ClassConfigurationProcessor.EMBEDDED_UI,
+        ClassConfigurationProcessor.STRING_CONVERTER
+})
+@SupportedOptions(ClassConfigurationProcessor.OPTION_CLASS)
+public class ClassConfigurationProcessor extends AbstractProcessor {
+
+    public static final String OPTION_CLASS = "guarana.config.class";
+    public static final String PROVIDER_INTERFACE = "com.ogerardin.guarana.core.config.ClassConfigurationProvider";
+    public static final String SERVICE_RESOURCE = "META-INF/services/" + PROVIDER_INTERFACE;
+
+    static final String HIDDEN = "com.ogerardin.guarana.core.annotations.Hidden";
+    static final String DISPLAY_NAME = "com.ogerardin.guarana.core.annotations.DisplayName";
+    static final String ZOOMABLE = "com.ogerardin.guarana.core.annotations.Zoomable";
+    static final String EMBEDDED_UI = "com.ogerardin.guarana.core.annotations.EmbeddedUi";
+    static final String STRING_CONVERTER = "com.ogerardin.guarana.core.annotations.StringConverter";
+
+    private static final String DEFAULT_SIMPLE_NAME = "GuaranaClassConfiguration";
+
+    /**
+     * Settings of the generated configuration, by binary name of the configured class
+     */
+    private final Map<String, ClassSettings> settingsByClass = new TreeMap<>();
+    private String firstPackage;
+    private boolean generated = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+        if (generated) {
+            // types generated by other processors; the provider of this module has already been written
+            for (TypeElement annotation : annotations) {
+                for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Ignored: Guarana annotations are not supported on generated types", element);
+                }
+            }
+            return false;
+        }
+
+        for (TypeElement annotation : annotations) {
+            String annotationName = annotation.getQualifiedName().toString();
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                collect(annotationName, element);
+            }
+        }
+        if (!settingsByClass.isEmpty()) {
+            writeProvider();
+            generated = true;
+        }
+        return false;
+    }
+
+    private void collect(String annotationName, Element element) {
+        TypeElement type = element instanceof TypeElement
+                ? (TypeElement) element
+                : (TypeElement) element.getEnclosingElement();
+        ClassSettings settings = settingsByClass.computeIfAbsent(
+                processingEnv.getElementUtils().getBinaryName(type).toString(), k -> new ClassSettings());
+        if (firstPackage == null) {
+            firstPackage = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        }
+
+        switch (annotationName) {
+            case HIDDEN:
+                if (element.getKind() == ElementKind.FIELD) {
+                    hideField((VariableElement) element, type, settings);
+                } else {
+                    hideMethod((ExecutableElement) element, settings);
+                }
+                break;
+            case DISPLAY_NAME:
+                settings.statements.add("c.setDisplayName(" + constant(getValue(element, annotationName)) + ");");
+                break;
+            case ZOOMABLE:
+                Object zoomable = getValue(element, annotationName);
+                settings.statements.add("c.setZoomable(" + (zoomable == null || (Boolean) zoomable) + ");");
+                break;
+            case EMBEDDED_UI:
+                settings.statements.add("c.setEmbeddedUiClass((Class) " + classLiteral(getValue(element, annotationName)) + ");");
+                break;
+            case STRING_CONVERTER:
+                settings.statements.add("c.setStringConverterClass((Class) " + classLiteral(getValue(element, annotationName)) + ");");
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * A hidden field hides the property it backs, which must have a public getter
+     */
+    private void hideField(VariableElement field, TypeElement type, ClassSettings settings) {
+        String propertyName = field.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+        boolean hasGetter = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type)).stream()
+                .filter(m -> m.getModifiers().contains(Modifier.PUBLIC) && m.getParameters().isEmpty())
+                .map(m -> m.getSimpleName().toString())
+                .anyMatch(name -> name.equals("get" + capitalized) || name.equals("is" + capitalized));
+        if (!hasGetter) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@Hidden field " + propertyName + " doesn't back a property (no public getter)", field);
+            return;
+        }
+        settings.hiddenProperties.add(propertyName);
+    }
+
+    /**
+     * A hidden getter hides its property, any other hidden method is hidden as a method
+     */
+    private void hideMethod(ExecutableElement method, ClassSettings settings) {
+        String propertyName = getPropertyName(method);
+        if (propertyName != null) {
+            settings.hiddenProperties.add(propertyName);
+            return;
+        }
+        List<String> arguments = new ArrayList<>();
+        arguments.add(constant(method.getSimpleName().toString()));
+        for (VariableElement parameter : method.getParameters()) {
+            arguments.add(classLiteral(parameter.asType()));
+        }
+        settings.statements.add("c.hideMethod(" + String.join(", ", arguments) + ");");
+    }
+
+    private static String getPropertyName(ExecutableElement method) {
+        if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)
+                || !method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+            return null;
+        }
+        String methodName = method.getSimpleName().toString();
+        if (methodName.startsWith("is") && methodName.length() > 2
+                && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            return MetamodelIndexProcessor.decapitalize(methodName.substring(2));
+        }
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return MetamodelIndexProcessor.decapitalize(methodName.substring(3));
+        }
+        return null;
+    }
+
+    private static Object getValue(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(annotationName)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return entry.getValue().getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private String constant(Object value) {
+        return processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private String classLiteral(Object type) {
+        return processingEnv.getTypeUtils().erasure((TypeMirror) type).toString() + ".class";
+    }
+
+    private void writeProvider() {
+        String className = processingEnv.getOptions().get(OPTION_CLASS);
+        if (className == null || className.isBlank()) {
+            className = firstPackage.isEmpty() ? DEFAULT_SIMPLE_NAME : firstPackage + "." + DEFAULT_SIMPLE_NAME;
+        }
+        int lastDot = className.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : className.substring(0, lastDot);
+        String simpleName = className.substring(lastDot + 1);
+
+        try {
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(className);
+            try (Writer writer = source.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("/**");
+                out.println(" * Class configurations declared with Guarana annotations - generated by "
+                        + getClass().getSimpleName() + ", do not edit");
+                out.println(" */");
+                out.println("public final class " + simpleName + " implements " + PROVIDER_INTERFACE + " {");
+                out.println();
+                out.println("    @Override");
+                out.println("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+                out.println("    public void registerClassConfigurations(" + PROVIDER_INTERFACE + ".Registry registry) {");
+                settingsByClass.forEach((configuredClass, settings) -> {
+                    out.println("        registry.register(" + constant(configuredClass) + ", c -> {");
+                    if (!settings.hiddenProperties.isEmpty()) {
+                        out.println("            c.hideProperties(" + settings.hiddenProperties.stream()
+                                .map(this::constant)
+                                .collect(Collectors.joining(", ")) + ");");
+                    }
+                    for (String statement : settings.statements) {
+                        out.println("            " + statement);
+                    }
+                    out.println("        });");
+                });
+                out.println("    }");
+                out.println("}");
+            }
+
+            FileObject services = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_RESOURCE);
+            try (Writer writer = services.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                out.println(className);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write class configuration provider " + className + ": " + e);
+        }
+    }
+
+    private static class ClassSettings {
+        private final Set<String> hiddenProperties = new TreeSet<>();
+        private final List<String> statements = new ArrayList<>();
+    }
+}
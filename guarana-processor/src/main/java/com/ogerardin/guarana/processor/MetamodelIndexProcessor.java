@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2025 Olivier Gérardin
+ */
+
+package com.ogerardin.guarana.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor that precomputes the JavaBeans properties of every type being compiled and writes
+ * them to {@value #INDEX_RESOURCE}, so that Guarana can build its metamodel at runtime without going through
+ * {@code java.beans.Introspector}.
+ *
+ * The index is a UTF-8 text file made of the following lines:
+ * <pre>
+ * class &lt;binary class name&gt;
+ * property &lt;name&gt; &lt;read method or -&gt; &lt;write method or -&gt; &lt;JavaFX property read method or -&gt;
+ * </pre>
+ * Each {@code property} line belongs to the preceding {@code class} line. Properties are listed in name order,
+ * and properties named {@code xxxProperty} are folded into property {@code xxx} as its JavaFX property.
+ *
+ * The processor doesn't need any annotation to be present. It accepts the option {@value #OPTION_PACKAGES}
+ * (comma-separated list of package prefixes) to restrict the indexed types. When used together with Lombok,
+ * Lombok must come first in the annotation processor path so that generated accessors are visible.
+ *
+ * @author oge
+ * @since 1.0
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(MetamodelIndexProcessor.OPTION_PACKAGES)
+public class MetamodelIndexProcessor extends AbstractProcessor {
+
+    public static final String INDEX_RESOURCE = "META-INF/guarana/metamodel.index";
+    public static final String OPTION_PACKAGES = "guarana.index.packages";
+
+    private static final String JAVAFX_PROPERTY_SUFFIX = "Property";
+    private static final String NONE = "-";
+
+    /**
+     * Names of the types to index, collected over all rounds. Types are only analyzed in the last round
+     * so that members generated by other processors (e.g. Lombok) are taken into account.
+     */
+    private final Set<String> typeNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!roundEnv.processingOver()) {
+            for (Element element : roundEnv.getRootElements()) {
+                collectTypes(element);
+            }
+            return false;
+        }
+
+        if (!typeNames.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collectTypes(Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        if (!isIndexable(type)) {
+            return;
+        }
+        typeNames.add(type.getQualifiedName().toString());
+        for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+            if (member.getModifiers().contains(Modifier.STATIC) || member.getKind().isInterface()) {
+                collectTypes(member);
+            }
+        }
+    }
+
+    private boolean isIndexable(TypeElement type) {
+        switch (type.getKind()) {
+            case CLASS:
+            case INTERFACE:
+            case ENUM:
+            case RECORD:
+                break;
+            default:
+                return false;
+        }
+        String packages = processingEnv.getOptions().get(OPTION_PACKAGES);
+        if (packages == null || packages.isBlank()) {
+            return true;
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        return Arrays.stream(packages.split(","))
+                .map(String::trim)
+                .anyMatch(prefix -> packageName.equals(prefix) || packageName.startsWith(prefix + "."));
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (Writer writer = resource.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                out.println("# Guarana metamodel index - generated by " + getClass().getSimpleName() + ", do not edit");
+                for (String typeName : typeNames) {
+                    TypeElement type = processingEnv.getElementUtils().getTypeElement(typeName);
+                    if (type != null) {
+                        writeType(out, type);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + INDEX_RESOURCE + ": " + e);
+        }
+    }
+
+    private void writeType(PrintWriter out, TypeElement type) {
+        out.println("class " + processingEnv.getElementUtils().getBinaryName(type));
+
+        Map<String, BeanProperty> properties = getBeanProperties(type);
+        for (BeanProperty property : properties.values()) {
+            if (property.name.endsWith(JAVAFX_PROPERTY_SUFFIX)) {
+                continue;
+            }
+            BeanProperty jfxProperty = properties.get(property.name + JAVAFX_PROPERTY_SUFFIX);
+            out.println("property " + property.name
+                    + " " + nameOrNone(property.readMethod)
+                    + " " + nameOrNone(property.writeMethod)
+                    + " " + nameOrNone(jfxProperty != null ? jfxProperty.readMethod : null));
+        }
+    }
+
+    /**
+     * Computes bean properties the same way {@code java.beans.Introspector} does for simple (non-indexed)
+     * properties: public instance getters {@code getXxx()} / {@code isXxx()} (boolean only) and setters
+     * {@code void setXxx(T)} whose parameter type matches the getter's type. Indexed properties
+     * ({@code getXxx(int)}) are not supported by Guarana and are left out.
+     */
+    private Map<String, BeanProperty> getBeanProperties(TypeElement type) {
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))
+                .stream()
+                .filter(m -> m.getModifiers().contains(Modifier.PUBLIC))
+                .filter(m -> !m.getModifiers().contains(Modifier.STATIC))
+                // like Class.getMethods(), don't include Object's methods in interfaces
+                .filter(m -> !type.getKind().isInterface() || !isObjectMethod(m))
+                .collect(Collectors.toList());
+
+        Map<String, BeanProperty> properties = new TreeMap<>();
+
+        // getters first: they determine the property type
+        for (ExecutableElement method : methods) {
+            if (!method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+                continue;
+            }
+            String methodName = method.getSimpleName().toString();
+            String propertyName;
+            if (methodName.startsWith("is") && methodName.length() > 2
+                    && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+                propertyName = decapitalize(methodName.substring(2));
+            } else if (methodName.startsWith("get") && methodName.length() > 3) {
+                propertyName = decapitalize(methodName.substring(3));
+            } else {
+                continue;
+            }
+            BeanProperty property = properties.computeIfAbsent(propertyName, BeanProperty::new);
+            // like java.beans, prefer isXxx() over getXxx() for boolean properties
+            if (property.readMethod == null || methodName.startsWith("is")) {
+                property.readMethod = method;
+                property.type = erasure(method.getReturnType());
+            }
+        }
+
+        // then setters
+        for (ExecutableElement method : methods) {
+            String methodName = method.getSimpleName().toString();
+            if (!methodName.startsWith("set") || methodName.length() <= 3
+                    || method.getParameters().size() != 1
+                    || method.getReturnType().getKind() != TypeKind.VOID) {
+                continue;
+            }
+            String propertyName = decapitalize(methodName.substring(3));
+            TypeMirror parameterType = erasure(method.getParameters().get(0).asType());
+            BeanProperty property = properties.computeIfAbsent(propertyName, BeanProperty::new);
+            if (property.readMethod == null) {
+                // write-only property
+                if (property.writeMethod == null) {
+                    property.writeMethod = method;
+                    property.type = parameterType;
+                }
+            } else if (processingEnv.getTypeUtils().isSameType(property.type, parameterType)) {
+                property.writeMethod = method;
+            } else if (property.writeMethod == null
+                    && processingEnv.getTypeUtils().isAssignable(property.type, parameterType)) {
+                // e.g. setter inherited from a generic superclass, getter overridden with a covariant type
+                property.writeMethod = method;
+            }
+        }
+
+        properties.values().removeIf(p -> p.readMethod == null && p.writeMethod == null);
+        return Collections.unmodifiableMap(properties);
+    }
+
+    private static boolean isObjectMethod(ExecutableElement method) {
+        return ((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object");
+    }
+
+    private TypeMirror erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type);
+    }
+
+    private static String nameOrNone(ExecutableElement method) {
+        return method == null ? NONE : method.getSimpleName().toString();
+    }
+
+    /**
+     * Same as {@code java.beans.Introspector.decapitalize}
+     */
+    static String decapitalize(String name) {
+        if (name.isEmpty()) {
+            return name;
+        }
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static class BeanProperty {
+        private final String name;
+        private TypeMirror type;
+        private ExecutableElement readMethod;
+        private ExecutableElement writeMethod;
+
+        BeanProperty(String name) {
+            this.name = name;
+        }
+    }
+}
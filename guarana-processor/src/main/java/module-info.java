@@ -0,0 +1,15 @@
+/*
+ * Build-time companion of the Guarana framework.
+ * Provides annotation processors that precompute metadata for domain modules.
+ * This module has no dependency on guarana-core so that domain modules can use it
+ * without creating a dependency cycle.
+ */
+module guarana.processor {
+    requires java.compiler;
+
+    exports com.ogerardin.guarana.processor;
+
+    provides javax.annotation.processing.Processor
+        with com.ogerardin.guarana.processor.MetamodelIndexProcessor,
+             com.ogerardin.guarana.processor.ClassConfigurationProcessor;
+}
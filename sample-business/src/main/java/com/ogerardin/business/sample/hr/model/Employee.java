@@ -4,6 +4,8 @@
 
 package com.ogerardin.business.sample.hr.model;
 
+import com.ogerardin.guarana.core.annotations.DisplayName;
+import com.ogerardin.guarana.core.annotations.Hidden;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,6 +22,7 @@ import java.io.Serializable;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@DisplayName("Individual")
 public class Employee implements Serializable, Comparable<Employee> {
 
     private String lastName;
@@ -29,6 +32,7 @@ public class Employee implements Serializable, Comparable<Employee> {
     /**
      * Returns the employee's full name in "Last, First" format.
      */
+    @Hidden
     public String getFullNameLastFirst() {
         return getLastName() + ", " + getFirstName();
     }
@@ -36,6 +40,7 @@ public class Employee implements Serializable, Comparable<Employee> {
     /**
      * Returns the employee's full name in "First Last" format.
      */
+    @Hidden
     public String getFullNameFirstLast() {
         return getFirstName() + " " + getLastName();
     }
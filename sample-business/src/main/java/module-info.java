@@ -5,6 +5,10 @@
 module sample.business {
     // Static (compile-only) dependency for Lombok annotations
     requires static lombok;
+
+    // Configuration annotations and generated ClassConfigurationProvider; only read at run time if guarana.core
+    // is present, which is the only case where the provider is loaded
+    requires static guarana.core;
     
     // Export all domain model packages for use by consumer modules
     exports com.ogerardin.business.sample.config.model;
@@ -17,4 +21,8 @@ module sample.business {
     opens com.ogerardin.business.sample.hr.model;
     opens com.ogerardin.business.sample.hr.service;
     opens com.ogerardin.business.sample.website.model;
+
+    // Generated by guarana-processor from the configuration annotations
+    provides com.ogerardin.guarana.core.config.ClassConfigurationProvider
+        with com.ogerardin.business.sample.GuaranaClassConfiguration;
 }